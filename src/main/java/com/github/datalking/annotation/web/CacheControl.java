@@ -0,0 +1,50 @@
+package com.github.datalking.annotation.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明请求处理方法响应的Cache-Control头，方法上的注解优先于类上的注解
+ * <p>
+ * 在创建RequestMappingInfo时解析为请求头的值，处理请求时直接设置
+ *
+ * @author yaoo on 10/17/26
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CacheControl {
+
+    /**
+     * max-age，单位秒，小于0表示不设置
+     */
+    long maxAge() default -1;
+
+    /**
+     * s-maxage，共享缓存(如CDN)的缓存时间，单位秒，小于0表示不设置
+     */
+    long sMaxAge() default -1;
+
+    boolean mustRevalidate() default false;
+
+    boolean noCache() default false;
+
+    /**
+     * 为true时忽略其他属性，只输出no-store
+     */
+    boolean noStore() default false;
+
+    /**
+     * 为true时使用private，否则设置了maxAge时使用public
+     */
+    boolean cachePrivate() default false;
+
+    /**
+     * 内容在缓存期内不会变化，浏览器刷新时也不需要重新验证
+     */
+    boolean immutable() default false;
+
+}
@@ -0,0 +1,32 @@
+package com.github.datalking.annotation.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 在服务端缓存@ResponseBody方法的GET响应，有效期内的相同请求直接返回缓存内容，不再解析参数和执行方法
+ * <p>
+ * 缓存键由请求路径、参与计算的请求参数、Accept和Accept-Encoding请求头组成，
+ * 只缓存状态码为200的响应
+ *
+ * @author yaoo on 10/17/26
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CachedResponse {
+
+    /**
+     * 缓存有效期(秒)
+     */
+    long ttl() default 60;
+
+    /**
+     * 参与计算缓存键的请求参数名，为空时使用完整的查询字符串
+     */
+    String[] key() default {};
+
+}
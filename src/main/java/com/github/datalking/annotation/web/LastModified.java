@@ -0,0 +1,32 @@
+package com.github.datalking.annotation.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 声明请求处理方法的最后修改时间和ETag的提供方法，在处理方法执行前检查，未修改时直接返回304
+ * <p>
+ * 提供方法需定义在同一控制器中，无参数或只有一个HttpServletRequest参数，
+ * 最后修改时间的方法返回long，ETag的方法返回String
+ *
+ * @author yaoo on 10/17/26
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface LastModified {
+
+    /**
+     * 返回最后修改时间(毫秒)的方法名
+     */
+    String value() default "";
+
+    /**
+     * 返回ETag的方法名
+     */
+    String etag() default "";
+
+}
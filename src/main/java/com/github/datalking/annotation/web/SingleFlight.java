@@ -0,0 +1,23 @@
+package com.github.datalking.annotation.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 合并并发的相同GET请求：查找路径、Accept、Accept-Encoding和解析后的参数都相等的请求只执行一次处理方法，
+ * 其余请求等待该次执行完成，共享写出的状态码、响应头和响应体，或抛出相同的异常
+ * <p>
+ * 只能用于返回普通值的@ResponseBody方法，参数需正确实现equals()和hashCode()；
+ * 异步、流式、ModelAndView等返回值，以及请求、响应、Model、Errors等属于各自请求的参数在初始化时报错
+ *
+ * @author yaoo on 10/17/26
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SingleFlight {
+
+}
@@ -0,0 +1,300 @@
+package com.github.datalking.beans;
+
+import com.github.datalking.util.StringUtils;
+import net.sf.cglib.reflect.FastClass;
+import net.sf.cglib.reflect.FastMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 一个类的属性读写器表，随CachedIntrospectionResults每个类只创建一次
+ * <p>
+ * 写属性时优先使用本类声明的字段，没有该字段时使用set方法，字段的类型转换方式在创建时确定；
+ * public类的public方法通过cglib生成的FastClass调用，其他方法使用反射
+ *
+ * @author yaoo on 10/17/26
+ */
+final class BeanPropertyAccessors {
+
+    private static final Logger logger = LoggerFactory.getLogger(BeanPropertyAccessors.class);
+
+    private final Map<String, PropertyWriter> writers;
+
+    private final Map<String, PropertyReader> readers;
+
+    private final String[] writablePropertyNames;
+
+    BeanPropertyAccessors(Class<?> beanClass, CachedIntrospectionResults introspectionResults) {
+        Map<Class<?>, FastClass> fastClasses = new HashMap<>();
+        Map<String, PropertyWriter> writers = new HashMap<>();
+        for (Method method : beanClass.getMethods()) {
+            String name = method.getName();
+            if (name.length() > 3 && name.startsWith("set") && method.getParameterTypes().length == 1 &&
+                    !Modifier.isStatic(method.getModifiers())) {
+                String propertyName = StringUtils.getBeanNameFromSetMethod(name);
+                if (!writers.containsKey(propertyName)) {
+                    writers.put(propertyName, new MethodWriter(createInvoker(method, fastClasses)));
+                }
+            }
+        }
+        // 本类声明的字段优先于set方法
+        for (Field field : beanClass.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                field.setAccessible(true);
+                writers.put(field.getName(), new FieldWriter(field));
+            }
+        }
+        this.writers = Collections.unmodifiableMap(writers);
+        this.writablePropertyNames = writers.keySet().toArray(new String[writers.size()]);
+
+        Map<String, PropertyReader> readers = new HashMap<>();
+        for (PropertyDescriptor pd : introspectionResults.getPropertyDescriptors()) {
+            if (pd.getReadMethod() != null) {
+                readers.put(pd.getName(), new PropertyReader(createInvoker(pd.getReadMethod(), fastClasses)));
+            }
+        }
+        this.readers = Collections.unmodifiableMap(readers);
+    }
+
+    /**
+     * 没有可写入的字段或set方法时返回null
+     */
+    PropertyWriter getWriter(String propertyName) {
+        return this.writers.get(propertyName);
+    }
+
+    /**
+     * 有字段或set方法的属性名，调用方不能修改返回的数组
+     */
+    String[] getWritablePropertyNames() {
+        return this.writablePropertyNames;
+    }
+
+    /**
+     * 没有get方法时返回null
+     */
+    PropertyReader getReader(String propertyName) {
+        return this.readers.get(propertyName);
+    }
+
+    private static MethodInvoker createInvoker(Method method, Map<Class<?>, FastClass> fastClasses) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        if (Modifier.isPublic(method.getModifiers()) && Modifier.isPublic(declaringClass.getModifiers()) &&
+                !method.isBridge()) {
+            try {
+                FastClass fastClass = fastClasses.get(declaringClass);
+                if (fastClass == null) {
+                    fastClass = FastClass.create(declaringClass);
+                    fastClasses.put(declaringClass, fastClass);
+                }
+                return new FastMethodInvoker(fastClass.getMethod(method));
+            } catch (Throwable ex) {
+                // 如类加载器不可见时，使用反射调用
+                logger.debug("Could not generate FastClass for " + method + ": " + ex);
+            }
+        }
+        return new ReflectiveMethodInvoker(method);
+    }
+
+
+    /**
+     * 写属性值
+     */
+    abstract static class PropertyWriter {
+
+        abstract void setValue(Object bean, Object value) throws Exception;
+    }
+
+    /**
+     * 读属性值
+     */
+    static final class PropertyReader {
+
+        private final MethodInvoker invoker;
+
+        PropertyReader(MethodInvoker invoker) {
+            this.invoker = invoker;
+        }
+
+        Object getValue(Object bean) throws Exception {
+            return this.invoker.invoke(bean, new Object[0]);
+        }
+    }
+
+    /**
+     * 直接写字段，8种基本类型及其包装类型和String按字符串转换，其他类型直接赋值
+     */
+    private static final class FieldWriter extends PropertyWriter {
+
+        private static final int NONE = 0;
+        private static final int BYTE = 1;
+        private static final int SHORT = 2;
+        private static final int INT = 3;
+        private static final int LONG = 4;
+        private static final int FLOAT = 5;
+        private static final int DOUBLE = 6;
+        private static final int BOOLEAN = 7;
+        private static final int STRING = 8;
+
+        private final Field field;
+
+        private final int conversion;
+
+        // 基本类型字段通过setInt()等方法写入，不创建包装对象
+        private final boolean primitive;
+
+        FieldWriter(Field field) {
+            this.field = field;
+            this.conversion = conversionFor(field.getType());
+            this.primitive = field.getType().isPrimitive();
+        }
+
+        private static int conversionFor(Class<?> type) {
+            if (type == byte.class || type == Byte.class) {
+                return BYTE;
+            } else if (type == short.class || type == Short.class) {
+                return SHORT;
+            } else if (type == int.class || type == Integer.class) {
+                return INT;
+            } else if (type == long.class || type == Long.class) {
+                return LONG;
+            } else if (type == float.class || type == Float.class) {
+                return FLOAT;
+            } else if (type == double.class || type == Double.class) {
+                return DOUBLE;
+            } else if (type == boolean.class || type == Boolean.class) {
+                return BOOLEAN;
+            } else if (type == String.class) {
+                return STRING;
+            }
+            return NONE;
+        }
+
+        @Override
+        void setValue(Object bean, Object value) throws IllegalAccessException {
+            if (value == null || this.conversion == NONE) {
+                if (value != null || !this.primitive) {
+                    this.field.set(bean, value);
+                }
+                return;
+            }
+            // 请求参数绑定时，单个值也可能是数组
+            if (value instanceof String[] && ((String[]) value).length == 1) {
+                value = ((String[]) value)[0];
+            }
+            String text = value.toString();
+            if (this.primitive) {
+                setPrimitive(bean, text);
+                return;
+            }
+            switch (this.conversion) {
+                case BYTE:
+                    this.field.set(bean, Byte.valueOf(text));
+                    break;
+                case SHORT:
+                    this.field.set(bean, Short.valueOf(text));
+                    break;
+                case INT:
+                    this.field.set(bean, Integer.valueOf(text));
+                    break;
+                case LONG:
+                    this.field.set(bean, Long.valueOf(text));
+                    break;
+                case FLOAT:
+                    this.field.set(bean, Float.valueOf(text));
+                    break;
+                case DOUBLE:
+                    this.field.set(bean, Double.valueOf(text));
+                    break;
+                case BOOLEAN:
+                    this.field.set(bean, Boolean.valueOf(text));
+                    break;
+                default:
+                    this.field.set(bean, text);
+            }
+        }
+
+        private void setPrimitive(Object bean, String text) throws IllegalAccessException {
+            switch (this.conversion) {
+                case BYTE:
+                    this.field.setByte(bean, Byte.parseByte(text));
+                    break;
+                case SHORT:
+                    this.field.setShort(bean, Short.parseShort(text));
+                    break;
+                case INT:
+                    this.field.setInt(bean, Integer.parseInt(text));
+                    break;
+                case LONG:
+                    this.field.setLong(bean, Long.parseLong(text));
+                    break;
+                case FLOAT:
+                    this.field.setFloat(bean, Float.parseFloat(text));
+                    break;
+                case DOUBLE:
+                    this.field.setDouble(bean, Double.parseDouble(text));
+                    break;
+                default:
+                    this.field.setBoolean(bean, Boolean.parseBoolean(text));
+            }
+        }
+    }
+
+    private static final class MethodWriter extends PropertyWriter {
+
+        private final MethodInvoker invoker;
+
+        MethodWriter(MethodInvoker invoker) {
+            this.invoker = invoker;
+        }
+
+        @Override
+        void setValue(Object bean, Object value) throws Exception {
+            this.invoker.invoke(bean, new Object[]{value});
+        }
+    }
+
+
+    private interface MethodInvoker {
+
+        Object invoke(Object bean, Object[] args) throws Exception;
+    }
+
+    private static final class FastMethodInvoker implements MethodInvoker {
+
+        private final FastMethod fastMethod;
+
+        FastMethodInvoker(FastMethod fastMethod) {
+            this.fastMethod = fastMethod;
+        }
+
+        @Override
+        public Object invoke(Object bean, Object[] args) throws InvocationTargetException {
+            return this.fastMethod.invoke(bean, args);
+        }
+    }
+
+    private static final class ReflectiveMethodInvoker implements MethodInvoker {
+
+        private final Method method;
+
+        ReflectiveMethodInvoker(Method method) {
+            this.method = method;
+        }
+
+        @Override
+        public Object invoke(Object bean, Object[] args) throws Exception {
+            return this.method.invoke(bean, args);
+        }
+    }
+
+}
@@ -3,19 +3,13 @@ package com.github.datalking.beans;
 import com.github.datalking.common.convert.TypeConverterDelegate;
 import com.github.datalking.common.convert.descriptor.Property;
 import com.github.datalking.common.convert.descriptor.TypeDescriptor;
-import com.github.datalking.util.MethodUtils;
-import com.github.datalking.util.StringUtils;
+import com.github.datalking.util.Assert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * 包装bean属性 实现类
@@ -39,6 +33,9 @@ public class BeanWrapperImpl extends AbstractPropertyAccessor implements BeanWra
 
 //    private CachedIntrospectionResults cachedIntrospectionResults;
 
+    // 包装对象所属类的属性读写器，首次读写属性时获取
+    private BeanPropertyAccessors propertyAccessors;
+
     private Map<String, BeanWrapperImpl> nestedBeanWrappers;
 
     public BeanWrapperImpl() {
@@ -78,10 +75,12 @@ public class BeanWrapperImpl extends AbstractPropertyAccessor implements BeanWra
 
     public void setWrappedInstance(Object object) {
         this.wrappedObject = object;
+        this.propertyAccessors = null;
     }
 
     public void setBeanInstance(Object object) {
         this.wrappedObject = object;
+        this.propertyAccessors = null;
         //this.rootObject = object;
         //this.typeConverterDelegate = new TypeConverterDelegate(this, this.wrappedObject);
         //setIntrospectionClass(object.getClass());
@@ -119,15 +118,17 @@ public class BeanWrapperImpl extends AbstractPropertyAccessor implements BeanWra
         return true;
     }
 
+    /**
+     * 可以通过setPropertyValue()写入的属性名，每个类只解析一次，调用方不能修改返回的数组
+     */
+    public String[] getWritablePropertyNames() {
+        return getPropertyAccessors().getWritablePropertyNames();
+    }
+
     @Override
     public TypeDescriptor getPropertyTypeDescriptor(String propertyName) {
 
-        PropertyDescriptor pd = null;
-        try {
-            pd = new PropertyDescriptor(propertyName, wrappedObject.getClass());
-        } catch (IntrospectionException e) {
-            e.printStackTrace();
-        }
+        PropertyDescriptor pd = getPropertyDescriptor(propertyName);
 
         if (pd != null) {
             if (pd.getReadMethod() != null || pd.getWriteMethod() != null) {
@@ -141,131 +142,54 @@ public class BeanWrapperImpl extends AbstractPropertyAccessor implements BeanWra
     @Override
     public Object getPropertyValue(String propertyName) {
 
-        PropertyDescriptor pd = null;
-        try {
-            pd = new PropertyDescriptor(propertyName, wrappedObject.getClass());
-        } catch (IntrospectionException e) {
-            e.printStackTrace();
-        }
-        if (pd != null) {
-            Method getMethod = pd.getReadMethod();
-
-            Object obj = null;
+        BeanPropertyAccessors.PropertyReader reader = getPropertyAccessors().getReader(propertyName);
+        if (reader != null) {
             try {
-                obj = getMethod.invoke(wrappedObject);
-            } catch (IllegalAccessException | InvocationTargetException e) {
+                return reader.getValue(this.wrappedObject);
+            } catch (Exception e) {
                 e.printStackTrace();
             }
-
-            return obj;
         }
 
         return null;
     }
 
-    @Override
-    public void setPropertyValue(String propertyName, Object value) {
-
-    }
-
     /**
-     * 设置pv
+     * 属性对应的字段或set方法不存在时忽略
+     * 调用此方法之前，要先确保属性类型已经经过正确转换，字段为基本类型或String时按字符串转换
      */
-    public void setPropertyValue(PropertyValue pv) {
-
-        String pname = pv.getName();
-        Object pvalue = pv.getValue();
-
-        Field declaredField = null;
-        try {
-
-            // 获取属性名对应的字段
-            declaredField = this.wrappedObject.getClass().getDeclaredField(pname);
-        } catch (NoSuchFieldException e) {
-            //e.printStackTrace();
-        }
-
-        /// 若字段存在，则直接通过反射赋值
-        if (declaredField != null) {
-            declaredField.setAccessible(true);
-
-            Class clazz = declaredField.getType();
-            String typeName = clazz.getName();
+    @Override
+    public void setPropertyValue(String propertyName, Object value) {
 
+        // 本类声明的字段优先，其次是set方法，读写器每个类只解析一次
+        BeanPropertyAccessors.PropertyWriter writer = getPropertyAccessors().getWriter(propertyName);
+        if (writer != null) {
             try {
-                switch (typeName) {
-
-                    /// 默认转换8种基本类型、string
-                    case "byte":
-                    case "java.lang.Byte":
-                        declaredField.set(this.wrappedObject, Byte.valueOf(pvalue.toString()));
-                        break;
-                    case "short":
-                    case "java.lang.Short":
-                        declaredField.set(this.wrappedObject, Short.valueOf(pvalue.toString()));
-                        break;
-                    case "int":
-                    case "java.lang.Integer":
-                        declaredField.set(this.wrappedObject, Integer.valueOf(pvalue.toString()));
-                        break;
-                    case "long":
-                    case "java.lang.Long":
-                        declaredField.set(this.wrappedObject, Long.valueOf(pvalue.toString()));
-                    case "float":
-                    case "java.lang.Float":
-                        declaredField.set(this.wrappedObject, Float.valueOf(pvalue.toString()));
-                        break;
-                    case "double":
-                    case "java.lang.Double":
-                        declaredField.set(this.wrappedObject, Double.valueOf(pvalue.toString()));
-                        break;
-                    case "char":
-                    case "java.lang.Character":
-                        declaredField.set(this.wrappedObject, pvalue);
-                        break;
-                    case "boolean":
-                    case "java.lang.Boolean":
-                        declaredField.set(this.wrappedObject, Boolean.valueOf(pvalue.toString()));
-                        break;
-                    case "java.lang.String":
-                        declaredField.set(this.wrappedObject, String.valueOf(pvalue.toString()));
-                        break;
-
-                    ///默认处理引用类型
-                    default:
-                        declaredField.set(this.wrappedObject, pvalue);
-                }
+                writer.setValue(this.wrappedObject, value);
             } catch (Exception e) {
                 e.printStackTrace();
             }
         }
-        /// 若字段不存在，则检查set方法是否存在，若写方法存在，则反射赋值；否则字段为null
-        else {
-
-            Class<?> beanClass = this.wrappedObject.getClass();
-            // 该类所有set方法
-            Set<Method> setMethods = MethodUtils.getSetMethodsIncludingParent(beanClass);
-            // 属性对应的set方法
-            Method setMethod = null;
-
-            for (Method m : setMethods) {
-                if (pname.equals(StringUtils.getBeanNameFromSetMethod(m.getName()))) {
-                    setMethod = m;
-                }
-            }
+    }
 
-            if (setMethod != null) {
-                try {
+    /**
+     * 设置pv
+     */
+    public void setPropertyValue(PropertyValue pv) {
+        setPropertyValue(pv.getName(), pv.getValue());
+    }
 
-                    setMethod.invoke(this.wrappedObject, pvalue);
-                } catch (IllegalAccessException | InvocationTargetException e) {
-                    e.printStackTrace();
-                }
-            }
+    private BeanPropertyAccessors getPropertyAccessors() {
+        if (this.propertyAccessors == null) {
+            this.propertyAccessors = getCachedIntrospectionResults().getPropertyAccessors();
         }
-
+        return this.propertyAccessors;
     }
 
+    private CachedIntrospectionResults getCachedIntrospectionResults() {
+        Assert.state(this.wrappedObject != null, "BeanWrapper does not hold a bean instance");
+        return CachedIntrospectionResults.forClass(this.wrappedObject.getClass());
+    }
 
     @Override
     public PropertyDescriptor[] getPropertyDescriptors() {
@@ -275,16 +199,7 @@ public class BeanWrapperImpl extends AbstractPropertyAccessor implements BeanWra
 
     @Override
     public PropertyDescriptor getPropertyDescriptor(String propertyName) {
-
-        PropertyDescriptor pd = null;
-        try {
-            pd = new PropertyDescriptor(propertyName, this.wrappedObject.getClass());
-        } catch (IntrospectionException e) {
-            e.printStackTrace();
-        }
-//        Method readMethod = pd1.getReadMethod(); //获得读取属性值的方法
-//        Object retVal = readMethod.invoke(bp);
-        return pd;
+        return getCachedIntrospectionResults().getPropertyDescriptor(propertyName);
     }
 
     /**
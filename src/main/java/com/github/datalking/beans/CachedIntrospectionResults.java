@@ -1,6 +1,8 @@
 package com.github.datalking.beans;
 
+import com.github.datalking.common.ConcurrentReferenceHashMap;
 import com.github.datalking.exception.BeansException;
+import com.github.datalking.util.ClassUtils;
 import com.github.datalking.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,16 +11,15 @@ import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
-import java.lang.ref.Reference;
-import java.lang.ref.SoftReference;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * 保存Introspector分析的类的元数据 单例
@@ -42,88 +43,74 @@ public class CachedIntrospectionResults {
         beanInfoFactories.add(new ExtendedBeanInfoFactory());
     }
 
-    static final Set<ClassLoader> acceptedClassLoaders = new HashSet<>();
+    // 接受的类加载器，其加载的类按强引用缓存
+    static final Set<ClassLoader> acceptedClassLoaders =
+            Collections.newSetFromMap(new ConcurrentHashMap<ClassLoader, Boolean>(16));
 
-    // 缓存创建class元信息的CachedIntrospectionResults，class -> 对应的CachedIntrospectionResults
-    static final Map<Class<?>, Object> classCache = new WeakHashMap<>();
+    // 缓存安全的类，class -> 对应的CachedIntrospectionResults，读取时不加锁
+    static final ConcurrentMap<Class<?>, CachedIntrospectionResults> strongClassCache = new ConcurrentHashMap<>(64);
+
+    // 其他类加载器加载的类使用软引用缓存，不阻止类加载器被回收
+    static final ConcurrentMap<Class<?>, CachedIntrospectionResults> softClassCache =
+            new ConcurrentReferenceHashMap<>(64);
 
     /**
      * 一般代替构造方法
      */
     public static CachedIntrospectionResults forClass(Class<?> beanClass) {
-        CachedIntrospectionResults results;
-        Object value;
-        synchronized (classCache) {
-            value = classCache.get(beanClass);
+        CachedIntrospectionResults results = strongClassCache.get(beanClass);
+        if (results != null) {
+            return results;
         }
-
-        /// 获取vlaue对应的CachedIntrospectionResults
-        if (value instanceof Reference) {
-            Reference<CachedIntrospectionResults> ref = (Reference<CachedIntrospectionResults>) value;
-            results = ref.get();
-        } else {
-            results = (CachedIntrospectionResults) value;
+        results = softClassCache.get(beanClass);
+        if (results != null) {
+            return results;
         }
 
-        if (results == null) {
-//            if (ClassUtils.isCacheSafe(beanClass, CachedIntrospectionResults.class.getClassLoader()) ||
-//                    isClassLoaderAccepted(beanClass.getClassLoader())) {
-//                results = new CachedIntrospectionResults(beanClass);
-//                synchronized (classCache) {
-//                    classCache.put(beanClass, results);
-//                }
-//            } else {
-
-            // 创建class对应的CachedIntrospectionResults对象
-            results = new CachedIntrospectionResults(beanClass);
-
-            synchronized (classCache) {
-                // 加入缓存
-                classCache.put(beanClass, new SoftReference<>(results));
-            }
-//            }
+        // 创建class对应的CachedIntrospectionResults对象，并发创建时使用先放入缓存的对象
+        results = new CachedIntrospectionResults(beanClass);
+        ConcurrentMap<Class<?>, CachedIntrospectionResults> classCacheToUse;
+        if (ClassUtils.isCacheSafe(beanClass, CachedIntrospectionResults.class.getClassLoader()) ||
+                isClassLoaderAccepted(beanClass.getClassLoader())) {
+            classCacheToUse = strongClassCache;
+        } else {
+            classCacheToUse = softClassCache;
         }
-
-        return results;
+        CachedIntrospectionResults existing = classCacheToUse.putIfAbsent(beanClass, results);
+        return (existing != null ? existing : results);
     }
 
     // ======= #region - classloader method ========
 
     public static void acceptClassLoader(ClassLoader classLoader) {
         if (classLoader != null) {
-            synchronized (acceptedClassLoaders) {
-                acceptedClassLoaders.add(classLoader);
-            }
+            acceptedClassLoaders.add(classLoader);
         }
     }
 
     public static void clearClassLoader(ClassLoader classLoader) {
-        synchronized (classCache) {
-            for (Iterator<Class<?>> it = classCache.keySet().iterator(); it.hasNext(); ) {
-                Class<?> beanClass = it.next();
-                if (isUnderneathClassLoader(beanClass.getClassLoader(), classLoader)) {
-                    it.remove();
-                }
+        for (Iterator<ClassLoader> it = acceptedClassLoaders.iterator(); it.hasNext(); ) {
+            ClassLoader registeredLoader = it.next();
+            if (isUnderneathClassLoader(registeredLoader, classLoader)) {
+                it.remove();
             }
         }
-        synchronized (acceptedClassLoaders) {
-            for (Iterator<ClassLoader> it = acceptedClassLoaders.iterator(); it.hasNext(); ) {
-                ClassLoader registeredLoader = it.next();
-                if (isUnderneathClassLoader(registeredLoader, classLoader)) {
-                    it.remove();
-                }
+        for (Iterator<Class<?>> it = strongClassCache.keySet().iterator(); it.hasNext(); ) {
+            Class<?> beanClass = it.next();
+            if (isUnderneathClassLoader(beanClass.getClassLoader(), classLoader)) {
+                it.remove();
+            }
+        }
+        for (Iterator<Class<?>> it = softClassCache.keySet().iterator(); it.hasNext(); ) {
+            Class<?> beanClass = it.next();
+            if (isUnderneathClassLoader(beanClass.getClassLoader(), classLoader)) {
+                it.remove();
             }
         }
     }
 
     private static boolean isClassLoaderAccepted(ClassLoader classLoader) {
-        // Iterate over array copy in order to avoid synchronization for the entire
-        // ClassLoader check (avoiding a synchronized acceptedClassLoaders Iterator).
-        ClassLoader[] acceptedLoaderArray;
-        synchronized (acceptedClassLoaders) {
-            acceptedLoaderArray = acceptedClassLoaders.toArray(new ClassLoader[acceptedClassLoaders.size()]);
-        }
-        for (ClassLoader acceptedLoader : acceptedLoaderArray) {
+        for (ClassLoader acceptedLoader : acceptedClassLoaders) {
             if (isUnderneathClassLoader(classLoader, acceptedLoader)) {
                 return true;
             }
@@ -160,6 +147,11 @@ public class CachedIntrospectionResults {
      */
     private final Map<String, PropertyDescriptor> propertyDescriptorCache;
 
+    /**
+     * 属性读写器表，首次读写属性时创建
+     */
+    private volatile BeanPropertyAccessors propertyAccessors;
+
     private CachedIntrospectionResults(Class<?> beanClass) {
         try {
 
@@ -224,6 +216,15 @@ public class CachedIntrospectionResults {
         return this.beanInfo.getBeanDescriptor().getBeanClass();
     }
 
+    BeanPropertyAccessors getPropertyAccessors() {
+        BeanPropertyAccessors accessors = this.propertyAccessors;
+        if (accessors == null) {
+            accessors = new BeanPropertyAccessors(getBeanClass(), this);
+            this.propertyAccessors = accessors;
+        }
+        return accessors;
+    }
+
     public PropertyDescriptor getPropertyDescriptor(String name) {
         PropertyDescriptor pd = this.propertyDescriptorCache.get(name);
         if (pd == null && StringUtils.hasLength(name)) {
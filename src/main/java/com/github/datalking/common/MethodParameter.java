@@ -1,5 +1,6 @@
 package com.github.datalking.common;
 
+import com.github.datalking.common.convert.descriptor.TypeDescriptor;
 import com.github.datalking.util.Assert;
 
 import java.lang.annotation.Annotation;
@@ -42,6 +43,9 @@ public class MethodParameter {
     // 方法参数名
     private volatile String parameterName;
 
+    // 类型转换用的类型描述符，嵌套层次或参数类型变化时清除
+    private volatile TypeDescriptor typeDescriptor;
+
     private int nestingLevel = 1;
 
     Map<Integer, Integer> typeIndexesPerLevel;
@@ -124,8 +128,12 @@ public class MethodParameter {
         return this.parameterIndex;
     }
 
+    /**
+     * 由GenericTypeResolver设置解析泛型后的参数类型，之前缓存的类型描述符基于旧类型，需要清除
+     */
     void setParameterType(Class<?> parameterType) {
         this.parameterType = parameterType;
+        this.typeDescriptor = null;
     }
 
     public Class<?> getParameterType() {
@@ -232,13 +240,27 @@ public class MethodParameter {
         return this.parameterName;
     }
 
+    /**
+     * 参数的类型描述符，每个MethodParameter只创建一次
+     */
+    public TypeDescriptor getTypeDescriptor() {
+        TypeDescriptor typeDescriptor = this.typeDescriptor;
+        if (typeDescriptor == null) {
+            typeDescriptor = new TypeDescriptor(this);
+            this.typeDescriptor = typeDescriptor;
+        }
+        return typeDescriptor;
+    }
+
     public void increaseNestingLevel() {
         this.nestingLevel++;
+        this.typeDescriptor = null;
     }
 
     public void decreaseNestingLevel() {
         getTypeIndexesPerLevel().remove(this.nestingLevel);
         this.nestingLevel--;
+        this.typeDescriptor = null;
     }
 
     // 对于列表来来说，1代表内部列表，2代表内部列表的元素
@@ -248,6 +270,7 @@ public class MethodParameter {
 
     public void setTypeIndexForCurrentLevel(int typeIndex) {
         getTypeIndexesPerLevel().put(this.nestingLevel, typeIndex);
+        this.typeDescriptor = null;
     }
 
     public Integer getTypeIndexForCurrentLevel() {
@@ -19,4 +19,17 @@ public interface ConversionService {
 
     boolean canConvert(TypeDescriptor sourceType, TypeDescriptor targetType);
 
+    // 转换为基本类型，默认转换为包装类型后拆箱，GenericConversionService使用默认数字转换规则时不创建包装对象
+    default int convertToInt(Object source) {
+        return convert(source, Integer.class);
+    }
+
+    default long convertToLong(Object source) {
+        return convert(source, Long.class);
+    }
+
+    default double convertToDouble(Object source) {
+        return convert(source, Double.class);
+    }
+
 }
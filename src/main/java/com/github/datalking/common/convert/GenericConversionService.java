@@ -9,8 +9,11 @@ import com.github.datalking.common.convert.converter.ConverterFactory;
 import com.github.datalking.common.convert.converter.GenericConverter;
 import com.github.datalking.common.convert.converter.GenericConverter.ConvertiblePair;
 import com.github.datalking.common.convert.descriptor.TypeDescriptor;
+import com.github.datalking.common.convert.support.NumberToNumberConverterFactory;
+import com.github.datalking.common.convert.support.StringToNumberConverterFactory;
 import com.github.datalking.util.Assert;
 import com.github.datalking.util.ClassUtils;
+import com.github.datalking.util.NumberUtils;
 import com.github.datalking.util.ObjectUtils;
 import com.github.datalking.util.StringUtils;
 
@@ -25,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @author yaoo on 5/10/18
@@ -39,6 +43,10 @@ public class GenericConversionService implements ConfigurableConversionService {
 
     private final Map<ConverterCacheKey, GenericConverter> converterCache = new ConcurrentHashMap<>(64);
 
+    // 不带注解和泛型的简单类型，按源类型、目标类型两级查找，不创建缓存key
+    private final ConcurrentMap<Class<?>, Map<Class<?>, GenericConverter>> simpleConverterCache =
+            new ConcurrentHashMap<>(64);
+
     // implementing ConverterRegistry
 
     @Override
@@ -131,6 +139,30 @@ public class GenericConversionService implements ConfigurableConversionService {
         return convert(source, TypeDescriptor.forObject(source), targetType);
     }
 
+    public int convertToInt(Object source) {
+        if (isDefaultNumberConversion(source, Integer.class)) {
+            return (source instanceof String ?
+                    NumberUtils.parseInt((String) source) : NumberUtils.intValue((Number) source));
+        }
+        return ((Number) convertToPrimitive(source, int.class)).intValue();
+    }
+
+    public long convertToLong(Object source) {
+        if (isDefaultNumberConversion(source, Long.class)) {
+            return (source instanceof String ?
+                    NumberUtils.parseLong((String) source) : ((Number) source).longValue());
+        }
+        return ((Number) convertToPrimitive(source, long.class)).longValue();
+    }
+
+    public double convertToDouble(Object source) {
+        if (isDefaultNumberConversion(source, Double.class)) {
+            return (source instanceof String ?
+                    NumberUtils.parseDouble((String) source) : ((Number) source).doubleValue());
+        }
+        return ((Number) convertToPrimitive(source, double.class)).doubleValue();
+    }
+
     @Override
     public String toString() {
         return this.converters.toString();
@@ -144,24 +176,43 @@ public class GenericConversionService implements ConfigurableConversionService {
     }
 
     protected GenericConverter getConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
-        ConverterCacheKey key = new ConverterCacheKey(sourceType, targetType);
-        GenericConverter converter = this.converterCache.get(key);
-        if (converter != null) {
-            return (converter != NO_MATCH ? converter : null);
+        boolean simple = isSimpleType(sourceType) && isSimpleType(targetType);
+        Map<Class<?>, GenericConverter> simpleConverters = null;
+        if (simple) {
+            simpleConverters = this.simpleConverterCache.get(sourceType.getType());
+            if (simpleConverters != null) {
+                GenericConverter converter = simpleConverters.get(targetType.getType());
+                if (converter != null) {
+                    return (converter != NO_MATCH ? converter : null);
+                }
+            }
         }
 
-        converter = this.converters.find(sourceType, targetType);
+        ConverterCacheKey key = new ConverterCacheKey(sourceType, targetType);
+        GenericConverter converter = this.converterCache.get(key);
         if (converter == null) {
-            converter = getDefaultConverter(sourceType, targetType);
-        }
-
-        if (converter != null) {
+            converter = this.converters.find(sourceType, targetType);
+            if (converter == null) {
+                converter = getDefaultConverter(sourceType, targetType);
+            }
+            if (converter == null) {
+                converter = NO_MATCH;
+            }
             this.converterCache.put(key, converter);
-            return converter;
         }
 
-        this.converterCache.put(key, NO_MATCH);
-        return null;
+        if (simple) {
+            if (simpleConverters == null) {
+                simpleConverters = new ConcurrentHashMap<>(8);
+                Map<Class<?>, GenericConverter> existing =
+                        this.simpleConverterCache.putIfAbsent(sourceType.getType(), simpleConverters);
+                if (existing != null) {
+                    simpleConverters = existing;
+                }
+            }
+            simpleConverters.put(targetType.getType(), converter);
+        }
+        return (converter != NO_MATCH ? converter : null);
     }
 
     protected GenericConverter getDefaultConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
@@ -175,8 +226,47 @@ public class GenericConversionService implements ConfigurableConversionService {
         return (args != null ? new GenericConverter.ConvertiblePair(args[0], args[1]) : null);
     }
 
+    /**
+     * 源对象是非空字符串或数字，且对应的转换器是默认的数字转换器时，可以直接按基本类型解析
+     */
+    private boolean isDefaultNumberConversion(Object source, Class<? extends Number> targetType) {
+        if (source instanceof String) {
+            if (((String) source).length() == 0) {
+                return false;
+            }
+        } else if (!(source instanceof Number)) {
+            return false;
+        }
+        GenericConverter converter = getConverter(TypeDescriptor.forObject(source), TypeDescriptor.valueOf(targetType));
+        if (converter == NO_OP_CONVERTER) {
+            return (source instanceof Number);
+        }
+        if (converter instanceof ConverterFactoryAdapter) {
+            ConverterFactory<?, ?> factory = ((ConverterFactoryAdapter) converter).converterFactory;
+            return (factory instanceof StringToNumberConverterFactory || factory instanceof NumberToNumberConverterFactory);
+        }
+        return false;
+    }
+
+    private Object convertToPrimitive(Object source, Class<?> targetType) {
+        Object result = convert(source, TypeDescriptor.forObject(source), TypeDescriptor.valueOf(targetType));
+        if (result == null) {
+            throw new IllegalArgumentException("A null value cannot be assigned to a primitive type");
+        }
+        return result;
+    }
+
     private void invalidateCache() {
         this.converterCache.clear();
+        this.simpleConverterCache.clear();
+    }
+
+    /**
+     * 没有注解、不是集合、数组或Map时，类型描述符只由类型决定，可以直接按Class查找转换器
+     */
+    private static boolean isSimpleType(TypeDescriptor typeDescriptor) {
+        return (typeDescriptor.getAnnotations().length == 0 && !typeDescriptor.isArray() &&
+                !typeDescriptor.isCollection() && !typeDescriptor.isMap());
     }
 
     private Object handleConverterNotFound(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
@@ -5,6 +5,7 @@ import com.github.datalking.common.MethodParameter;
 import com.github.datalking.common.convert.descriptor.TypeDescriptor;
 import com.github.datalking.util.BeanUtils;
 import com.github.datalking.util.ClassUtils;
+import com.github.datalking.util.NumberUtils;
 import com.github.datalking.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,7 +49,7 @@ public class TypeConverterDelegate {
                 null,
                 newValue,
                 requiredType,
-                (methodParam != null ? new TypeDescriptor(methodParam) : TypeDescriptor.valueOf(requiredType)));
+                (methodParam != null ? methodParam.getTypeDescriptor() : TypeDescriptor.valueOf(requiredType)));
     }
 
 
@@ -85,6 +86,19 @@ public class TypeConverterDelegate {
 
         ConversionService conversionService = this.propertyEditorRegistry.getConversionService();
 
+        // 基本数字类型直接解析，不经过转换器查找和中间包装对象
+        // 先由NumberUtils确认可以直接转换，十六进制、可能溢出或格式错误的值走下面的常规转换逻辑
+        if (editor == null && conversionService != null && requiredType != null && requiredType.isPrimitive() &&
+                NumberUtils.canConvertDirectly(convertedValue, requiredType)) {
+            if (requiredType == int.class) {
+                return (T) Integer.valueOf(conversionService.convertToInt(convertedValue));
+            } else if (requiredType == long.class) {
+                return (T) Long.valueOf(conversionService.convertToLong(convertedValue));
+            } else {
+                return (T) Double.valueOf(conversionService.convertToDouble(convertedValue));
+            }
+        }
+
         /// 一般进这里
         if (editor == null && conversionService != null && convertedValue != null && typeDescriptor != null) {
             TypeDescriptor sourceTypeDesc = TypeDescriptor.forObject(newValue);
@@ -1,5 +1,6 @@
 package com.github.datalking.common.convert.descriptor;
 
+import com.github.datalking.common.ConcurrentReferenceHashMap;
 import com.github.datalking.common.MethodParameter;
 import com.github.datalking.util.Assert;
 import com.github.datalking.util.ClassUtils;
@@ -45,6 +46,10 @@ public class TypeDescriptor implements Serializable {
         typeDescriptorCache.put(Object.class, new TypeDescriptor(Object.class));
     }
 
+    // 其他类型按需缓存，使用软引用避免类加载器泄漏
+    private static final Map<Class<?>, TypeDescriptor> classDescriptorCache =
+            new ConcurrentReferenceHashMap<>(64);
+
     private Class<?> type;
 
     private TypeDescriptor elementTypeDescriptor;
@@ -72,7 +77,14 @@ public class TypeDescriptor implements Serializable {
             type = Object.class;
         }
         TypeDescriptor desc = typeDescriptorCache.get(type);
-        return (desc != null ? desc : new TypeDescriptor(type));
+        if (desc == null) {
+            desc = classDescriptorCache.get(type);
+            if (desc == null) {
+                desc = new TypeDescriptor(type);
+                classDescriptorCache.put(type, desc);
+            }
+        }
+        return desc;
     }
 
     public static TypeDescriptor collection(Class<?> collectionType, TypeDescriptor elementTypeDescriptor) {
@@ -0,0 +1,130 @@
+package com.github.datalking.io;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+
+/**
+ * 基于URL的Resource实现的基类，文件系统中的资源直接通过File读取属性
+ *
+ * @author yaoo on 10/17/26
+ */
+public abstract class AbstractResource implements Resource {
+
+    private static final String URL_PROTOCOL_FILE = "file";
+
+    public boolean exists() {
+        try {
+            URL url = getURL();
+            if (URL_PROTOCOL_FILE.equals(url.getProtocol())) {
+                return getFile(url).exists();
+            }
+            URLConnection con = url.openConnection();
+            if (con instanceof HttpURLConnection) {
+                HttpURLConnection httpCon = (HttpURLConnection) con;
+                httpCon.setRequestMethod("HEAD");
+                int code = httpCon.getResponseCode();
+                httpCon.disconnect();
+                return (code == HttpURLConnection.HTTP_OK);
+            }
+            if (con.getContentLengthLong() >= 0) {
+                return true;
+            }
+            // 无法确定长度时尝试打开流
+            InputStream is = getInputStream();
+            is.close();
+            return true;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    public boolean isReadable() {
+        try {
+            URL url = getURL();
+            if (URL_PROTOCOL_FILE.equals(url.getProtocol())) {
+                File file = getFile(url);
+                return (file.canRead() && !file.isDirectory());
+            }
+            return exists();
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    public URL getURL() throws IOException {
+        throw new FileNotFoundException(getDescription() + " cannot be resolved to URL");
+    }
+
+    public File getFile() throws IOException {
+        URL url = getURL();
+        if (!URL_PROTOCOL_FILE.equals(url.getProtocol())) {
+            throw new FileNotFoundException(getDescription() + " cannot be resolved to absolute file path " +
+                    "because it does not reside in the file system: " + url);
+        }
+        return getFile(url);
+    }
+
+    public long contentLength() throws IOException {
+        URL url = getURL();
+        if (URL_PROTOCOL_FILE.equals(url.getProtocol())) {
+            return getFile(url).length();
+        }
+        URLConnection con = url.openConnection();
+        try {
+            return con.getContentLengthLong();
+        } finally {
+            closeConnection(con);
+        }
+    }
+
+    public long lastModified() throws IOException {
+        URL url = getURL();
+        if (URL_PROTOCOL_FILE.equals(url.getProtocol())) {
+            return getFile(url).lastModified();
+        }
+        URLConnection con = url.openConnection();
+        try {
+            return con.getLastModified();
+        } finally {
+            closeConnection(con);
+        }
+    }
+
+    public Resource createRelative(String relativePath) throws IOException {
+        throw new FileNotFoundException("Cannot create a relative resource for " + getDescription());
+    }
+
+    private static File getFile(URL url) throws FileNotFoundException {
+        try {
+            return new File(url.toURI().getSchemeSpecificPart());
+        } catch (URISyntaxException ex) {
+            // URL没有正确编码时退回使用原始路径
+            return new File(url.getFile());
+        }
+    }
+
+    private static void closeConnection(URLConnection con) {
+        if (con instanceof HttpURLConnection) {
+            ((HttpURLConnection) con).disconnect();
+        } else {
+            // 关闭jar等连接打开的流
+            try {
+                con.getInputStream().close();
+            } catch (IOException ex) {
+                // ignore
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getDescription();
+    }
+
+}
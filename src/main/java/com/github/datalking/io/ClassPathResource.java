@@ -10,7 +10,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 
-public class ClassPathResource implements Resource {
+public class ClassPathResource extends AbstractResource {
 
     private final String path;
 
@@ -83,6 +83,7 @@ public class ClassPathResource implements Resource {
         return is;
     }
 
+    @Override
     public URL getURL() throws IOException {
         URL url = resolveURL();
         if (url == null) {
@@ -91,6 +92,7 @@ public class ClassPathResource implements Resource {
         return url;
     }
 
+    @Override
     public ClassPathResource createRelative(String relativePath) {
         String pathToUse = StringUtils.applyRelativePath(this.path, relativePath);
         return new ClassPathResource(pathToUse, this.classLoader, this.clazz);
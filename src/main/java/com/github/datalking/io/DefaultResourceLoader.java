@@ -25,6 +25,10 @@ public class DefaultResourceLoader implements ResourceLoader {
         if (location.startsWith("classpath:")) {
             location = location.substring(10);
         }
+        // ClassLoader不接受以/开头的路径，如classpath:/static/
+        if (location.startsWith("/")) {
+            location = location.substring(1);
+        }
 
         if (location.trim() != "") {
             URL resource = this.getClass().getClassLoader().getResource(location);
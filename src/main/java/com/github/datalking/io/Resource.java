@@ -1,7 +1,9 @@
 package com.github.datalking.io;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URL;
 
 /**
  * Resource代表统一资源 接口
@@ -10,8 +12,26 @@ public interface Resource {
 
     boolean exists();
 
+    /**
+     * 资源存在且内容可读，目录不可读
+     */
+    boolean isReadable();
+
     InputStream getInputStream() throws IOException;
 
+    URL getURL() throws IOException;
+
+    /**
+     * 资源在文件系统中时返回对应的文件，否则抛出FileNotFoundException
+     */
+    File getFile() throws IOException;
+
+    long contentLength() throws IOException;
+
+    long lastModified() throws IOException;
+
+    Resource createRelative(String relativePath) throws IOException;
+
     String getFilename();
 
     String getDescription();
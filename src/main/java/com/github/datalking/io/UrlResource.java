@@ -1,14 +1,18 @@
 package com.github.datalking.io;
 
+import com.github.datalking.util.StringUtils;
+
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLConnection;
 
 /**
  * 通过url获取的资源
  */
-public class UrlResource implements Resource {
+public class UrlResource extends AbstractResource {
 
     private final URL url;
 
@@ -18,24 +22,57 @@ public class UrlResource implements Resource {
 
     @Override
     public boolean exists() {
-        return false;
+        return (this.url != null && super.exists());
     }
 
     @Override
     public InputStream getInputStream() throws IOException {
-        URLConnection urlConnection = url.openConnection();
-        urlConnection.connect();
-        return urlConnection.getInputStream();
+        URLConnection urlConnection = getURL().openConnection();
+        try {
+            urlConnection.connect();
+            return urlConnection.getInputStream();
+        } catch (IOException ex) {
+            if (urlConnection instanceof HttpURLConnection) {
+                ((HttpURLConnection) urlConnection).disconnect();
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public URL getURL() throws IOException {
+        if (this.url == null) {
+            throw new FileNotFoundException(getDescription() + " cannot be resolved to URL");
+        }
+        return this.url;
+    }
+
+    @Override
+    public Resource createRelative(String relativePath) throws IOException {
+        if (relativePath.startsWith("/")) {
+            relativePath = relativePath.substring(1);
+        }
+        return new UrlResource(new URL(getURL(), relativePath));
     }
 
     @Override
     public String getFilename() {
-        return null;
+        return (this.url != null ? StringUtils.getFilename(this.url.getPath()) : null);
     }
 
     public String getDescription() {
         return "URL [" + this.url + "]";
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        return (obj == this ||
+                (obj instanceof UrlResource && String.valueOf(this.url).equals(String.valueOf(((UrlResource) obj).url))));
+    }
+
+    @Override
+    public int hashCode() {
+        return String.valueOf(this.url).hashCode();
+    }
 
 }
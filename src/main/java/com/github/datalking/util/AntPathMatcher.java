@@ -21,6 +21,9 @@ public class AntPathMatcher implements PathMatcher {
 
     private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{[^/]+?\\}");
 
+    // 超过该数量后不再缓存编译的模式，避免把任意字符串当作模式时缓存无限增长
+    private static final int COMPILED_PATTERN_CACHE_LIMIT = 65536;
+
 
     private String pathSeparator = DEFAULT_PATH_SEPARATOR;
 
@@ -28,6 +31,8 @@ public class AntPathMatcher implements PathMatcher {
 
     private final Map<String, AntPathStringMatcher> stringMatcherCache = new ConcurrentHashMap<>(256);
 
+    private final Map<String, CompiledPathPattern> compiledPatternCache = new ConcurrentHashMap<>(256);
+
 
     /**
      * Set the path separator to use for pattern parsing.
@@ -35,6 +40,11 @@ public class AntPathMatcher implements PathMatcher {
      */
     public void setPathSeparator(String pathSeparator) {
         this.pathSeparator = (pathSeparator != null ? pathSeparator : DEFAULT_PATH_SEPARATOR);
+        this.compiledPatternCache.clear();
+    }
+
+    public String getPathSeparator() {
+        return this.pathSeparator;
     }
 
     /**
@@ -43,6 +53,11 @@ public class AntPathMatcher implements PathMatcher {
      */
     public void setTrimTokens(boolean trimTokens) {
         this.trimTokens = trimTokens;
+        this.compiledPatternCache.clear();
+    }
+
+    public boolean isTrimTokens() {
+        return this.trimTokens;
     }
 
 
@@ -51,13 +66,38 @@ public class AntPathMatcher implements PathMatcher {
     }
 
     public boolean match(String pattern, String path) {
+        CompiledPathPattern compiledPattern = getCompiledPattern(pattern);
+        if (compiledPattern != null) {
+            return compiledPattern.match(path, true, null);
+        }
         return doMatch(pattern, path, true, null);
     }
 
     public boolean matchStart(String pattern, String path) {
+        CompiledPathPattern compiledPattern = getCompiledPattern(pattern);
+        if (compiledPattern != null) {
+            return compiledPattern.match(path, false, null);
+        }
         return doMatch(pattern, path, false, null);
     }
 
+    /**
+     * 获取编译后的模式，只支持单个字符的分隔符，其他分隔符返回null
+     */
+    protected CompiledPathPattern getCompiledPattern(String pattern) {
+        if (this.pathSeparator.length() != 1) {
+            return null;
+        }
+        CompiledPathPattern compiledPattern = this.compiledPatternCache.get(pattern);
+        if (compiledPattern == null) {
+            compiledPattern = new CompiledPathPattern(pattern, this.pathSeparator.charAt(0), this.trimTokens);
+            if (this.compiledPatternCache.size() < COMPILED_PATTERN_CACHE_LIMIT) {
+                this.compiledPatternCache.put(pattern, compiledPattern);
+            }
+        }
+        return compiledPattern;
+    }
+
 
     /**
      * Actually match the given {@code path} against the given {@code pattern}.
@@ -264,7 +304,9 @@ public class AntPathMatcher implements PathMatcher {
 
     public Map<String, String> extractUriTemplateVariables(String pattern, String path) {
         Map<String, String> variables = new LinkedHashMap<String, String>();
-        boolean result = doMatch(pattern, path, true, variables);
+        CompiledPathPattern compiledPattern = getCompiledPattern(pattern);
+        boolean result = (compiledPattern != null ? compiledPattern.match(path, true, variables) :
+                doMatch(pattern, path, true, variables));
 //        Assert.state(result, "Pattern \"" + pattern + "\" is not a match for \"" + path + "\"");
         return variables;
     }
@@ -431,7 +473,7 @@ public class AntPathMatcher implements PathMatcher {
     }
 
 
-    private static class AntPathStringMatcher {
+    static class AntPathStringMatcher {
 
         private static final Pattern GLOB_PATTERN = Pattern.compile("\\?|\\*|\\{((?:\\{[^/]+?\\}|[^/{}]|\\\\[{}])+?)\\}");
 
@@ -481,7 +523,15 @@ public class AntPathMatcher implements PathMatcher {
 
 
         public boolean matchStrings(String str, Map<String, String> uriTemplateVariables) {
+            return matchStrings(str, 0, str.length(), uriTemplateVariables);
+        }
+
+        /**
+         * 只匹配str中[start, end)的部分
+         */
+        public boolean matchStrings(CharSequence str, int start, int end, Map<String, String> uriTemplateVariables) {
             Matcher matcher = this.pattern.matcher(str);
+            matcher.region(start, end);
             if (matcher.matches()) {
                 if (uriTemplateVariables != null) {
                     // SPR-8455
@@ -143,6 +143,33 @@ public abstract class ClassUtils {
         }
     }
 
+    /**
+     * 判断类是否由指定类加载器或其父加载器加载，此时缓存该类不会阻止其类加载器被回收
+     */
+    public static boolean isCacheSafe(Class<?> clazz, ClassLoader classLoader) {
+        Assert.notNull(clazz, "Class must not be null");
+        try {
+            ClassLoader target = clazz.getClassLoader();
+            if (target == null) {
+                return true;
+            }
+            ClassLoader cur = classLoader;
+            if (cur == target) {
+                return true;
+            }
+            while (cur != null) {
+                cur = cur.getParent();
+                if (cur == target) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (SecurityException ex) {
+            // 无法访问类加载器时按不安全处理
+            return false;
+        }
+    }
+
     public static boolean isAssignableValue(Class<?> type, Object value) {
         Assert.notNull(type, "Type must not be null");
         return (value != null ? isAssignable(type, value.getClass()) : !type.isPrimitive());
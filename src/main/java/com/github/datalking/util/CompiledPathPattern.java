@@ -0,0 +1,366 @@
+package com.github.datalking.util;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 预先编译的AntPathMatcher路径模式，匹配规则与AntPathMatcher.doMatch()一致
+ * <p>
+ * 模式只拆分一次，纯文本片段直接比较字符，单个*的前后缀片段按前后缀比较，{name}片段直接截取变量值，
+ * 只有包含?、多个*或带正则的变量时才使用正则；匹配时按下标访问路径，不拆分出子字符串
+ *
+ * @author yaoo on 10/17/26
+ */
+public class CompiledPathPattern {
+
+    // 同一请求路径通常会依次与多个模式匹配，每个线程保留上次拆分的结果，路径相同时不再重复拆分和分配下标数组
+    private static final ThreadLocal<PathTokens> lastPathTokens = new ThreadLocal<>();
+
+    private final String pattern;
+
+    private final char separator;
+
+    private final boolean trimTokens;
+
+    private final Segment[] segments;
+
+    private final boolean absolute;
+
+    private final boolean endsWithSeparator;
+
+    // 不含通配符和变量的模式，与路径相等时可直接返回
+    private final boolean literal;
+
+    public CompiledPathPattern(String pattern, char separator, boolean trimTokens) {
+        this.pattern = pattern;
+        this.separator = separator;
+        this.trimTokens = trimTokens;
+        String[] tokens = StringUtils.tokenizeToStringArray(pattern, String.valueOf(separator), trimTokens, true);
+        this.segments = new Segment[tokens.length];
+        boolean literal = true;
+        for (int i = 0; i < tokens.length; i++) {
+            this.segments[i] = new Segment(tokens[i]);
+            literal &= (this.segments[i].type == Segment.LITERAL);
+        }
+        this.literal = literal;
+        this.absolute = (pattern.length() > 0 && pattern.charAt(0) == separator);
+        this.endsWithSeparator = (pattern.length() > 0 && pattern.charAt(pattern.length() - 1) == separator);
+    }
+
+    public String getPattern() {
+        return this.pattern;
+    }
+
+    /**
+     * @param fullMatch            为false时只需匹配路径的开头部分
+     * @param uriTemplateVariables 不为null时放入匹配到的模板变量
+     */
+    public boolean match(String path, boolean fullMatch, Map<String, String> uriTemplateVariables) {
+        boolean pathAbsolute = (path.length() > 0 && path.charAt(0) == this.separator);
+        if (pathAbsolute != this.absolute) {
+            return false;
+        }
+        if (this.literal && path.equals(this.pattern)) {
+            return true;
+        }
+
+        Segment[] patt = this.segments;
+        PathTokens pathTokens = tokenize(path);
+        int[] bounds = pathTokens.bounds;
+        boolean pathEndsWithSeparator = (path.length() > 0 && path.charAt(path.length() - 1) == this.separator);
+
+        int pattIdxStart = 0;
+        int pattIdxEnd = patt.length - 1;
+        int pathIdxStart = 0;
+        int pathIdxEnd = pathTokens.count - 1;
+
+        // 匹配第一个**之前的片段
+        while (pattIdxStart <= pattIdxEnd && pathIdxStart <= pathIdxEnd) {
+            Segment segment = patt[pattIdxStart];
+            if (segment.type == Segment.DOUBLE_WILDCARD) {
+                break;
+            }
+            if (!segment.matches(path, bounds[pathIdxStart * 2], bounds[pathIdxStart * 2 + 1], uriTemplateVariables)) {
+                return false;
+            }
+            pattIdxStart++;
+            pathIdxStart++;
+        }
+
+        if (pathIdxStart > pathIdxEnd) {
+            // 路径已匹配完，剩余的模式只能是*或**
+            if (pattIdxStart > pattIdxEnd) {
+                return (this.endsWithSeparator == pathEndsWithSeparator);
+            }
+            if (!fullMatch) {
+                return true;
+            }
+            if (pattIdxStart == pattIdxEnd && patt[pattIdxStart].singleWildcard && pathEndsWithSeparator) {
+                return true;
+            }
+            return onlyDoubleWildcards(pattIdxStart, pattIdxEnd);
+        } else if (pattIdxStart > pattIdxEnd) {
+            return false;
+        } else if (!fullMatch && patt[pattIdxStart].type == Segment.DOUBLE_WILDCARD) {
+            return true;
+        }
+
+        // 从后向前匹配到最后一个**
+        while (pattIdxStart <= pattIdxEnd && pathIdxStart <= pathIdxEnd) {
+            Segment segment = patt[pattIdxEnd];
+            if (segment.type == Segment.DOUBLE_WILDCARD) {
+                break;
+            }
+            if (!segment.matches(path, bounds[pathIdxEnd * 2], bounds[pathIdxEnd * 2 + 1], uriTemplateVariables)) {
+                return false;
+            }
+            pattIdxEnd--;
+            pathIdxEnd--;
+        }
+        if (pathIdxStart > pathIdxEnd) {
+            return onlyDoubleWildcards(pattIdxStart, pattIdxEnd);
+        }
+
+        // 两个**之间的片段在剩余路径中查找
+        while (pattIdxStart != pattIdxEnd && pathIdxStart <= pathIdxEnd) {
+            int patIdxTmp = -1;
+            for (int i = pattIdxStart + 1; i <= pattIdxEnd; i++) {
+                if (patt[i].type == Segment.DOUBLE_WILDCARD) {
+                    patIdxTmp = i;
+                    break;
+                }
+            }
+            if (patIdxTmp == pattIdxStart + 1) {
+                // **/**
+                pattIdxStart++;
+                continue;
+            }
+            int patLength = (patIdxTmp - pattIdxStart - 1);
+            int strLength = (pathIdxEnd - pathIdxStart + 1);
+            int foundIdx = -1;
+
+            strLoop:
+            for (int i = 0; i <= strLength - patLength; i++) {
+                for (int j = 0; j < patLength; j++) {
+                    int pathIdx = pathIdxStart + i + j;
+                    if (!patt[pattIdxStart + j + 1].matches(path, bounds[pathIdx * 2], bounds[pathIdx * 2 + 1],
+                            uriTemplateVariables)) {
+                        continue strLoop;
+                    }
+                }
+                foundIdx = pathIdxStart + i;
+                break;
+            }
+
+            if (foundIdx == -1) {
+                return false;
+            }
+            pattIdxStart = patIdxTmp;
+            pathIdxStart = foundIdx + patLength;
+        }
+
+        return onlyDoubleWildcards(pattIdxStart, pattIdxEnd);
+    }
+
+    private boolean onlyDoubleWildcards(int start, int end) {
+        for (int i = start; i <= end; i++) {
+            if (this.segments[i].type != Segment.DOUBLE_WILDCARD) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 按分隔符拆分路径，得到每个片段的起止下标，规则与StringUtils.tokenizeToStringArray()一致
+     * <p>
+     * 返回的对象由当前线程复用，只在本次匹配中有效
+     */
+    private PathTokens tokenize(String path) {
+        PathTokens pathTokens = lastPathTokens.get();
+        if (pathTokens == null) {
+            pathTokens = new PathTokens();
+            lastPathTokens.set(pathTokens);
+        } else if (pathTokens.isTokenized(path, this.separator, this.trimTokens)) {
+            return pathTokens;
+        }
+
+        int length = path.length();
+        int count = 0;
+        int[] bounds = pathTokens.bounds;
+        for (int i = 0; i < length; ) {
+            while (i < length && path.charAt(i) == this.separator) {
+                i++;
+            }
+            int start = i;
+            while (i < length && path.charAt(i) != this.separator) {
+                i++;
+            }
+            int tokenStart = tokenStart(path, start, i);
+            int tokenEnd = tokenEnd(path, start, i);
+            if (tokenStart < tokenEnd) {
+                if (count * 2 == bounds.length) {
+                    bounds = Arrays.copyOf(bounds, bounds.length * 2);
+                }
+                bounds[count * 2] = tokenStart;
+                bounds[count * 2 + 1] = tokenEnd;
+                count++;
+            }
+        }
+        pathTokens.set(path, this.separator, this.trimTokens, bounds, count);
+        return pathTokens;
+    }
+
+    // 与String.trim()一致，去掉不大于空格的字符
+    private int tokenStart(String path, int start, int end) {
+        if (this.trimTokens) {
+            while (start < end && path.charAt(start) <= ' ') {
+                start++;
+            }
+        }
+        return start;
+    }
+
+    private int tokenEnd(String path, int start, int end) {
+        if (this.trimTokens) {
+            while (end > start && path.charAt(end - 1) <= ' ') {
+                end--;
+            }
+        }
+        return end;
+    }
+
+    @Override
+    public String toString() {
+        return this.pattern;
+    }
+
+
+    /**
+     * 拆分后的路径，bounds中依次存放每个片段的起止下标
+     */
+    private static final class PathTokens {
+
+        private String path;
+
+        private char separator;
+
+        private boolean trimTokens;
+
+        private int[] bounds = new int[16];
+
+        private int count;
+
+        boolean isTokenized(String path, char separator, boolean trimTokens) {
+            return (this.separator == separator && this.trimTokens == trimTokens && path.equals(this.path));
+        }
+
+        void set(String path, char separator, boolean trimTokens, int[] bounds, int count) {
+            this.path = path;
+            this.separator = separator;
+            this.trimTokens = trimTokens;
+            this.bounds = bounds;
+            this.count = count;
+        }
+    }
+
+    /**
+     * 模式中两个分隔符之间的片段
+     */
+    private static final class Segment {
+
+        static final int LITERAL = 0;
+
+        static final int DOUBLE_WILDCARD = 1;
+
+        // *或{name}，匹配任意片段
+        static final int ANY = 2;
+
+        // 只含一个*，如*.html
+        static final int PREFIX_SUFFIX = 3;
+
+        static final int REGEX = 4;
+
+        final int type;
+
+        final boolean singleWildcard;
+
+        private final String prefix;
+
+        private final String suffix;
+
+        private final String variableName;
+
+        private final AntPathMatcher.AntPathStringMatcher matcher;
+
+        Segment(String token) {
+            this.singleWildcard = "*".equals(token);
+            String prefix = token;
+            String suffix = null;
+            String variableName = null;
+            AntPathMatcher.AntPathStringMatcher matcher = null;
+
+            int wildcardIdx = token.indexOf('*');
+            boolean hasVariable = (token.indexOf('{') != -1);
+            boolean hasQuestionMark = (token.indexOf('?') != -1);
+            if ("**".equals(token)) {
+                this.type = DOUBLE_WILDCARD;
+            } else if (wildcardIdx == -1 && !hasVariable && !hasQuestionMark) {
+                this.type = LITERAL;
+            } else if (this.singleWildcard) {
+                this.type = ANY;
+            } else if (isSimpleVariable(token)) {
+                this.type = ANY;
+                variableName = token.substring(1, token.length() - 1);
+            } else if (wildcardIdx != -1 && token.indexOf('*', wildcardIdx + 1) == -1 && !hasVariable && !hasQuestionMark) {
+                this.type = PREFIX_SUFFIX;
+                prefix = token.substring(0, wildcardIdx);
+                suffix = token.substring(wildcardIdx + 1);
+            } else {
+                this.type = REGEX;
+                matcher = new AntPathMatcher.AntPathStringMatcher(token);
+            }
+            this.prefix = prefix;
+            this.suffix = suffix;
+            this.variableName = variableName;
+            this.matcher = matcher;
+        }
+
+        // {name}形式，不带正则
+        private static boolean isSimpleVariable(String token) {
+            int length = token.length();
+            if (length < 3 || token.charAt(0) != '{' || token.charAt(length - 1) != '}') {
+                return false;
+            }
+            for (int i = 1; i < length - 1; i++) {
+                char c = token.charAt(i);
+                if (c == '{' || c == '}' || c == ':') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean matches(String path, int start, int end, Map<String, String> uriTemplateVariables) {
+            int length = end - start;
+            switch (this.type) {
+                case LITERAL:
+                    return (length == this.prefix.length() && path.regionMatches(start, this.prefix, 0, length));
+                case ANY:
+                    if (this.variableName != null && uriTemplateVariables != null) {
+                        uriTemplateVariables.put(this.variableName, path.substring(start, end));
+                    }
+                    return true;
+                case PREFIX_SUFFIX:
+                    return (length >= this.prefix.length() + this.suffix.length() &&
+                            path.regionMatches(start, this.prefix, 0, this.prefix.length()) &&
+                            path.regionMatches(end - this.suffix.length(), this.suffix, 0, this.suffix.length()));
+                case REGEX:
+                    return this.matcher.matchStrings(path, start, end, uriTemplateVariables);
+                default:
+                    return false;
+            }
+        }
+    }
+
+}
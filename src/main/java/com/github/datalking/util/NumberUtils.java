@@ -111,6 +111,111 @@ public abstract class NumberUtils {
 		}
 	}
 
+	/**
+	 * 与parseNumber(text, Integer.class)规则相同，直接返回基本类型
+	 */
+	public static int parseInt(String text) {
+		String trimmed = trimAllWhitespaceIfNecessary(text);
+		return (isHexNumber(trimmed) ? Integer.decode(trimmed) : Integer.parseInt(trimmed));
+	}
+
+	public static long parseLong(String text) {
+		String trimmed = trimAllWhitespaceIfNecessary(text);
+		return (isHexNumber(trimmed) ? Long.decode(trimmed) : Long.parseLong(trimmed));
+	}
+
+	public static double parseDouble(String text) {
+		return Double.parseDouble(trimAllWhitespaceIfNecessary(text));
+	}
+
+	/**
+	 * 与convertNumberToTargetClass(number, Integer.class)规则相同，超出范围时抛出异常
+	 */
+	public static int intValue(Number number) {
+		Assert.notNull(number, "Number must not be null");
+		if (number instanceof Integer || number instanceof Short || number instanceof Byte) {
+			return number.intValue();
+		}
+		long value = number.longValue();
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+			raiseOverflowException(number, Integer.class);
+		}
+		return (int) value;
+	}
+
+	/**
+	 * 判断value能否由parseInt/parseLong/parseDouble或intValue直接转换为基本类型primitiveType，且不会抛出异常
+	 * <p>
+	 * 只接受十进制且位数不会溢出的字符串，返回false时应使用常规的转换逻辑
+	 */
+	public static boolean canConvertDirectly(Object value, Class<?> primitiveType) {
+		if (value instanceof String) {
+			return isDecimalNumber((String) value, primitiveType);
+		}
+		if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			return (primitiveType == int.class || primitiveType == long.class || primitiveType == double.class);
+		}
+		if (value instanceof Long) {
+			return (primitiveType == long.class || primitiveType == double.class);
+		}
+		return false;
+	}
+
+	// 忽略首尾空白，int最多9位、long最多18位数字，double允许小数和指数部分
+	private static boolean isDecimalNumber(String text, Class<?> primitiveType) {
+		int start = 0;
+		int end = text.length();
+		while (start < end && Character.isWhitespace(text.charAt(start))) {
+			start++;
+		}
+		while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+			end--;
+		}
+		if (start < end && (text.charAt(start) == '-' || text.charAt(start) == '+')) {
+			start++;
+		}
+		if (primitiveType == int.class) {
+			return (end - start <= 9 && countDigits(text, start, end) == end - start && end > start);
+		}
+		if (primitiveType == long.class) {
+			return (end - start <= 18 && countDigits(text, start, end) == end - start && end > start);
+		}
+		if (primitiveType != double.class) {
+			return false;
+		}
+		int mantissaDigits = countDigits(text, start, end);
+		int index = start + mantissaDigits;
+		if (index < end && text.charAt(index) == '.') {
+			int fractionDigits = countDigits(text, index + 1, end);
+			mantissaDigits += fractionDigits;
+			index += 1 + fractionDigits;
+		}
+		if (mantissaDigits == 0) {
+			return false;
+		}
+		if (index < end && (text.charAt(index) == 'e' || text.charAt(index) == 'E')) {
+			index++;
+			if (index < end && (text.charAt(index) == '-' || text.charAt(index) == '+')) {
+				index++;
+			}
+			int exponentDigits = countDigits(text, index, end);
+			if (exponentDigits == 0) {
+				return false;
+			}
+			index += exponentDigits;
+		}
+		return (index == end);
+	}
+
+	// 从start开始连续的数字个数
+	private static int countDigits(String text, int start, int end) {
+		int index = start;
+		while (index < end && text.charAt(index) >= '0' && text.charAt(index) <= '9') {
+			index++;
+		}
+		return index - start;
+	}
+
 	public static <T extends Number> T parseNumber(String text, Class<T> targetClass, NumberFormat numberFormat) {
 		if (numberFormat != null) {
 			Assert.notNull(text, "Text must not be null");
@@ -142,6 +247,17 @@ public abstract class NumberUtils {
 		}
 	}
 
+	// 不含空白字符时直接返回原字符串
+	private static String trimAllWhitespaceIfNecessary(String text) {
+		Assert.notNull(text, "Text must not be null");
+		for (int i = 0; i < text.length(); i++) {
+			if (Character.isWhitespace(text.charAt(i))) {
+				return StringUtils.trimAllWhitespace(text);
+			}
+		}
+		return text;
+	}
+
 	private static boolean isHexNumber(String value) {
 		int index = (value.startsWith("-") ? 1 : 0);
 		return (value.startsWith("0x", index) || value.startsWith("0X", index) || value.startsWith("#", index));
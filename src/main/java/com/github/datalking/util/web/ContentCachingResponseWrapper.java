@@ -0,0 +1,170 @@
+package com.github.datalking.util.web;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * 将响应内容缓存在内存中的包装类，调用flushBuffer()后不再缓存，直接写出
+ *
+ * @author yaoo on 10/17/26
+ */
+public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final ByteArrayOutputStream content = new ByteArrayOutputStream(1024);
+
+    private ServletOutputStream outputStream;
+
+    private PrintWriter writer;
+
+    private boolean passThrough;
+
+    private Long contentLength;
+
+    public ContentCachingResponseWrapper(HttpServletResponse response) {
+        super(response);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (this.outputStream == null) {
+            this.outputStream = new CachingServletOutputStream(getResponse().getOutputStream());
+        }
+        return this.outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (this.writer == null) {
+            this.writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return this.writer;
+    }
+
+    // 长度在写出缓存内容时设置
+    @Override
+    public void setContentLength(int len) {
+        this.contentLength = (long) len;
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        this.contentLength = len;
+    }
+
+    /**
+     * 处理过程中设置的Content-Length，未设置时为null
+     */
+    public Long getContentLength() {
+        return this.contentLength;
+    }
+
+    /**
+     * 主动flush表示需要立即发送，之后不再缓存
+     */
+    @Override
+    public void flushBuffer() throws IOException {
+        if (this.writer != null) {
+            this.writer.flush();
+        }
+        if (!this.passThrough) {
+            this.passThrough = true;
+            this.content.writeTo(getResponse().getOutputStream());
+            this.content.reset();
+        }
+        super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        this.passThrough = true;
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        this.passThrough = true;
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        this.passThrough = true;
+        super.sendRedirect(location);
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        this.content.reset();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.content.reset();
+        this.contentLength = null;
+    }
+
+    /**
+     * 是否已不再缓存，此时内容已直接写出
+     */
+    public boolean isPassThrough() {
+        return this.passThrough;
+    }
+
+    public byte[] getContentAsByteArray() {
+        if (this.writer != null) {
+            this.writer.flush();
+        }
+        return this.content.toByteArray();
+    }
+
+
+    private class CachingServletOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream target;
+
+        CachingServletOutputStream(ServletOutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (passThrough) {
+                this.target.write(b);
+            } else {
+                content.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (passThrough) {
+                this.target.write(b, off, len);
+            } else {
+                content.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (passThrough) {
+                this.target.flush();
+            }
+        }
+
+        public boolean isReady() {
+            return this.target.isReady();
+        }
+
+        public void setWriteListener(WriteListener writeListener) {
+            this.target.setWriteListener(writeListener);
+        }
+    }
+}
@@ -18,7 +18,10 @@ public class ServletRequestDataBinder extends WebDataBinder {
     }
 
     public void bind(ServletRequest request) {
-        MutablePropertyValues mpvs = new ServletRequestParameterPropertyValues(request);
+        MutablePropertyValues mpvs = getTargetPropertyValues(request.getParameterMap());
+        if (mpvs == null) {
+            mpvs = new ServletRequestParameterPropertyValues(request);
+        }
 //        MultipartRequest multipartRequest = WebUtils.getNativeRequest(request, MultipartRequest.class);
 //        if (multipartRequest != null) {
 //            bindMultipart(multipartRequest.getMultiFileMap(), mpvs);
@@ -1,10 +1,13 @@
 package com.github.datalking.web.bind;
 
+import com.github.datalking.beans.BeanWrapperImpl;
+import com.github.datalking.beans.ConfigurablePropertyAccessor;
 import com.github.datalking.beans.MutablePropertyValues;
 import com.github.datalking.beans.PropertyValue;
 import com.github.datalking.common.BindingResult;
 
 import java.lang.reflect.Array;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -25,6 +28,8 @@ public class WebDataBinder extends DataBinder {
 
     private boolean bindEmptyMultipartFiles = true;
 
+    private boolean bindByTargetProperties = true;
+
     public WebDataBinder(Object target) {
         super(target);
     }
@@ -57,6 +62,59 @@ public class WebDataBinder extends DataBinder {
         return this.bindEmptyMultipartFiles;
     }
 
+    /**
+     * 为true时按目标对象的可写属性从请求参数中取值，不复制与目标对象无关的请求参数
+     */
+    public void setBindByTargetProperties(boolean bindByTargetProperties) {
+        this.bindByTargetProperties = bindByTargetProperties;
+    }
+
+    public boolean isBindByTargetProperties() {
+        return this.bindByTargetProperties;
+    }
+
+    /**
+     * 遍历目标对象的可写属性，只为请求中存在的属性创建PropertyValue，单个值不再包装为数组
+     * <p>
+     * 未开启、属性访问器不能列出可写属性，或请求参数包含嵌套属性、索引属性、字段标记时返回null，由调用方复制全部请求参数
+     */
+    protected MutablePropertyValues getTargetPropertyValues(Map<String, String[]> parameterMap) {
+        if (!isBindByTargetProperties() || parameterMap == null) {
+            return null;
+        }
+        ConfigurablePropertyAccessor accessor = getPropertyAccessor();
+        if (!(accessor instanceof BeanWrapperImpl)) {
+            return null;
+        }
+        for (String name : parameterMap.keySet()) {
+            if (!isSimplePropertyName(name)) {
+                return null;
+            }
+        }
+        String[] propertyNames = ((BeanWrapperImpl) accessor).getWritablePropertyNames();
+        List<PropertyValue> propertyValues = new ArrayList<>(Math.min(propertyNames.length, parameterMap.size()));
+        for (String propertyName : propertyNames) {
+            String[] values = parameterMap.get(propertyName);
+            if (values != null && values.length > 0) {
+                propertyValues.add(new PropertyValue(propertyName, (values.length == 1 ? values[0] : values)));
+            }
+        }
+        return new MutablePropertyValues(propertyValues);
+    }
+
+    /**
+     * 只有顶层属性名才能按目标对象的可写属性查找，a.b、list[0]、_field、!field需要交给属性访问器处理
+     */
+    private boolean isSimplePropertyName(String name) {
+        if (name.indexOf('.') != -1 || name.indexOf('[') != -1) {
+            return false;
+        }
+        if (this.fieldMarkerPrefix != null && name.startsWith(this.fieldMarkerPrefix)) {
+            return false;
+        }
+        return (this.fieldDefaultPrefix == null || !name.startsWith(this.fieldDefaultPrefix));
+    }
+
     @Override
     protected void doBind(MutablePropertyValues mpvs) {
 //        checkFieldDefaults(mpvs);
@@ -18,7 +18,10 @@ public class WebRequestDataBinder extends WebDataBinder {
 
     public void bind(WebRequest request) {
 
-        MutablePropertyValues mpvs = new MutablePropertyValues(request.getParameterMap());
+        MutablePropertyValues mpvs = getTargetPropertyValues(request.getParameterMap());
+        if (mpvs == null) {
+            mpvs = new MutablePropertyValues(request.getParameterMap());
+        }
 
 //        if (request instanceof WebRequest) {
 //            MultipartRequest multipartRequest = ((WebRequest) request).getNativeRequest(MultipartRequest.class);
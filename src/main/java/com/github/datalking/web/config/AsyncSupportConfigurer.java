@@ -0,0 +1,40 @@
+package com.github.datalking.web.config;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 异步请求处理的配置，包括执行Callable的线程池和超时时间
+ *
+ * @author yaoo on 10/17/26
+ */
+public class AsyncSupportConfigurer {
+
+    private Executor taskExecutor;
+
+    private Long timeout;
+
+    /**
+     * 执行控制器方法返回的Callable的线程池，建议在生产环境中配置
+     */
+    public AsyncSupportConfigurer setTaskExecutor(Executor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+        return this;
+    }
+
+    /**
+     * 异步请求的超时时间，单位毫秒
+     */
+    public AsyncSupportConfigurer setDefaultTimeout(long timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    protected Executor getTaskExecutor() {
+        return this.taskExecutor;
+    }
+
+    protected Long getTimeout() {
+        return this.timeout;
+    }
+
+}
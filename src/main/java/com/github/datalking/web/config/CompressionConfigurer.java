@@ -0,0 +1,72 @@
+package com.github.datalking.web.config;
+
+import com.github.datalking.web.http.MediaType;
+import com.github.datalking.web.http.ResponseCompression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 响应压缩的配置，默认不压缩
+ *
+ * @author yaoo on 10/17/26
+ */
+public class CompressionConfigurer {
+
+    private boolean enabled = false;
+
+    private Integer level;
+
+    private Integer minResponseSize;
+
+    private final List<MediaType> excludedMediaTypes = new ArrayList<>();
+
+    /**
+     * 是否根据Accept-Encoding压缩@ResponseBody和HttpEntity的响应体
+     */
+    public CompressionConfigurer setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    /**
+     * 压缩级别，取值0-9
+     */
+    public CompressionConfigurer setLevel(int level) {
+        this.level = level;
+        return this;
+    }
+
+    /**
+     * 响应体达到该字节数才压缩
+     */
+    public CompressionConfigurer setMinResponseSize(int minResponseSize) {
+        this.minResponseSize = minResponseSize;
+        return this;
+    }
+
+    /**
+     * 在默认排除的媒体类型之外，额外不压缩的媒体类型
+     */
+    public CompressionConfigurer addExcludedMediaTypes(MediaType... mediaTypes) {
+        this.excludedMediaTypes.addAll(Arrays.asList(mediaTypes));
+        return this;
+    }
+
+    protected ResponseCompression getResponseCompression() {
+        if (!this.enabled) {
+            return null;
+        }
+        ResponseCompression compression = new ResponseCompression();
+        if (this.level != null) {
+            compression.setLevel(this.level);
+        }
+        if (this.minResponseSize != null) {
+            compression.setMinResponseSize(this.minResponseSize);
+        }
+        compression.getExcludedMediaTypes().addAll(this.excludedMediaTypes);
+        return compression;
+    }
+
+}
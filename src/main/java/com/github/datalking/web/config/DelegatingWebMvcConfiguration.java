@@ -54,6 +54,16 @@ public class DelegatingWebMvcConfiguration extends WebMvcConfigurationSupport {
         this.configurers.addViewControllers(registry);
     }
 
+    @Override
+    protected void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        this.configurers.configureAsyncSupport(configurer);
+    }
+
+    @Override
+    protected void configureCompression(CompressionConfigurer configurer) {
+        this.configurers.configureCompression(configurer);
+    }
+
     @Override
     protected void addArgumentResolvers(List<HandlerMethodArgumentResolver> argumentResolvers) {
         this.configurers.addArgumentResolvers(argumentResolvers);
@@ -70,11 +80,6 @@ public class DelegatingWebMvcConfiguration extends WebMvcConfigurationSupport {
 //    }
 //
 //    @Override
-//    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
-//        this.configurers.configureAsyncSupport(configurer);
-//    }
-//
-//    @Override
 //    protected void addFormatters(FormatterRegistry registry) {
 //        this.configurers.addFormatters(registry);
 //    }
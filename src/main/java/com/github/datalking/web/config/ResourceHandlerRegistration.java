@@ -4,6 +4,7 @@ import com.github.datalking.io.Resource;
 import com.github.datalking.io.ResourceLoader;
 import com.github.datalking.util.Assert;
 import com.github.datalking.util.CollectionUtils;
+import com.github.datalking.web.support.ResourceCache;
 import com.github.datalking.web.support.ResourceHttpRequestHandler;
 
 import java.util.ArrayList;
@@ -22,6 +23,8 @@ public class ResourceHandlerRegistration {
 
     private Integer cachePeriod;
 
+    private ResourceCache resourceCache;
+
     public ResourceHandlerRegistration(ResourceLoader resourceLoader, String... pathPatterns) {
         Assert.notNull(pathPatterns, "At least one path pattern is required for resource handling.");
         this.resourceLoader = resourceLoader;
@@ -40,6 +43,17 @@ public class ResourceHandlerRegistration {
         return this;
     }
 
+    /**
+     * 在内存中缓存较小的静态资源及其gzip压缩内容
+     */
+    public ResourceHandlerRegistration resourceCache(ResourceCache resourceCache) {
+        this.resourceCache = resourceCache;
+        return this;
+    }
+
+    public ResourceHandlerRegistration resourceCache() {
+        return resourceCache(new ResourceCache());
+    }
 
     protected String[] getPathPatterns() {
         return pathPatterns;
@@ -52,6 +66,7 @@ public class ResourceHandlerRegistration {
         if (cachePeriod != null) {
             requestHandler.setCacheSeconds(cachePeriod);
         }
+        requestHandler.setResourceCache(resourceCache);
         return requestHandler;
     }
 
@@ -14,7 +14,9 @@ import com.github.datalking.web.bind.ConfigurableWebBindingInitializer;
 import com.github.datalking.web.http.MediaType;
 import com.github.datalking.web.http.accept.ContentNegotiationManager;
 import com.github.datalking.web.http.converter.HttpMessageConverter;
+import com.github.datalking.web.http.converter.MappingJackson2CborHttpMessageConverter;
 import com.github.datalking.web.http.converter.MappingJackson2HttpMessageConverter;
+import com.github.datalking.web.http.converter.MappingJackson2SmileHttpMessageConverter;
 import com.github.datalking.web.http.converter.StringHttpMessageConverter;
 import com.github.datalking.web.mvc.HttpRequestHandlerAdapter;
 import com.github.datalking.web.mvc.SimpleControllerHandlerAdapter;
@@ -26,10 +28,12 @@ import com.github.datalking.web.servlet.HandlerExceptionResolver;
 import com.github.datalking.web.servlet.HandlerMapping;
 import com.github.datalking.web.servlet.handler.AbstractHandlerMapping;
 import com.github.datalking.web.servlet.handler.HandlerExceptionResolverComposite;
+import com.github.datalking.web.servlet.handler.ResponseCacheInterceptor;
 import com.github.datalking.web.support.DefaultHandlerExceptionResolver;
 import com.github.datalking.web.support.HandlerMethodArgumentResolver;
 import com.github.datalking.web.support.HandlerMethodReturnValueHandler;
 import com.github.datalking.web.support.PathMatchConfigurer;
+import com.github.datalking.web.support.ResponseCache;
 import com.github.datalking.web.context.ServletContextAware;
 
 import javax.servlet.ServletContext;
@@ -53,6 +57,12 @@ public class WebMvcConfigurationSupport implements ApplicationContextAware, Serv
     private static final boolean jackson2Present = ClassUtils.isPresent("com.fasterxml.jackson.databind.ObjectMapper", thisClassLoader)
             && ClassUtils.isPresent("com.fasterxml.jackson.core.JsonGenerator", thisClassLoader);
 
+    private static final boolean jackson2SmilePresent =
+            ClassUtils.isPresent(MappingJackson2SmileHttpMessageConverter.FACTORY_CLASS_NAME, thisClassLoader);
+
+    private static final boolean jackson2CborPresent =
+            ClassUtils.isPresent(MappingJackson2CborHttpMessageConverter.FACTORY_CLASS_NAME, thisClassLoader);
+
     private ApplicationContext applicationContext;
 
     private ServletContext servletContext;
@@ -63,6 +73,8 @@ public class WebMvcConfigurationSupport implements ApplicationContextAware, Serv
 
     private ContentNegotiationManager contentNegotiationManager;
 
+    private ResponseCache responseCache;
+
     private List<HttpMessageConverter<?>> messageConverters;
 
     public void setApplicationContext(ApplicationContext applicationContext) {
@@ -106,6 +118,7 @@ public class WebMvcConfigurationSupport implements ApplicationContextAware, Serv
         if (this.interceptors == null) {
             InterceptorRegistry registry = new InterceptorRegistry();
             addInterceptors(registry);
+            registry.addInterceptor(new ResponseCacheInterceptor(mvcResponseCache()));
 //            registry.addInterceptor(new ConversionServiceExposingInterceptor(mvcConversionService()));
             this.interceptors = registry.getInterceptors();
         }
@@ -115,6 +128,17 @@ public class WebMvcConfigurationSupport implements ApplicationContextAware, Serv
     protected void addInterceptors(InterceptorRegistry registry) {
     }
 
+    /**
+     * @CachedResponse方法的响应缓存，可通过getHitCount()/getMissCount()查看命中情况
+     */
+    @Bean
+    public ResponseCache mvcResponseCache() {
+        if (this.responseCache == null) {
+            this.responseCache = new ResponseCache();
+        }
+        return this.responseCache;
+    }
+
     protected PathMatchConfigurer getPathMatchConfigurer() {
         if (this.pathMatchConfigurer == null) {
             this.pathMatchConfigurer = new PathMatchConfigurer();
@@ -242,14 +266,19 @@ public class WebMvcConfigurationSupport implements ApplicationContextAware, Serv
 //        adapter.setCustomArgumentResolvers(argumentResolvers);
 //        adapter.setCustomReturnValueHandlers(returnValueHandlers);
 
-//        AsyncSupportConfigurer configurer = new AsyncSupportConfigurer();
-//        configureAsyncSupport(configurer);
-//        if (configurer.getTaskExecutor() != null) {
-//            adapter.setTaskExecutor(configurer.getTaskExecutor());
-//        }
-//        if (configurer.getTimeout() != null) {
-//            adapter.setAsyncRequestTimeout(configurer.getTimeout());
-//        }
+        AsyncSupportConfigurer configurer = new AsyncSupportConfigurer();
+        configureAsyncSupport(configurer);
+        if (configurer.getTaskExecutor() != null) {
+            adapter.setTaskExecutor(configurer.getTaskExecutor());
+        }
+        if (configurer.getTimeout() != null) {
+            adapter.setAsyncRequestTimeout(configurer.getTimeout());
+        }
+
+        CompressionConfigurer compressionConfigurer = new CompressionConfigurer();
+        configureCompression(compressionConfigurer);
+        adapter.setResponseCompression(compressionConfigurer.getResponseCompression());
+        adapter.setResponseCache(mvcResponseCache());
 //        adapter.setCallableInterceptors(configurer.getCallableInterceptors());
 //        adapter.setDeferredResultInterceptors(configurer.getDeferredResultInterceptors());
 
@@ -275,8 +304,11 @@ public class WebMvcConfigurationSupport implements ApplicationContextAware, Serv
         return null;
     }
 
-//    protected void configureAsyncSupport(AsyncSupportConfigurer configurer) {
-//    }
+    protected void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+    }
+
+    protected void configureCompression(CompressionConfigurer configurer) {
+    }
 
 
 //    protected void addFormatters(FormatterRegistry registry) {
@@ -343,6 +375,12 @@ public class WebMvcConfigurationSupport implements ApplicationContextAware, Serv
 //        }
         if (jackson2Present) {
             messageConverters.add(new MappingJackson2HttpMessageConverter());
+            if (jackson2SmilePresent) {
+                messageConverters.add(new MappingJackson2SmileHttpMessageConverter());
+            }
+            if (jackson2CborPresent) {
+                messageConverters.add(new MappingJackson2CborHttpMessageConverter());
+            }
         }
     }
 
@@ -15,9 +15,18 @@ public interface WebMvcConfigurer {
 //    void addFormatters(FormatterRegistry registry);
 //    void configureMessageConverters(List<HttpMessageConverter<?>> converters);
 //    void configureContentNegotiation(ContentNegotiationConfigurer configurer);
-//    void configureAsyncSupport(AsyncSupportConfigurer configurer);
 //    void configurePathMatch(PathMatchConfigurer configurer);
 
+    /**
+     * 配置异步请求处理的线程池和超时时间
+     */
+    void configureAsyncSupport(AsyncSupportConfigurer configurer);
+
+    /**
+     * 配置响应压缩的级别、最小长度和不压缩的媒体类型
+     */
+    void configureCompression(CompressionConfigurer configurer);
+
     void addArgumentResolvers(List<HandlerMethodArgumentResolver> argumentResolvers);
 
     void addReturnValueHandlers(List<HandlerMethodReturnValueHandler> returnValueHandlers);
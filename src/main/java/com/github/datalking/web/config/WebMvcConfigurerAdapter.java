@@ -19,10 +19,12 @@ public abstract class WebMvcConfigurerAdapter implements WebMvcConfigurer {
 //    }
 //    public void configureContentNegotiation(ContentNegotiationConfigurer configurer) {
 //    }
-//    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
-//    }
 //    public void configurePathMatch(PathMatchConfigurer configurer) {
 //    }
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+    }
+    public void configureCompression(CompressionConfigurer configurer) {
+    }
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> argumentResolvers) {
     }
     public void addReturnValueHandlers(List<HandlerMethodReturnValueHandler> returnValueHandlers) {
@@ -33,12 +33,6 @@ public class WebMvcConfigurerComposite implements WebMvcConfigurer {
 //        }
 //    }
 //
-//    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
-//        for (WebMvcConfigurer delegate : this.delegates) {
-//            delegate.configureAsyncSupport(configurer);
-//        }
-//    }
-//
 //    public void configurePathMatch(PathMatchConfigurer configurer) {
 //        for (WebMvcConfigurer delegate : this.delegates) {
 //            delegate.configurePathMatch(configurer);
@@ -51,6 +45,18 @@ public class WebMvcConfigurerComposite implements WebMvcConfigurer {
 //        }
 //    }
 //
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        for (WebMvcConfigurer delegate : this.delegates) {
+            delegate.configureAsyncSupport(configurer);
+        }
+    }
+
+    public void configureCompression(CompressionConfigurer configurer) {
+        for (WebMvcConfigurer delegate : this.delegates) {
+            delegate.configureCompression(configurer);
+        }
+    }
+
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> argumentResolvers) {
         for (WebMvcConfigurer delegate : this.delegates) {
             delegate.addArgumentResolvers(argumentResolvers);
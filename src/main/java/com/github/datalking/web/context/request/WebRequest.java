@@ -47,6 +47,8 @@ public interface WebRequest extends RequestAttributes {
 
     boolean checkNotModified(String etag);
 
+    boolean checkNotModified(String etag, long lastModifiedTimestamp);
+
     String getDescription(boolean includeClientInfo);
 
 }
@@ -0,0 +1,37 @@
+package com.github.datalking.web.context.request.async;
+
+import com.github.datalking.web.context.request.WebRequest;
+
+/**
+ * 支持异步处理的WebRequest
+ *
+ * @author yaoo on 10/17/26
+ */
+public interface AsyncWebRequest extends WebRequest {
+
+    /**
+     * 异步处理的超时时间，单位毫秒，为null时使用容器默认值
+     */
+    void setTimeout(Long timeout);
+
+    void addTimeoutHandler(Runnable runnable);
+
+    void addCompletionHandler(Runnable runnable);
+
+    void startAsync();
+
+    boolean isAsyncStarted();
+
+    /**
+     * 将请求重新分派回容器，以便在容器线程中处理异步结果
+     */
+    void dispatch();
+
+    /**
+     * 直接结束异步处理，不再重新分派
+     */
+    void complete();
+
+    boolean isAsyncComplete();
+
+}
@@ -0,0 +1,148 @@
+package com.github.datalking.web.context.request.async;
+
+/**
+ * 由其他线程在稍后设置的处理结果
+ * <p>
+ * 控制器方法返回DeferredResult后，请求进入异步模式，调用setResult()或setErrorResult()时重新分派请求处理结果
+ *
+ * @author yaoo on 10/17/26
+ */
+public class DeferredResult<T> {
+
+    private static final Object RESULT_NONE = new Object();
+
+    private final Long timeout;
+
+    private final Object timeoutResult;
+
+    private Runnable timeoutCallback;
+
+    private Runnable completionCallback;
+
+    private DeferredResultHandler resultHandler;
+
+    private Object result = RESULT_NONE;
+
+    private boolean expired;
+
+    public DeferredResult() {
+        this(null, RESULT_NONE);
+    }
+
+    /**
+     * @param timeout 超时时间，单位毫秒，会覆盖RequestMappingHandlerAdapter的asyncRequestTimeout
+     */
+    public DeferredResult(Long timeout) {
+        this(timeout, RESULT_NONE);
+    }
+
+    /**
+     * @param timeout       超时时间，单位毫秒
+     * @param timeoutResult 超时时使用的结果
+     */
+    public DeferredResult(Long timeout, Object timeoutResult) {
+        this.timeout = timeout;
+        this.timeoutResult = timeoutResult;
+    }
+
+    /**
+     * 结果已经设置过，或者异步处理已经超时或结束
+     */
+    public final synchronized boolean isSetOrExpired() {
+        return (this.result != RESULT_NONE || this.expired);
+    }
+
+    final Long getTimeoutValue() {
+        return this.timeout;
+    }
+
+    public void onTimeout(Runnable callback) {
+        this.timeoutCallback = callback;
+    }
+
+    public void onCompletion(Runnable callback) {
+        this.completionCallback = callback;
+    }
+
+    /**
+     * 设置结果处理器，若结果已经提前设置，则立即处理
+     */
+    public final void setResultHandler(DeferredResultHandler resultHandler) {
+        Object resultToHandle;
+        synchronized (this) {
+            this.resultHandler = resultHandler;
+            if (this.result == RESULT_NONE || this.expired) {
+                return;
+            }
+            resultToHandle = this.result;
+        }
+        resultHandler.handleResult(resultToHandle);
+    }
+
+    /**
+     * @return 结果是否设置成功，已设置过或已超时则返回false
+     */
+    public boolean setResult(T result) {
+        return setResultInternal(result);
+    }
+
+    /**
+     * 设置异常或其他错误结果，若为Exception则按控制器方法抛出异常处理
+     */
+    public boolean setErrorResult(Object result) {
+        return setResultInternal(result);
+    }
+
+    private boolean setResultInternal(Object result) {
+        DeferredResultHandler handler;
+        synchronized (this) {
+            if (isSetOrExpired()) {
+                return false;
+            }
+            this.result = result;
+            handler = this.resultHandler;
+            if (handler == null) {
+                return true;
+            }
+        }
+        handler.handleResult(result);
+        return true;
+    }
+
+    /**
+     * 超时处理，先执行超时回调，再尝试设置超时结果
+     *
+     * @return 是否已有结果
+     */
+    final boolean handleTimeout() {
+        if (this.timeoutCallback != null) {
+            this.timeoutCallback.run();
+        }
+        if (this.timeoutResult != RESULT_NONE) {
+            setResultInternal(this.timeoutResult);
+        }
+        synchronized (this) {
+            this.expired = true;
+            return (this.result != RESULT_NONE);
+        }
+    }
+
+    final void handleCompletion() {
+        synchronized (this) {
+            this.expired = true;
+        }
+        if (this.completionCallback != null) {
+            this.completionCallback.run();
+        }
+    }
+
+
+    /**
+     * 处理DeferredResult的结果
+     */
+    public interface DeferredResultHandler {
+
+        void handleResult(Object result);
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.github.datalking.web.context.request.async;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 每个任务新建一个线程执行，作为异步请求处理的默认Executor
+ * <p>
+ * 同时运行的线程数受concurrencyLimit限制，超出时抛出RejectedExecutionException，
+ * 避免慢请求堆积时无限制地创建线程；生产环境建议通过RequestMappingHandlerAdapter.setTaskExecutor()配置线程池
+ *
+ * @author yaoo on 10/17/26
+ */
+public class SimpleAsyncTaskExecutor implements Executor {
+
+    public static final int DEFAULT_CONCURRENCY_LIMIT = 64;
+
+    private final String threadNamePrefix;
+
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    private final AtomicInteger activeCount = new AtomicInteger();
+
+    private volatile int concurrencyLimit = DEFAULT_CONCURRENCY_LIMIT;
+
+    public SimpleAsyncTaskExecutor(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+    }
+
+    /**
+     * 同时运行的最大线程数，小于等于0时不限制
+     */
+    public void setConcurrencyLimit(int concurrencyLimit) {
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
+    public int getConcurrencyLimit() {
+        return this.concurrencyLimit;
+    }
+
+    public int getActiveCount() {
+        return this.activeCount.get();
+    }
+
+    public void execute(final Runnable task) {
+        int limit = this.concurrencyLimit;
+        if (this.activeCount.incrementAndGet() > limit && limit > 0) {
+            this.activeCount.decrementAndGet();
+            throw new RejectedExecutionException("Concurrency limit of " + limit + " reached for " +
+                    this.threadNamePrefix + " threads");
+        }
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    task.run();
+                } finally {
+                    activeCount.decrementAndGet();
+                }
+            }
+        }, this.threadNamePrefix + "-" + this.threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        try {
+            thread.start();
+        } catch (Throwable ex) {
+            this.activeCount.decrementAndGet();
+            throw new RejectedExecutionException("Failed to start thread for async task", ex);
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.github.datalking.web.context.request.async;
+
+import com.github.datalking.util.Assert;
+import com.github.datalking.web.servlet.ServletWebRequest;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 基于Servlet 3.0 AsyncContext的AsyncWebRequest实现
+ *
+ * @author yaoo on 10/17/26
+ */
+public class StandardServletAsyncWebRequest extends ServletWebRequest implements AsyncWebRequest, AsyncListener {
+
+    private Long timeout;
+
+    private volatile AsyncContext asyncContext;
+
+    private final AtomicBoolean asyncCompleted = new AtomicBoolean(false);
+
+    private final List<Runnable> timeoutHandlers = new ArrayList<>();
+
+    private final List<Runnable> completionHandlers = new ArrayList<>();
+
+    public StandardServletAsyncWebRequest(HttpServletRequest request, HttpServletResponse response) {
+        super(request, response);
+    }
+
+    public void setTimeout(Long timeout) {
+        Assert.state(!isAsyncStarted(), "Cannot change the timeout with concurrent handling in progress");
+        this.timeout = timeout;
+    }
+
+    public void addTimeoutHandler(Runnable timeoutHandler) {
+        this.timeoutHandlers.add(timeoutHandler);
+    }
+
+    public void addCompletionHandler(Runnable runnable) {
+        this.completionHandlers.add(runnable);
+    }
+
+    public boolean isAsyncStarted() {
+        return (this.asyncContext != null && getRequest().isAsyncStarted());
+    }
+
+    public boolean isAsyncComplete() {
+        return this.asyncCompleted.get();
+    }
+
+    public void startAsync() {
+        Assert.state(getRequest().isAsyncSupported(),
+                "Async support must be enabled on a servlet and for all filters involved " +
+                        "in async request processing. This is done in Java code using the Servlet API " +
+                        "or by adding \"<async-supported>true</async-supported>\" to servlet and " +
+                        "filter declarations in web.xml.");
+        Assert.state(!isAsyncComplete(), "Async processing has already completed");
+
+        if (isAsyncStarted()) {
+            return;
+        }
+        this.asyncContext = getRequest().startAsync(getRequest(), getResponse());
+        this.asyncContext.addListener(this);
+        if (this.timeout != null) {
+            this.asyncContext.setTimeout(this.timeout);
+        }
+    }
+
+    public void dispatch() {
+        Assert.notNull(this.asyncContext, "Cannot dispatch without an AsyncContext");
+        this.asyncContext.dispatch();
+    }
+
+    public void complete() {
+        Assert.notNull(this.asyncContext, "Cannot complete without an AsyncContext");
+        this.asyncContext.complete();
+    }
+
+    // ---------------------------------------------------------------------
+    // AsyncListener 接口实现
+    // ---------------------------------------------------------------------
+
+    public void onStartAsync(AsyncEvent event) throws IOException {
+    }
+
+    public void onError(AsyncEvent event) throws IOException {
+    }
+
+    public void onTimeout(AsyncEvent event) throws IOException {
+        for (Runnable handler : this.timeoutHandlers) {
+            handler.run();
+        }
+    }
+
+    public void onComplete(AsyncEvent event) throws IOException {
+        for (Runnable handler : this.completionHandlers) {
+            handler.run();
+        }
+        this.asyncContext = null;
+        this.asyncCompleted.set(true);
+    }
+
+}
@@ -0,0 +1,228 @@
+package com.github.datalking.web.context.request.async;
+
+import com.github.datalking.util.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 管理异步请求处理的核心类
+ * <p>
+ * 异步处理开始后，当前容器线程直接返回，结果就绪时保存结果并重新分派请求，
+ * 重新分派的请求通过hasConcurrentResult()得知已有结果，继续进行返回值处理和视图渲染。
+ * 通过WebAsyncUtils.getAsyncManager()获取，每个请求一个实例。
+ *
+ * @author yaoo on 10/17/26
+ */
+public final class WebAsyncManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebAsyncManager.class);
+
+    private static final Object RESULT_NONE = new Object();
+
+    /**
+     * 超时后已直接返回响应，之后到达的结果不再分派
+     */
+    private static final Object RESULT_TIMEOUT = new Object();
+
+    private static volatile boolean taskExecutorWarning = true;
+
+    private AsyncWebRequest asyncWebRequest;
+
+    private Executor taskExecutor = new SimpleAsyncTaskExecutor(getClass().getSimpleName());
+
+    private Object concurrentResult = RESULT_NONE;
+
+    private Object[] concurrentResultContext;
+
+    WebAsyncManager() {
+    }
+
+    public void setAsyncWebRequest(final AsyncWebRequest asyncWebRequest) {
+        Assert.notNull(asyncWebRequest, "AsyncWebRequest must not be null");
+        Assert.state(!isConcurrentHandlingStarted(), "Can't set AsyncWebRequest with concurrent handling in progress");
+        this.asyncWebRequest = asyncWebRequest;
+        this.asyncWebRequest.addCompletionHandler(new Runnable() {
+            public void run() {
+                HttpServletRequest request = asyncWebRequest.getNativeRequest(HttpServletRequest.class);
+                if (request != null) {
+                    request.removeAttribute(WebAsyncUtils.WEB_ASYNC_MANAGER_ATTRIBUTE);
+                }
+            }
+        });
+    }
+
+    public void setTaskExecutor(Executor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * 异步处理已开始，当前线程应直接返回，不再处理响应
+     */
+    public boolean isConcurrentHandlingStarted() {
+        return (this.asyncWebRequest != null && this.asyncWebRequest.isAsyncStarted());
+    }
+
+    public synchronized boolean hasConcurrentResult() {
+        return (this.concurrentResult != RESULT_NONE && this.concurrentResult != RESULT_TIMEOUT);
+    }
+
+    public synchronized Object getConcurrentResult() {
+        return this.concurrentResult;
+    }
+
+    /**
+     * 开始异步处理时保存的上下文，如ModelAndViewContainer
+     */
+    public synchronized Object[] getConcurrentResultContext() {
+        return this.concurrentResultContext;
+    }
+
+    public synchronized void clearConcurrentResult() {
+        this.concurrentResult = RESULT_NONE;
+        this.concurrentResultContext = null;
+    }
+
+    /**
+     * 在taskExecutor中执行callable，执行结果或抛出的异常作为异步处理结果
+     */
+    public void startCallableProcessing(final Callable<?> callable, Object... processingContext) {
+        Assert.notNull(callable, "Callable must not be null");
+        Assert.state(this.asyncWebRequest != null, "AsyncWebRequest must not be null");
+
+        this.asyncWebRequest.addTimeoutHandler(new Runnable() {
+            public void run() {
+                logger.debug("Processing timeout");
+                handleTimeout();
+            }
+        });
+
+        startAsyncProcessing(processingContext);
+        logExecutorWarning();
+
+        try {
+            this.taskExecutor.execute(new Runnable() {
+                public void run() {
+                    Object result;
+                    try {
+                        result = callable.call();
+                    } catch (Throwable ex) {
+                        result = ex;
+                    }
+                    setConcurrentResultAndDispatch(result);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            setConcurrentResultAndDispatch(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * 等待其他线程设置DeferredResult的结果
+     */
+    public void startDeferredResultProcessing(final DeferredResult<?> deferredResult, Object... processingContext) {
+        Assert.notNull(deferredResult, "DeferredResult must not be null");
+        Assert.state(this.asyncWebRequest != null, "AsyncWebRequest must not be null");
+
+        Long timeout = deferredResult.getTimeoutValue();
+        if (timeout != null) {
+            this.asyncWebRequest.setTimeout(timeout);
+        }
+
+        this.asyncWebRequest.addTimeoutHandler(new Runnable() {
+            public void run() {
+                if (!deferredResult.handleTimeout()) {
+                    handleTimeout();
+                }
+            }
+        });
+
+        this.asyncWebRequest.addCompletionHandler(new Runnable() {
+            public void run() {
+                deferredResult.handleCompletion();
+            }
+        });
+
+        startAsyncProcessing(processingContext);
+
+        deferredResult.setResultHandler(new DeferredResult.DeferredResultHandler() {
+            public void handleResult(Object result) {
+                setConcurrentResultAndDispatch(result);
+            }
+        });
+    }
+
+    /**
+     * 仍在使用默认的SimpleAsyncTaskExecutor时提示一次，该Executor为每个任务新建线程，不适合高负载场景
+     */
+    private void logExecutorWarning() {
+        if (taskExecutorWarning && this.taskExecutor instanceof SimpleAsyncTaskExecutor) {
+            taskExecutorWarning = false;
+            logger.warn("!!! An Executor is required to handle java.util.concurrent.Callable return values. " +
+                    "Please configure one via RequestMappingHandlerAdapter.setTaskExecutor() or " +
+                    "WebMvcConfigurer.configureAsyncSupport(). The SimpleAsyncTaskExecutor currently in use " +
+                    "starts a new thread per request and rejects tasks beyond " +
+                    ((SimpleAsyncTaskExecutor) this.taskExecutor).getConcurrencyLimit() +
+                    " concurrent threads; it is not suitable under load.");
+        }
+    }
+
+    private void startAsyncProcessing(Object[] processingContext) {
+        clearConcurrentResult();
+        this.concurrentResultContext = processingContext;
+        this.asyncWebRequest.startAsync();
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Concurrent handling starting for " + this.asyncWebRequest.getDescription(false));
+        }
+    }
+
+    private void setConcurrentResultAndDispatch(Object result) {
+        synchronized (this) {
+            if (this.concurrentResult != RESULT_NONE) {
+                return;
+            }
+            this.concurrentResult = result;
+        }
+
+        if (this.asyncWebRequest.isAsyncComplete()) {
+            logger.error("Could not complete async processing due to timeout or network error");
+            return;
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Concurrent result value [" + result + "] - dispatching request to resume processing");
+        }
+        this.asyncWebRequest.dispatch();
+    }
+
+    /**
+     * 超时且没有结果时返回503，并结束异步处理
+     */
+    private void handleTimeout() {
+        synchronized (this) {
+            if (this.concurrentResult != RESULT_NONE) {
+                return;
+            }
+            this.concurrentResult = RESULT_TIMEOUT;
+        }
+
+        HttpServletResponse response = this.asyncWebRequest.getNativeResponse(HttpServletResponse.class);
+        try {
+            if (response != null && !response.isCommitted()) {
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            }
+        } catch (IOException ex) {
+            logger.debug("Failed to send timeout response", ex);
+        }
+        this.asyncWebRequest.complete();
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.github.datalking.web.context.request.async;
+
+import com.github.datalking.web.context.request.WebRequest;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * 异步请求处理工具类
+ *
+ * @author yaoo on 10/17/26
+ */
+public abstract class WebAsyncUtils {
+
+    public static final String WEB_ASYNC_MANAGER_ATTRIBUTE = WebAsyncManager.class.getName() + ".WEB_ASYNC_MANAGER";
+
+    /**
+     * 获取当前请求的WebAsyncManager，不存在则创建并保存到请求属性中，重新分派的请求会拿到同一个对象
+     */
+    public static WebAsyncManager getAsyncManager(ServletRequest servletRequest) {
+        WebAsyncManager asyncManager = (WebAsyncManager) servletRequest.getAttribute(WEB_ASYNC_MANAGER_ATTRIBUTE);
+        if (asyncManager == null) {
+            asyncManager = new WebAsyncManager();
+            servletRequest.setAttribute(WEB_ASYNC_MANAGER_ATTRIBUTE, asyncManager);
+        }
+        return asyncManager;
+    }
+
+    public static WebAsyncManager getAsyncManager(WebRequest webRequest) {
+        return getAsyncManager(webRequest.getNativeRequest(HttpServletRequest.class));
+    }
+
+    /**
+     * 只查询不创建，用于不需要异步处理的普通请求
+     */
+    public static boolean isConcurrentHandlingStarted(ServletRequest servletRequest) {
+        WebAsyncManager asyncManager = (WebAsyncManager) servletRequest.getAttribute(WEB_ASYNC_MANAGER_ATTRIBUTE);
+        return (asyncManager != null && asyncManager.isConcurrentHandlingStarted());
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.github.datalking.web.filter;
+
+import com.github.datalking.util.web.ContentCachingResponseWrapper;
+import com.github.datalking.web.servlet.ServletWebRequest;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 根据响应内容生成ETag，与请求头If-None-Match匹配时返回304且不发送响应体
+ * <p>
+ * 响应内容会先缓存在内存中，只节省带宽，不节省服务端的处理；
+ * 调用了flushBuffer()的流式响应(如SSE)不再缓存，直接写出
+ *
+ * @author yaoo on 10/17/26
+ */
+public class ShallowEtagHeaderFilter implements Filter {
+
+    private static final String HEADER_ETAG = "ETag";
+
+    private static final String HEADER_CACHE_CONTROL = "Cache-Control";
+
+    private static final String DIRECTIVE_NO_STORE = "no-store";
+
+    private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
+    public void init(FilterConfig filterConfig) {
+    }
+
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        if (!(request instanceof HttpServletRequest) || !(response instanceof HttpServletResponse)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+
+        // 异步请求重新分派时，response已经是开始异步处理时的包装对象
+        ContentCachingResponseWrapper responseWrapper = (response instanceof ContentCachingResponseWrapper ?
+                (ContentCachingResponseWrapper) response :
+                new ContentCachingResponseWrapper((HttpServletResponse) response));
+        try {
+            chain.doFilter(request, responseWrapper);
+        } finally {
+            if (!httpRequest.isAsyncStarted()) {
+                updateResponse(httpRequest, responseWrapper);
+            }
+        }
+    }
+
+    public void destroy() {
+    }
+
+    private void updateResponse(HttpServletRequest request, ContentCachingResponseWrapper responseWrapper)
+            throws IOException {
+
+        if (responseWrapper.isPassThrough()) {
+            return;
+        }
+        byte[] body = responseWrapper.getContentAsByteArray();
+        HttpServletResponse rawResponse = (HttpServletResponse) responseWrapper.getResponse();
+
+        if (isEligibleForEtag(request, responseWrapper, body)) {
+            String etag = generateETagHeaderValue(body);
+            if (new ServletWebRequest(request, rawResponse).checkNotModified(etag, -1)) {
+                return;
+            }
+        }
+
+        if (!rawResponse.isCommitted()) {
+            // 如sendfile等由容器写出内容时，使用处理方法设置的长度
+            Long contentLength = responseWrapper.getContentLength();
+            rawResponse.setContentLengthLong(contentLength != null ? contentLength : body.length);
+        }
+        if (body.length > 0) {
+            rawResponse.getOutputStream().write(body);
+        }
+        rawResponse.flushBuffer();
+    }
+
+    /**
+     * 只处理GET请求的2xx响应，已设置ETag或禁止缓存的响应不处理
+     */
+    protected boolean isEligibleForEtag(HttpServletRequest request, HttpServletResponse response, byte[] body) {
+        int status = response.getStatus();
+        if (status < 200 || status >= 300 || !"GET".equals(request.getMethod())) {
+            return false;
+        }
+        if (response.containsHeader(HEADER_ETAG)) {
+            return false;
+        }
+        String cacheControl = response.getHeader(HEADER_CACHE_CONTROL);
+        return (cacheControl == null || !cacheControl.contains(DIRECTIVE_NO_STORE));
+    }
+
+    protected String generateETagHeaderValue(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(body);
+            StringBuilder sb = new StringBuilder(digest.length * 2 + 3);
+            sb.append("\"0");
+            for (byte b : digest) {
+                sb.append(HEX_CHARS[(b >> 4) & 0xF]).append(HEX_CHARS[b & 0xF]);
+            }
+            return sb.append('"').toString();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("MD5 algorithm not available", ex);
+        }
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.github.datalking.web.http;
+
+import com.github.datalking.util.StreamUtils;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 压缩响应体的输出消息
+ * <p>
+ * 响应体先缓存在内存中，达到最小长度后才设置Content-Encoding并开始流式压缩，未达到时原样写出
+ *
+ * @author yaoo on 10/17/26
+ */
+public class CompressingServletServerHttpResponse extends ServletServerHttpResponse {
+
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+
+    private static final String CONTENT_LENGTH = "Content-Length";
+
+    private static final String VARY = "Vary";
+
+    private final ResponseCompression compression;
+
+    private final String encoding;
+
+    private OutputStream body;
+
+    public CompressingServletServerHttpResponse(HttpServletResponse servletResponse,
+                                                ResponseCompression compression,
+                                                String encoding) {
+        super(servletResponse);
+        this.compression = compression;
+        this.encoding = encoding;
+    }
+
+    @Override
+    public OutputStream getBody() throws IOException {
+        if (this.body == null) {
+            boolean compress = isCompressible();
+            if (compress) {
+                // 压缩后长度会变化
+                HttpHeaders headers = getHeaders();
+                headers.remove(CONTENT_LENGTH);
+                headers.add(VARY, "Accept-Encoding");
+            }
+            OutputStream out = super.getBody();
+            this.body = (compress ? new CompressingOutputStream(out) : out);
+        }
+        return this.body;
+    }
+
+    /**
+     * 结束压缩并写出剩余数据，不会关闭servlet输出流
+     */
+    @Override
+    public void close() {
+        super.close();
+        if (this.body instanceof CompressingOutputStream) {
+            try {
+                this.body.close();
+            } catch (IOException ex) {
+                throw new IllegalStateException("Failed to finish compressed response body", ex);
+            }
+        }
+    }
+
+    private boolean isCompressible() {
+        if (getServletResponse().isCommitted()) {
+            return false;
+        }
+        HttpHeaders headers = getHeaders();
+        if (headers.containsKey(CONTENT_ENCODING) || getServletResponse().containsHeader(CONTENT_ENCODING)) {
+            return false;
+        }
+        long contentLength = headers.getContentLength();
+        if (contentLength != -1 && contentLength < this.compression.getMinResponseSize()) {
+            return false;
+        }
+        return this.compression.isCompressible(headers.getContentType());
+    }
+
+
+    private class CompressingOutputStream extends OutputStream {
+
+        private final OutputStream target;
+
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+
+        private OutputStream encoder;
+
+        private boolean closed;
+
+        CompressingOutputStream(OutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (this.closed) {
+                throw new IOException("Response body already closed");
+            }
+            if (this.encoder != null) {
+                this.encoder.write(b, off, len);
+                return;
+            }
+            this.buffer.write(b, off, len);
+            if (this.buffer.size() >= compression.getMinResponseSize()) {
+                startCompression();
+            }
+        }
+
+        /**
+         * 未开始压缩时继续缓存，此时还不能确定是否需要压缩
+         */
+        @Override
+        public void flush() throws IOException {
+            if (this.encoder != null) {
+                this.encoder.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            if (this.encoder != null) {
+                this.encoder.close();
+            } else {
+                HttpServletResponse response = getServletResponse();
+                if (!response.isCommitted()) {
+                    response.setContentLength(this.buffer.size());
+                }
+                this.buffer.writeTo(this.target);
+                this.buffer = null;
+            }
+            this.target.flush();
+        }
+
+        private void startCompression() throws IOException {
+            getServletResponse().setHeader(CONTENT_ENCODING, encoding);
+            this.encoder = compression.createEncoder(encoding, StreamUtils.nonClosing(this.target));
+            this.buffer.writeTo(this.encoder);
+            this.buffer = null;
+        }
+    }
+
+}
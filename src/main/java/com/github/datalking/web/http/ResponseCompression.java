@@ -0,0 +1,191 @@
+package com.github.datalking.web.http;
+
+import com.github.datalking.util.StringUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 响应压缩配置，根据Accept-Encoding请求头选择gzip或deflate编码
+ * <p>
+ * 响应体小于最小长度或媒体类型已经压缩过时不压缩
+ *
+ * @author yaoo on 10/17/26
+ */
+public class ResponseCompression {
+
+    public static final String GZIP = "gzip";
+
+    public static final String DEFLATE = "deflate";
+
+    public static final int DEFAULT_MIN_RESPONSE_SIZE = 2048;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private int level = Deflater.DEFAULT_COMPRESSION;
+
+    private int minResponseSize = DEFAULT_MIN_RESPONSE_SIZE;
+
+    private final List<MediaType> excludedMediaTypes = new ArrayList<>(Arrays.asList(
+            MediaType.valueOf("image/*"),
+            MediaType.valueOf("audio/*"),
+            MediaType.valueOf("video/*"),
+            MediaType.valueOf("text/event-stream"),
+            MediaType.valueOf("application/zip"),
+            MediaType.valueOf("application/gzip"),
+            MediaType.valueOf("application/x-gzip"),
+            MediaType.valueOf("application/x-bzip2"),
+            MediaType.valueOf("application/x-7z-compressed"),
+            MediaType.valueOf("application/x-rar-compressed"),
+            MediaType.valueOf("application/x-jackson-smile"),
+            MediaType.valueOf("application/cbor"),
+            MediaType.valueOf("font/woff"),
+            MediaType.valueOf("font/woff2")));
+
+    /**
+     * 压缩级别，取值0-9，默认使用Deflater.DEFAULT_COMPRESSION
+     */
+    public void setLevel(int level) {
+        if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+        this.level = level;
+    }
+
+    public int getLevel() {
+        return this.level;
+    }
+
+    /**
+     * 响应体达到该字节数才压缩
+     */
+    public void setMinResponseSize(int minResponseSize) {
+        this.minResponseSize = minResponseSize;
+    }
+
+    public int getMinResponseSize() {
+        return this.minResponseSize;
+    }
+
+    public void setExcludedMediaTypes(List<MediaType> excludedMediaTypes) {
+        this.excludedMediaTypes.clear();
+        this.excludedMediaTypes.addAll(excludedMediaTypes);
+    }
+
+    public void addExcludedMediaTypes(MediaType... mediaTypes) {
+        this.excludedMediaTypes.addAll(Arrays.asList(mediaTypes));
+    }
+
+    public List<MediaType> getExcludedMediaTypes() {
+        return this.excludedMediaTypes;
+    }
+
+    /**
+     * 创建输出消息，客户端不接受压缩时返回普通的ServletServerHttpResponse
+     */
+    public ServletServerHttpResponse createResponse(HttpServletRequest request, HttpServletResponse response) {
+        String encoding = negotiateEncoding(request);
+        if (encoding == null) {
+            return new ServletServerHttpResponse(response);
+        }
+        return new CompressingServletServerHttpResponse(response, this, encoding);
+    }
+
+    /**
+     * 根据Accept-Encoding选择编码，优先使用gzip，q=0表示不接受
+     * <p>
+     * 先收集所有编码再选择，*只匹配没有被q=0拒绝的编码
+     */
+    public String negotiateEncoding(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader("Accept-Encoding");
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return null;
+        }
+        boolean gzip = false;
+        boolean deflate = false;
+        boolean any = false;
+        boolean gzipRefused = false;
+        boolean deflateRefused = false;
+        for (String token : acceptEncoding.split(",")) {
+            String coding = token.trim().toLowerCase(Locale.ENGLISH);
+            boolean refused = false;
+            int paramIndex = coding.indexOf(';');
+            if (paramIndex != -1) {
+                refused = isZeroQuality(coding.substring(paramIndex + 1));
+                coding = coding.substring(0, paramIndex).trim();
+            }
+            if (GZIP.equals(coding) || "x-gzip".equals(coding)) {
+                gzip |= !refused;
+                gzipRefused |= refused;
+            } else if (DEFLATE.equals(coding)) {
+                deflate |= !refused;
+                deflateRefused |= refused;
+            } else if ("*".equals(coding)) {
+                any |= !refused;
+            }
+        }
+        if ((gzip || any) && !gzipRefused) {
+            return GZIP;
+        }
+        if ((deflate || any) && !deflateRefused) {
+            return DEFLATE;
+        }
+        return null;
+    }
+
+    public boolean isCompressible(MediaType contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        for (MediaType excluded : this.excludedMediaTypes) {
+            if (excluded.includes(contentType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 创建压缩流，flush时会输出已压缩的数据，便于流式响应及时发送
+     */
+    public DeflaterOutputStream createEncoder(String encoding, OutputStream out) throws IOException {
+        if (GZIP.equals(encoding)) {
+            return new GZIPOutputStream(out, BUFFER_SIZE, true) {
+                {
+                    this.def.setLevel(level);
+                }
+            };
+        }
+        return new DeflaterOutputStream(out, new Deflater(this.level), BUFFER_SIZE, true) {
+            @Override
+            public void close() throws IOException {
+                super.close();
+                this.def.end();
+            }
+        };
+    }
+
+    private static boolean isZeroQuality(String params) {
+        for (String param : params.split(";")) {
+            String[] pair = param.trim().split("=", 2);
+            if (pair.length == 2 && "q".equals(pair[0].trim())) {
+                try {
+                    return Double.parseDouble(pair[1].trim()) == 0;
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+}
@@ -47,6 +47,10 @@ public class ContentNegotiationManager implements ContentNegotiationStrategy, Me
         this(new HeaderContentNegotiationStrategy());
     }
 
+    public List<ContentNegotiationStrategy> getStrategies() {
+        return Collections.unmodifiableList(this.contentNegotiationStrategies);
+    }
+
     public void addFileExtensionResolvers(MediaTypeFileExtensionResolver... resolvers) {
         this.fileExtensionResolvers.addAll(Arrays.asList(resolvers));
     }
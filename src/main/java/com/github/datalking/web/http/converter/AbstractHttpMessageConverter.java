@@ -9,6 +9,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -21,8 +22,15 @@ public abstract class AbstractHttpMessageConverter<T> implements HttpMessageConv
 
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
+    public static final int DEFAULT_BUFFER_THRESHOLD = 8192;
+
+    // 每个线程复用的序列化缓冲区
+    private static final ThreadLocal<byte[]> bufferHolder = new ThreadLocal<>();
+
     private List<MediaType> supportedMediaTypes = Collections.emptyList();
 
+    private int bufferThreshold = DEFAULT_BUFFER_THRESHOLD;
+
     protected AbstractHttpMessageConverter() {
     }
 
@@ -43,6 +51,19 @@ public abstract class AbstractHttpMessageConverter<T> implements HttpMessageConv
         return Collections.unmodifiableList(this.supportedMediaTypes);
     }
 
+    /**
+     * 长度未知的响应体先写入缓冲区，不超过该字节数时设置Content-Length并一次写出，超过时改为流式写出
+     * <p>
+     * 小于等于0表示不缓冲
+     */
+    public void setBufferThreshold(int bufferThreshold) {
+        this.bufferThreshold = bufferThreshold;
+    }
+
+    public int getBufferThreshold() {
+        return this.bufferThreshold;
+    }
+
     public boolean canRead(Class<?> clazz, MediaType mediaType) {
         return supports(clazz) && canRead(mediaType);
     }
@@ -98,8 +119,30 @@ public abstract class AbstractHttpMessageConverter<T> implements HttpMessageConv
                 headers.setContentLength(contentLength);
             }
         }
-        writeInternal(t, outputMessage);
-        outputMessage.getBody().flush();
+        if (this.bufferThreshold > 0 && headers.getContentLength() == -1 && isBufferable(t)) {
+            writeBuffered(t, outputMessage);
+        } else {
+            writeInternal(t, outputMessage);
+            outputMessage.getBody().flush();
+        }
+    }
+
+    /**
+     * 是否可以缓冲后再写出，需要边生成边发送的内容应返回false
+     */
+    protected boolean isBufferable(T t) {
+        return true;
+    }
+
+    private void writeBuffered(T t, HttpOutputMessage outputMessage) throws IOException {
+        byte[] buffer = bufferHolder.get();
+        if (buffer == null || buffer.length < this.bufferThreshold) {
+            buffer = new byte[this.bufferThreshold];
+            bufferHolder.set(buffer);
+        }
+        BufferingOutputMessage bufferingMessage = new BufferingOutputMessage(outputMessage, buffer, this.bufferThreshold);
+        writeInternal(t, bufferingMessage);
+        bufferingMessage.complete();
     }
 
     protected MediaType getDefaultContentType(T t) throws IOException {
@@ -119,4 +162,81 @@ public abstract class AbstractHttpMessageConverter<T> implements HttpMessageConv
     //    protected abstract void writeInternal(T t, HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException;
     protected abstract void writeInternal(T t, HttpOutputMessage outputMessage) throws IOException;
 
+
+    /**
+     * 缓冲响应体的输出消息，超出阈值后将已缓冲的内容写出并切换为直接写出
+     */
+    private static class BufferingOutputMessage extends OutputStream implements HttpOutputMessage {
+
+        private final HttpOutputMessage target;
+
+        private final byte[] buffer;
+
+        private final int threshold;
+
+        private int count;
+
+        private OutputStream targetBody;
+
+        BufferingOutputMessage(HttpOutputMessage target, byte[] buffer, int threshold) {
+            this.target = target;
+            this.buffer = buffer;
+            this.threshold = threshold;
+        }
+
+        public HttpHeaders getHeaders() {
+            return this.target.getHeaders();
+        }
+
+        public OutputStream getBody() {
+            return this;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (this.targetBody == null && this.count < this.threshold) {
+                this.buffer[this.count++] = (byte) b;
+            } else {
+                switchToTarget().write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (this.targetBody == null && this.count + len <= this.threshold) {
+                System.arraycopy(b, off, this.buffer, this.count, len);
+                this.count += len;
+            } else {
+                switchToTarget().write(b, off, len);
+            }
+        }
+
+        /**
+         * 缓冲阶段不写出，此时还不知道最终长度
+         */
+        @Override
+        public void flush() throws IOException {
+            if (this.targetBody != null) {
+                this.targetBody.flush();
+            }
+        }
+
+        void complete() throws IOException {
+            if (this.targetBody == null) {
+                this.target.getHeaders().setContentLength(this.count);
+                this.targetBody = this.target.getBody();
+                this.targetBody.write(this.buffer, 0, this.count);
+            }
+            this.targetBody.flush();
+        }
+
+        private OutputStream switchToTarget() throws IOException {
+            if (this.targetBody == null) {
+                this.targetBody = this.target.getBody();
+                this.targetBody.write(this.buffer, 0, this.count);
+            }
+            return this.targetBody;
+        }
+    }
+
 }
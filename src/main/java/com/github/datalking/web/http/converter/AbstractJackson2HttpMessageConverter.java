@@ -0,0 +1,259 @@
+package com.github.datalking.web.http.converter;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.datalking.util.Assert;
+import com.github.datalking.util.ClassUtils;
+import com.github.datalking.web.http.HttpInputMessage;
+import com.github.datalking.web.http.HttpOutputMessage;
+import com.github.datalking.web.http.MediaType;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 基于Jackson 2的消息转换器基类，JSON、Smile、CBOR等格式只是ObjectMapper使用的JsonFactory不同
+ *
+ * @author yaoo on 10/17/26
+ */
+public abstract class AbstractJackson2HttpMessageConverter extends AbstractHttpMessageConverter<Object>
+        implements GenericHttpMessageConverter<Object> {
+
+    public static final Charset DEFAULT_CHARSET = Charset.forName("UTF-8");
+
+    private ObjectMapper objectMapper;
+
+    private Boolean prettyPrint;
+
+    private int streamingFlushInterval = 100;
+
+    // 按类型缓存预先创建的ObjectReader/ObjectWriter，避免每次查找序列化器
+    private final Map<JavaType, ObjectReader> readerCache = new ConcurrentHashMap<>(64);
+
+    private final Map<Class<?>, ObjectWriter> writerCache = new ConcurrentHashMap<>(64);
+
+    private volatile ObjectWriter elementWriter;
+
+    protected AbstractJackson2HttpMessageConverter(ObjectMapper objectMapper, MediaType... supportedMediaTypes) {
+        super(supportedMediaTypes);
+        Assert.notNull(objectMapper, "ObjectMapper must not be null");
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 使用指定的JsonFactory实现类创建ObjectMapper，用于不在编译期依赖的数据格式模块
+     */
+    protected static ObjectMapper createObjectMapper(String jsonFactoryClassName) {
+        try {
+            Class<?> factoryClass = ClassUtils.forName(jsonFactoryClassName,
+                    AbstractJackson2HttpMessageConverter.class.getClassLoader());
+            return new ObjectMapper((JsonFactory) factoryClass.newInstance());
+        } catch (ClassNotFoundException | LinkageError ex) {
+            throw new IllegalStateException("Jackson data format module not found on classpath: " +
+                    jsonFactoryClassName, ex);
+        } catch (InstantiationException | IllegalAccessException ex) {
+            throw new IllegalStateException("Could not instantiate JsonFactory: " + jsonFactoryClassName, ex);
+        }
+    }
+
+    public void setObjectMapper(ObjectMapper objectMapper) {
+        Assert.notNull(objectMapper, "ObjectMapper must not be null");
+        this.objectMapper = objectMapper;
+        configurePrettyPrint();
+        clearCaches();
+    }
+
+    private void configurePrettyPrint() {
+        if (this.prettyPrint != null) {
+            this.objectMapper.configure(SerializationFeature.INDENT_OUTPUT, this.prettyPrint);
+        }
+    }
+
+    /**
+     * ObjectReader/ObjectWriter创建时会复制ObjectMapper的配置，修改ObjectMapper的配置后需要调用本方法
+     */
+    public void clearCaches() {
+        this.readerCache.clear();
+        this.writerCache.clear();
+        this.elementWriter = null;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return this.objectMapper;
+    }
+
+    public void setPrettyPrint(boolean prettyPrint) {
+        this.prettyPrint = prettyPrint;
+        configurePrettyPrint();
+        clearCaches();
+    }
+
+    /**
+     * 写出Iterator或Stream时，每写出多少个元素flush一次，使客户端能分块收到数据
+     */
+    public void setStreamingFlushInterval(int streamingFlushInterval) {
+        Assert.isTrue(streamingFlushInterval > 0, "'streamingFlushInterval' must be positive");
+        this.streamingFlushInterval = streamingFlushInterval;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return canRead(clazz, null, mediaType);
+    }
+
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        JavaType javaType = getJavaType(type, contextClass);
+        return (this.objectMapper.canDeserialize(javaType) && canRead(mediaType));
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return ((isStreamingType(clazz) || this.objectMapper.canSerialize(clazz)) && canWrite(mediaType));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        // should not be called, since we override canRead/Write instead
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+
+        JavaType javaType = getJavaType(clazz, null);
+        return readJavaType(javaType, inputMessage);
+    }
+
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+
+        JavaType javaType = getJavaType(type, contextClass);
+        return readJavaType(javaType, inputMessage);
+    }
+
+    private Object readJavaType(JavaType javaType, HttpInputMessage inputMessage) {
+        try {
+            return getObjectReader(javaType).readValue(inputMessage.getBody());
+        } catch (IOException ex) {
+//            throw new HttpMessageNotReadableException("Could not read JSON: " + ex.getMessage(), ex);
+            ex.printStackTrace();
+        }
+
+        return null;
+    }
+
+
+    @Override
+    protected void writeInternal(Object object, HttpOutputMessage outputMessage) throws IOException {
+
+        JsonEncoding encoding = getJsonEncoding(outputMessage.getHeaders().getContentType());
+        JsonGenerator jsonGenerator = this.objectMapper.getFactory().createGenerator(outputMessage.getBody(), encoding);
+
+        // A workaround for JsonGenerators not applying serialization - https://github.com/FasterXML/jackson-databind/issues/12
+        if (this.objectMapper.isEnabled(SerializationFeature.INDENT_OUTPUT)) {
+            jsonGenerator.useDefaultPrettyPrinter();
+        }
+
+        try {
+            writePrefix(jsonGenerator, object);
+            if (object instanceof Iterator) {
+                writeElements((Iterator<?>) object, jsonGenerator);
+            } else if (object instanceof Stream) {
+                try (Stream<?> stream = (Stream<?>) object) {
+                    writeElements(stream.iterator(), jsonGenerator);
+                }
+            } else {
+                getObjectWriter(object.getClass()).writeValue(jsonGenerator, object);
+            }
+        } catch (JsonProcessingException ex) {
+//            throw new HttpMessageNotWritableException("Could not write JSON: " + ex.getMessage(), ex);
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * 在序列化的内容前写出前缀，默认不写出
+     */
+    protected void writePrefix(JsonGenerator generator, Object object) throws IOException {
+    }
+
+    /**
+     * 逐个序列化元素并写出为JSON数组，不需要先把所有元素放入内存
+     */
+    private void writeElements(Iterator<?> elements, JsonGenerator jsonGenerator) throws IOException {
+        // 每个元素写完后不flush，由streamingFlushInterval控制分块
+        ObjectWriter elementWriter = this.elementWriter;
+        if (elementWriter == null) {
+            elementWriter = this.objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            this.elementWriter = elementWriter;
+        }
+
+        jsonGenerator.writeStartArray();
+        int count = 0;
+        while (elements.hasNext()) {
+            elementWriter.writeValue(jsonGenerator, elements.next());
+            if (++count % this.streamingFlushInterval == 0) {
+                jsonGenerator.flush();
+            }
+        }
+        jsonGenerator.writeEndArray();
+        jsonGenerator.flush();
+    }
+
+    private ObjectReader getObjectReader(JavaType javaType) {
+        ObjectReader reader = this.readerCache.get(javaType);
+        if (reader == null) {
+            reader = this.objectMapper.readerFor(javaType);
+            this.readerCache.put(javaType, reader);
+        }
+        return reader;
+    }
+
+    private ObjectWriter getObjectWriter(Class<?> valueClass) {
+        ObjectWriter writer = this.writerCache.get(valueClass);
+        if (writer == null) {
+            writer = this.objectMapper.writerFor(valueClass);
+            this.writerCache.put(valueClass, writer);
+        }
+        return writer;
+    }
+
+    @Override
+    protected boolean isBufferable(Object object) {
+        return !isStreamingType(object.getClass());
+    }
+
+    private static boolean isStreamingType(Class<?> clazz) {
+        return (Iterator.class.isAssignableFrom(clazz) || Stream.class.isAssignableFrom(clazz));
+    }
+
+    protected JavaType getJavaType(Type type, Class<?> contextClass) {
+        return (contextClass != null) ?
+                this.objectMapper.getTypeFactory().constructType(type, contextClass) :
+                this.objectMapper.constructType(type);
+    }
+
+    protected JsonEncoding getJsonEncoding(MediaType contentType) {
+        if (contentType != null && contentType.getCharSet() != null) {
+            Charset charset = contentType.getCharSet();
+            for (JsonEncoding encoding : JsonEncoding.values()) {
+                if (charset.name().equals(encoding.getJavaName())) {
+                    return encoding;
+                }
+            }
+        }
+        return JsonEncoding.UTF8;
+    }
+
+}
@@ -1,52 +1,25 @@
 package com.github.datalking.web.http.converter;
 
-import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.github.datalking.util.Assert;
-import com.github.datalking.web.http.HttpInputMessage;
-import com.github.datalking.web.http.HttpOutputMessage;
 import com.github.datalking.web.http.MediaType;
 
 import java.io.IOException;
-import java.lang.reflect.Type;
-import java.nio.charset.Charset;
 
 /**
  * @author yaoo on 5/4/18
  */
-public class MappingJackson2HttpMessageConverter extends AbstractHttpMessageConverter<Object>
-        implements GenericHttpMessageConverter<Object> {
-
-    public static final Charset DEFAULT_CHARSET = Charset.forName("UTF-8");
-
-    private ObjectMapper objectMapper = new ObjectMapper();
+public class MappingJackson2HttpMessageConverter extends AbstractJackson2HttpMessageConverter {
 
     private String jsonPrefix;
 
-    private Boolean prettyPrint;
-
     public MappingJackson2HttpMessageConverter() {
-        super(new MediaType("application", "json", DEFAULT_CHARSET), new MediaType("application", "*+json", DEFAULT_CHARSET));
+        this(new ObjectMapper());
     }
 
-    public void setObjectMapper(ObjectMapper objectMapper) {
-        Assert.notNull(objectMapper, "ObjectMapper must not be null");
-        this.objectMapper = objectMapper;
-        configurePrettyPrint();
-    }
-
-    private void configurePrettyPrint() {
-        if (this.prettyPrint != null) {
-            this.objectMapper.configure(SerializationFeature.INDENT_OUTPUT, this.prettyPrint);
-        }
-    }
-
-    public ObjectMapper getObjectMapper() {
-        return this.objectMapper;
+    public MappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper, new MediaType("application", "json", DEFAULT_CHARSET),
+                new MediaType("application", "*+json", DEFAULT_CHARSET));
     }
 
     public void setJsonPrefix(String jsonPrefix) {
@@ -57,95 +30,11 @@ public class MappingJackson2HttpMessageConverter extends AbstractHttpMessageConv
         this.jsonPrefix = (prefixJson ? "{} && " : null);
     }
 
-    public void setPrettyPrint(boolean prettyPrint) {
-        this.prettyPrint = prettyPrint;
-        configurePrettyPrint();
-    }
-
-    @Override
-    public boolean canRead(Class<?> clazz, MediaType mediaType) {
-        return canRead(clazz, null, mediaType);
-    }
-
-    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
-        JavaType javaType = getJavaType(type, contextClass);
-        return (this.objectMapper.canDeserialize(javaType) && canRead(mediaType));
-    }
-
-    @Override
-    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
-        return (this.objectMapper.canSerialize(clazz) && canWrite(mediaType));
-    }
-
-    @Override
-    protected boolean supports(Class<?> clazz) {
-        // should not be called, since we override canRead/Write instead
-        throw new UnsupportedOperationException();
-    }
-
     @Override
-    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
-
-        JavaType javaType = getJavaType(clazz, null);
-        return readJavaType(javaType, inputMessage);
-    }
-
-    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
-
-        JavaType javaType = getJavaType(type, contextClass);
-        return readJavaType(javaType, inputMessage);
-    }
-
-    private Object readJavaType(JavaType javaType, HttpInputMessage inputMessage) {
-        try {
-            return this.objectMapper.readValue(inputMessage.getBody(), javaType);
-        } catch (IOException ex) {
-//            throw new HttpMessageNotReadableException("Could not read JSON: " + ex.getMessage(), ex);
-            ex.printStackTrace();
-        }
-
-        return null;
-    }
-
-
-    @Override
-    protected void writeInternal(Object object, HttpOutputMessage outputMessage) throws IOException {
-
-        JsonEncoding encoding = getJsonEncoding(outputMessage.getHeaders().getContentType());
-        JsonGenerator jsonGenerator = this.objectMapper.getFactory().createGenerator(outputMessage.getBody(), encoding);
-
-        // A workaround for JsonGenerators not applying serialization - https://github.com/FasterXML/jackson-databind/issues/12
-        if (this.objectMapper.isEnabled(SerializationFeature.INDENT_OUTPUT)) {
-            jsonGenerator.useDefaultPrettyPrinter();
-        }
-
-        try {
-            if (this.jsonPrefix != null) {
-                jsonGenerator.writeRaw(this.jsonPrefix);
-            }
-            this.objectMapper.writeValue(jsonGenerator, object);
-        } catch (JsonProcessingException ex) {
-//            throw new HttpMessageNotWritableException("Could not write JSON: " + ex.getMessage(), ex);
-            ex.printStackTrace();
-        }
-    }
-
-    protected JavaType getJavaType(Type type, Class<?> contextClass) {
-        return (contextClass != null) ?
-                this.objectMapper.getTypeFactory().constructType(type, contextClass) :
-                this.objectMapper.constructType(type);
-    }
-
-    protected JsonEncoding getJsonEncoding(MediaType contentType) {
-        if (contentType != null && contentType.getCharSet() != null) {
-            Charset charset = contentType.getCharSet();
-            for (JsonEncoding encoding : JsonEncoding.values()) {
-                if (charset.name().equals(encoding.getJavaName())) {
-                    return encoding;
-                }
-            }
+    protected void writePrefix(JsonGenerator generator, Object object) throws IOException {
+        if (this.jsonPrefix != null) {
+            generator.writeRaw(this.jsonPrefix);
         }
-        return JsonEncoding.UTF8;
     }
 
 }
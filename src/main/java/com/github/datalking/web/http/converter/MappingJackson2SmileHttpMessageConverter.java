@@ -0,0 +1,28 @@
+package com.github.datalking.web.http.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.datalking.web.http.MediaType;
+
+/**
+ * Smile二进制格式的消息转换器，需要jackson-dataformat-smile
+ * <p>
+ * 服务间调用可以通过Accept请求头选择该格式，控制器不需要修改
+ *
+ * @author yaoo on 10/17/26
+ */
+public class MappingJackson2SmileHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public static final String FACTORY_CLASS_NAME = "com.fasterxml.jackson.dataformat.smile.SmileFactory";
+
+    public MappingJackson2SmileHttpMessageConverter() {
+        this(createObjectMapper(FACTORY_CLASS_NAME));
+    }
+
+    /**
+     * @param objectMapper 必须使用Smile的JsonFactory创建
+     */
+    public MappingJackson2SmileHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper, new MediaType("application", "x-jackson-smile"));
+    }
+
+}
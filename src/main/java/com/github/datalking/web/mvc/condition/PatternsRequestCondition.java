@@ -12,15 +12,23 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  */
 public class PatternsRequestCondition extends AbstractRequestCondition<PatternsRequestCondition> {
 
+    private static final int DERIVED_SUFFIX = 0;
+
+    private static final int DERIVED_TRAILING_SLASH = 1;
+
+    private static final int DERIVED_EXTENSION_START = 2;
+
     private final Set<String> patterns;
 
     private final UrlPathHelper pathHelper;
@@ -33,6 +41,9 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
 
     private final List<String> fileExtensions = new ArrayList<>();
 
+    // 后缀和末尾斜杠匹配时使用的模式，创建时一次生成，避免每次请求拼接字符串
+    private final Map<String, String[]> derivedPatterns;
+
     public PatternsRequestCondition(String... patterns) {
         this(asList(patterns), null, null, true, true, null);
     }
@@ -63,6 +74,20 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
                                      boolean useTrailingSlashMatch,
                                      List<String> fileExtensions) {
 
+        this(patterns, urlPathHelper, pathMatcher, useSuffixPatternMatch, useTrailingSlashMatch, fileExtensions, true);
+    }
+
+    /**
+     * @param derive 是否预先生成派生模式，请求匹配结果只用于排序，不需要生成
+     */
+    private PatternsRequestCondition(Collection<String> patterns,
+                                     UrlPathHelper urlPathHelper,
+                                     PathMatcher pathMatcher,
+                                     boolean useSuffixPatternMatch,
+                                     boolean useTrailingSlashMatch,
+                                     List<String> fileExtensions,
+                                     boolean derive) {
+
         this.patterns = Collections.unmodifiableSet(prependLeadingSlash(patterns));
         this.pathHelper = urlPathHelper != null ? urlPathHelper : new UrlPathHelper();
         this.pathMatcher = pathMatcher != null ? pathMatcher : new AntPathMatcher();
@@ -76,6 +101,8 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
                 this.fileExtensions.add(fileExtension);
             }
         }
+        this.derivedPatterns = (derive && (useSuffixPatternMatch || useTrailingSlashMatch) ?
+                deriveAll(this.patterns, this.fileExtensions) : Collections.<String, String[]>emptyMap());
     }
 
 
@@ -153,24 +180,27 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
                         this.pathMatcher,
                         this.useSuffixPatternMatch,
                         this.useTrailingSlashMatch,
-                        this.fileExtensions);
+                        this.fileExtensions,
+                        false);
     }
 
     private String getMatchingPattern(String pattern, String lookupPath) {
         if (pattern.equals(lookupPath)) {
             return pattern;
         }
+        String[] derived = null;
         if (this.useSuffixPatternMatch) {
+            derived = getDerivedPatterns(pattern);
             if (!this.fileExtensions.isEmpty() && lookupPath.indexOf('.') != -1) {
-                for (String extension : this.fileExtensions) {
-                    if (this.pathMatcher.match(pattern + extension, lookupPath)) {
-                        return pattern + extension;
+                for (int i = DERIVED_EXTENSION_START; i < derived.length; i++) {
+                    if (this.pathMatcher.match(derived[i], lookupPath)) {
+                        return derived[i];
                     }
                 }
             } else {
                 boolean hasSuffix = pattern.indexOf('.') != -1;
-                if (!hasSuffix && this.pathMatcher.match(pattern + ".*", lookupPath)) {
-                    return pattern + ".*";
+                if (!hasSuffix && this.pathMatcher.match(derived[DERIVED_SUFFIX], lookupPath)) {
+                    return derived[DERIVED_SUFFIX];
                 }
             }
         }
@@ -178,13 +208,44 @@ public class PatternsRequestCondition extends AbstractRequestCondition<PatternsR
             return pattern;
         }
         if (this.useTrailingSlashMatch) {
-            if (!pattern.endsWith("/") && this.pathMatcher.match(pattern + "/", lookupPath)) {
-                return pattern + "/";
+            if (!pattern.endsWith("/")) {
+                if (derived == null) {
+                    derived = getDerivedPatterns(pattern);
+                }
+                if (this.pathMatcher.match(derived[DERIVED_TRAILING_SLASH], lookupPath)) {
+                    return derived[DERIVED_TRAILING_SLASH];
+                }
             }
         }
         return null;
     }
 
+    private String[] getDerivedPatterns(String pattern) {
+        String[] derived = this.derivedPatterns.get(pattern);
+        return (derived != null ? derived : derive(pattern, this.fileExtensions));
+    }
+
+    private static Map<String, String[]> deriveAll(Set<String> patterns, List<String> fileExtensions) {
+        Map<String, String[]> result = new HashMap<>(patterns.size() * 2);
+        for (String pattern : patterns) {
+            result.put(pattern, derive(pattern, fileExtensions));
+        }
+        return result;
+    }
+
+    /**
+     * 依次为pattern.*、pattern/和pattern加各个文件扩展名
+     */
+    private static String[] derive(String pattern, List<String> fileExtensions) {
+        String[] derived = new String[DERIVED_EXTENSION_START + fileExtensions.size()];
+        derived[DERIVED_SUFFIX] = pattern + ".*";
+        derived[DERIVED_TRAILING_SLASH] = pattern + "/";
+        for (int i = 0; i < fileExtensions.size(); i++) {
+            derived[DERIVED_EXTENSION_START + i] = pattern + fileExtensions.get(i);
+        }
+        return derived;
+    }
+
     @Override
     public int compareTo(PatternsRequestCondition other, HttpServletRequest request) {
         String lookupPath = this.pathHelper.getLookupPathForRequest(request);
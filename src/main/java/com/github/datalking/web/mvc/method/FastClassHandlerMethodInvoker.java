@@ -0,0 +1,61 @@
+package com.github.datalking.web.mvc.method;
+
+import com.github.datalking.util.ClassUtils;
+import net.sf.cglib.reflect.FastClass;
+import net.sf.cglib.reflect.FastMethod;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * 通过cglib生成的FastClass直接调用方法，避免每次调用时java反射的访问检查
+ * <p>
+ * 仅支持public类的public方法，其他方法使用ReflectiveHandlerMethodInvoker
+ *
+ * @author yaoo on 10/17/26
+ */
+public class FastClassHandlerMethodInvoker implements HandlerMethodInvoker {
+
+    private final FastMethod fastMethod;
+
+    private final Class<?>[] parameterTypes;
+
+    private final boolean[] primitiveParameters;
+
+    public FastClassHandlerMethodInvoker(Method method) {
+        this.fastMethod = FastClass.create(method.getDeclaringClass()).getMethod(method);
+        Class<?>[] types = method.getParameterTypes();
+        this.parameterTypes = new Class<?>[types.length];
+        this.primitiveParameters = new boolean[types.length];
+        for (int i = 0; i < types.length; i++) {
+            this.parameterTypes[i] = ClassUtils.resolvePrimitiveIfNecessary(types[i]);
+            this.primitiveParameters[i] = types[i].isPrimitive();
+        }
+    }
+
+    public static boolean isSupported(Method method) {
+        return (Modifier.isPublic(method.getModifiers()) &&
+                !Modifier.isStatic(method.getModifiers()) &&
+                Modifier.isPublic(method.getDeclaringClass().getModifiers()) &&
+                !method.isBridge());
+    }
+
+    @Override
+    public Object invoke(Object bean, Object[] args) throws Exception {
+        // 生成的类不做参数检查，参数不匹配时与Method.invoke一样抛出IllegalArgumentException
+        if (args.length != this.parameterTypes.length) {
+            throw new IllegalArgumentException("wrong number of arguments");
+        }
+        for (int i = 0; i < this.parameterTypes.length; i++) {
+            Object arg = args[i];
+            if (arg == null ? this.primitiveParameters[i] : !this.parameterTypes[i].isInstance(arg)) {
+                throw new IllegalArgumentException("argument type mismatch");
+            }
+        }
+        if (!this.fastMethod.getDeclaringClass().isInstance(bean)) {
+            throw new IllegalArgumentException("object is not an instance of declaring class");
+        }
+        return this.fastMethod.invoke(bean, args);
+    }
+
+}
@@ -36,6 +36,9 @@ public class HandlerMethod {
     // 方法参数
     private final MethodParameter[] parameters;
 
+    // 调用方法的invoker，未指定时使用java反射
+    private volatile HandlerMethodInvoker invoker;
+
     public HandlerMethod(Object bean, Method method) {
         Assert.notNull(bean, "Bean is required");
         Assert.notNull(method, "Method is required");
@@ -78,9 +81,10 @@ public class HandlerMethod {
         this.method = handlerMethod.method;
         this.bridgedMethod = handlerMethod.bridgedMethod;
         this.parameters = handlerMethod.parameters;
+        this.invoker = handlerMethod.invoker;
     }
 
-    private HandlerMethod(HandlerMethod handlerMethod, Object handler) {
+    protected HandlerMethod(HandlerMethod handlerMethod, Object handler) {
         Assert.notNull(handlerMethod, "HandlerMethod is required");
         Assert.notNull(handler, "Handler object is required");
         this.bean = handler;
@@ -88,6 +92,7 @@ public class HandlerMethod {
         this.method = handlerMethod.method;
         this.bridgedMethod = handlerMethod.bridgedMethod;
         this.parameters = handlerMethod.parameters;
+        this.invoker = handlerMethod.invoker;
     }
 
     private MethodParameter[] initMethodParameters() {
@@ -117,6 +122,25 @@ public class HandlerMethod {
         return this.bridgedMethod;
     }
 
+    /**
+     * 获取调用该方法的invoker，首次调用时创建并缓存
+     */
+    public HandlerMethodInvoker getInvoker() {
+        if (this.invoker == null) {
+            this.invoker = new ReflectiveHandlerMethodInvoker(this.bridgedMethod);
+        }
+        return this.invoker;
+    }
+
+    /**
+     * 使用cglib生成的类直接调用方法，非public的方法仍使用java反射
+     */
+    public void useGeneratedInvoker() {
+        if (FastClassHandlerMethodInvoker.isSupported(this.bridgedMethod)) {
+            this.invoker = new FastClassHandlerMethodInvoker(this.bridgedMethod);
+        }
+    }
+
     public MethodParameter[] getMethodParameters() {
         return this.parameters;
     }
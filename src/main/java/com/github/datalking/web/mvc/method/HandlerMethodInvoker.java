@@ -0,0 +1,14 @@
+package com.github.datalking.web.mvc.method;
+
+/**
+ * 调用处理请求的方法的策略
+ * <p>
+ * 目标方法抛出的异常包装为InvocationTargetException，参数不匹配时抛出IllegalArgumentException，与Method.invoke一致
+ *
+ * @author yaoo on 10/17/26
+ */
+public interface HandlerMethodInvoker {
+
+    Object invoke(Object bean, Object[] args) throws Exception;
+
+}
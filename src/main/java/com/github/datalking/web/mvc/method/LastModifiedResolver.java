@@ -0,0 +1,113 @@
+package com.github.datalking.web.mvc.method;
+
+import com.github.datalking.annotation.web.LastModified;
+import com.github.datalking.util.ReflectionUtils;
+import com.github.datalking.util.StringUtils;
+import com.github.datalking.web.servlet.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * 调用@LastModified声明的方法获取最后修改时间和ETag
+ * <p>
+ * 只保存按bean类型查找的方法，调用时传入实际的bean，同一类型的不同实例可以共享
+ *
+ * @author yaoo on 10/17/26
+ */
+final class LastModifiedResolver {
+
+    private final Method lastModifiedMethod;
+
+    private final Method etagMethod;
+
+    private LastModifiedResolver(Method lastModifiedMethod, Method etagMethod) {
+        this.lastModifiedMethod = lastModifiedMethod;
+        this.etagMethod = etagMethod;
+    }
+
+    /**
+     * 处理方法没有@LastModified注解时返回null
+     */
+    static LastModifiedResolver forHandlerMethod(HandlerMethod handlerMethod) {
+        LastModified ann = handlerMethod.getMethodAnnotation(LastModified.class);
+        if (ann == null) {
+            return null;
+        }
+        Class<?> beanType = handlerMethod.getBeanType();
+        Method lastModifiedMethod = findSupplierMethod(beanType, ann.value(), long.class);
+        Method etagMethod = findSupplierMethod(beanType, ann.etag(), String.class);
+        if (lastModifiedMethod == null && etagMethod == null) {
+            throw new IllegalStateException("@LastModified on " + handlerMethod.getMethod() +
+                    " must declare a last-modified or etag method");
+        }
+        return new LastModifiedResolver(lastModifiedMethod, etagMethod);
+    }
+
+    private static Method findSupplierMethod(Class<?> beanType, String name, Class<?> returnType) {
+        if (!StringUtils.hasText(name)) {
+            return null;
+        }
+        Method method = ReflectionUtils.findMethod(beanType, name, HttpServletRequest.class);
+        if (method == null) {
+            method = ReflectionUtils.findMethod(beanType, name);
+        }
+        if (method == null || !returnType.isAssignableFrom(method.getReturnType())) {
+            throw new IllegalStateException("No method '" + name + "' returning " + returnType.getSimpleName() +
+                    " found on " + beanType.getName());
+        }
+        ReflectionUtils.makeAccessible(method);
+        return method;
+    }
+
+    boolean hasETag() {
+        return (this.etagMethod != null);
+    }
+
+    long getLastModified(Object bean, HttpServletRequest request) {
+        if (this.lastModifiedMethod == null) {
+            return -1;
+        }
+        return (Long) invoke(this.lastModifiedMethod, bean, request);
+    }
+
+    String getETag(Object bean, HttpServletRequest request) {
+        if (this.etagMethod == null) {
+            return null;
+        }
+        String etag = (String) invoke(this.etagMethod, bean, request);
+        if (StringUtils.hasLength(etag) && !etag.startsWith("\"") && !etag.startsWith("W/\"")) {
+            etag = "\"" + etag + "\"";
+        }
+        return etag;
+    }
+
+    /**
+     * 同时检查ETag和最后修改时间，未修改时设置304状态码
+     */
+    boolean checkNotModified(Object bean, HttpServletRequest request, HttpServletResponse response) {
+        return new ServletWebRequest(request, response).checkNotModified(
+                getETag(bean, request), getLastModified(bean, request));
+    }
+
+    private Object invoke(Method method, Object bean, HttpServletRequest request) {
+        try {
+            return (method.getParameterTypes().length == 0 ?
+                    method.invoke(bean) : method.invoke(bean, request));
+        } catch (InvocationTargetException ex) {
+            Throwable target = ex.getTargetException();
+            if (target instanceof RuntimeException) {
+                throw (RuntimeException) target;
+            }
+            if (target instanceof Error) {
+                throw (Error) target;
+            }
+            throw new IllegalStateException("Failed to invoke " + method, target);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException("Could not access " + method, ex);
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.github.datalking.web.mvc.method;
+
+import com.github.datalking.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * 通过java反射调用方法，支持非public方法
+ *
+ * @author yaoo on 10/17/26
+ */
+public class ReflectiveHandlerMethodInvoker implements HandlerMethodInvoker {
+
+    private final Method method;
+
+    public ReflectiveHandlerMethodInvoker(Method method) {
+        ReflectionUtils.makeAccessible(method);
+        this.method = method;
+    }
+
+    @Override
+    public Object invoke(Object bean, Object[] args) throws Exception {
+        return this.method.invoke(bean, args);
+    }
+
+}
@@ -19,6 +19,11 @@ import com.github.datalking.web.bind.ServletRequestDataBinderFactory;
 import com.github.datalking.web.bind.WebBindingInitializer;
 import com.github.datalking.web.bind.WebDataBinderFactory;
 import com.github.datalking.web.context.request.WebRequest;
+import com.github.datalking.web.context.request.async.SimpleAsyncTaskExecutor;
+import com.github.datalking.web.context.request.async.StandardServletAsyncWebRequest;
+import com.github.datalking.web.context.request.async.WebAsyncManager;
+import com.github.datalking.web.context.request.async.WebAsyncUtils;
+import com.github.datalking.web.http.ResponseCompression;
 import com.github.datalking.web.http.accept.ContentNegotiationManager;
 import com.github.datalking.web.http.converter.HttpMessageConverter;
 import com.github.datalking.web.http.converter.MappingJackson2HttpMessageConverter;
@@ -28,8 +33,11 @@ import com.github.datalking.web.mvc.ModelAndViewResolver;
 import com.github.datalking.web.mvc.ModelFactory;
 import com.github.datalking.web.mvc.ModelMap;
 import com.github.datalking.web.mvc.View;
+import com.github.datalking.web.servlet.HandlerMapping;
 import com.github.datalking.web.servlet.InvocableHandlerMethod;
-import com.github.datalking.web.servlet.ServletWebRequest;
+import com.github.datalking.web.servlet.handler.AbstractHandlerMethodMapping;
+import com.github.datalking.web.support.CallableMethodReturnValueHandler;
+import com.github.datalking.web.support.DeferredResultMethodReturnValueHandler;
 import com.github.datalking.web.support.HandlerMethodArgumentResolver;
 import com.github.datalking.web.support.HandlerMethodArgumentResolverComposite;
 import com.github.datalking.web.support.HandlerMethodReturnValueHandler;
@@ -43,11 +51,15 @@ import com.github.datalking.web.support.ModelAttributeMethodProcessor;
 import com.github.datalking.web.support.ModelMethodProcessor;
 import com.github.datalking.web.support.PathVariableMethodArgumentResolver;
 import com.github.datalking.web.support.RequestParamMethodArgumentResolver;
+import com.github.datalking.web.support.ResponseBodyEmitterReturnValueHandler;
+import com.github.datalking.web.support.ResponseCache;
+import com.github.datalking.web.support.ResponseCachingReturnValueHandler;
 import com.github.datalking.web.support.ServletInvocableHandlerMethod;
 import com.github.datalking.web.support.ServletRequestMethodArgumentResolver;
 import com.github.datalking.web.support.ServletResponseMethodArgumentResolver;
 import com.github.datalking.web.support.SessionAttributeStore;
 import com.github.datalking.web.support.SessionAttributesHandler;
+import com.github.datalking.web.support.StreamingResponseBodyReturnValueHandler;
 import com.github.datalking.web.support.ViewMethodReturnValueHandler;
 import com.github.datalking.web.support.ViewNameMethodReturnValueHandler;
 
@@ -60,6 +72,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 
 /**
  * 实现调用处理请求的方法
@@ -87,10 +101,14 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 
     private WebBindingInitializer webBindingInitializer;
 
-//    private AsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("MvcAsync");
+    private Executor taskExecutor = new SimpleAsyncTaskExecutor("MvcAsync");
 
     private Long asyncRequestTimeout;
 
+    private ResponseCompression responseCompression;
+
+    private ResponseCache responseCache;
+
 //    private CallableProcessingInterceptor[] callableInterceptors = new CallableProcessingInterceptor[0];
 //    private DeferredResultProcessingInterceptor[] deferredResultInterceptors = new DeferredResultProcessingInterceptor[0];
 
@@ -100,6 +118,10 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 
     private boolean synchronizeOnSession = false;
 
+    private boolean validateHandlerArgumentsOnStartup = false;
+
+    private boolean useGeneratedInvokers = false;
+
     private SessionAttributeStore sessionAttributeStore = new DefaultSessionAttributeStore();
 
     private ParameterNameDiscoverer parameterNameDiscoverer = new LocalVariableTableParameterNameDiscoverer();
@@ -116,6 +138,9 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 
 //    private final Map<ControllerAdviceBean, Set<Method>> modelAttributeAdviceCache = new LinkedHashMap<>();
 
+    // 每个bean类型和处理请求的方法对应的调用计划，首次请求时创建，之后所有线程和同类型的bean实例共享
+    private final ConcurrentMap<InvocationPlanKey, InvocationPlan> invocationPlanCache = new ConcurrentHashMap<>(64);
+
     public RequestMappingHandlerAdapter() {
 
         StringHttpMessageConverter stringHttpMessageConverter = new StringHttpMessageConverter();
@@ -212,15 +237,38 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
         return this.webBindingInitializer;
     }
 
-//    public void setTaskExecutor(AsyncTaskExecutor taskExecutor) {
-//        this.taskExecutor = taskExecutor;
-//    }
+    /**
+     * 执行控制器方法返回的Callable的线程池
+     * <p>
+     * 默认每个任务新建一个线程，同时运行的线程数不超过SimpleAsyncTaskExecutor.DEFAULT_CONCURRENCY_LIMIT，
+     * 超出的Callable以RejectedExecutionException作为处理结果；生产环境应配置线程池
+     */
+    public void setTaskExecutor(Executor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+    }
 
 
+    /**
+     * 异步请求的超时时间，单位毫秒，未设置时使用容器默认值
+     */
     public void setAsyncRequestTimeout(long timeout) {
         this.asyncRequestTimeout = timeout;
     }
 
+    /**
+     * 设置后根据Accept-Encoding压缩@ResponseBody和HttpEntity的响应体
+     */
+    public void setResponseCompression(ResponseCompression responseCompression) {
+        this.responseCompression = responseCompression;
+    }
+
+    /**
+     * 设置后缓存@CachedResponse方法的@ResponseBody响应，需同时注册ResponseCacheInterceptor
+     */
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
 //    public void setCallableInterceptors(List<CallableProcessingInterceptor> interceptors) {
 //        Assert.notNull(interceptors);
 //        this.callableInterceptors = interceptors.toArray(new CallableProcessingInterceptor[interceptors.size()]);
@@ -256,6 +304,20 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
         this.parameterNameDiscoverer = parameterNameDiscoverer;
     }
 
+    /**
+     * 是否在启动时为所有映射方法创建调用计划，并在存在不支持的参数时直接失败，默认在首次请求时才检查
+     */
+    public void setValidateHandlerArgumentsOnStartup(boolean validateHandlerArgumentsOnStartup) {
+        this.validateHandlerArgumentsOnStartup = validateHandlerArgumentsOnStartup;
+    }
+
+    /**
+     * 是否使用cglib生成的类调用处理请求的方法，非public的方法仍使用java反射，默认false
+     */
+    public void setUseGeneratedInvokers(boolean useGeneratedInvokers) {
+        this.useGeneratedInvokers = useGeneratedInvokers;
+    }
+
     @Override
     public void setBeanFactory(BeanFactory beanFactory) {
         if (beanFactory instanceof ConfigurableBeanFactory) {
@@ -286,6 +348,32 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
         }
 
         initControllerAdviceCache();
+
+        if (this.validateHandlerArgumentsOnStartup) {
+            validateHandlerArguments();
+        }
+    }
+
+    /**
+     * 为所有已注册的映射方法创建调用计划，检查每个参数都有对应的解析器
+     */
+    private void validateHandlerArguments() {
+        if (getApplicationContext() == null) {
+            return;
+        }
+
+        Map<String, AbstractHandlerMethodMapping> mappings = getApplicationContext().getBeansOfType(AbstractHandlerMethodMapping.class);
+        for (AbstractHandlerMethodMapping<?> mapping : mappings.values()) {
+            for (HandlerMethod handlerMethod : mapping.getHandlerMethods().values()) {
+                try {
+                    getInvocationPlan(handlerMethod.createWithResolvedBean()).invocableMethod.assertArgumentsResolvable();
+                } catch (IllegalStateException ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    throw new IllegalStateException("Failed to prepare handler method " + handlerMethod, ex);
+                }
+            }
+        }
     }
 
 
@@ -365,14 +453,26 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
         handlers.add(new ModelAndViewMethodReturnValueHandler());
         handlers.add(new ModelMethodProcessor());
         handlers.add(new ViewMethodReturnValueHandler());
-        handlers.add(new HttpEntityMethodProcessor(getMessageConverters(), this.contentNegotiationManager));
-//        handlers.add(new CallableMethodReturnValueHandler());
-//        handlers.add(new DeferredResultMethodReturnValueHandler());
+        HttpEntityMethodProcessor httpEntityProcessor =
+                new HttpEntityMethodProcessor(getMessageConverters(), this.contentNegotiationManager);
+        httpEntityProcessor.setResponseCompression(this.responseCompression);
+        handlers.add(httpEntityProcessor);
+        handlers.add(new CallableMethodReturnValueHandler());
+        handlers.add(new DeferredResultMethodReturnValueHandler());
+        handlers.add(new StreamingResponseBodyReturnValueHandler());
+        handlers.add(new ResponseBodyEmitterReturnValueHandler(getMessageConverters()));
 //        handlers.add(new AsyncTaskMethodReturnValueHandler(this.beanFactory));
 
         // Annotation-based return value types
         handlers.add(new ModelAttributeMethodProcessor(false));
-        handlers.add(new RequestResponseBodyMethodProcessor(getMessageConverters(), this.contentNegotiationManager));
+        RequestResponseBodyMethodProcessor responseBodyProcessor =
+                new RequestResponseBodyMethodProcessor(getMessageConverters(), this.contentNegotiationManager);
+        responseBodyProcessor.setResponseCompression(this.responseCompression);
+        if (this.responseCache != null) {
+            handlers.add(new ResponseCachingReturnValueHandler(responseBodyProcessor, this.responseCache));
+        } else {
+            handlers.add(responseBodyProcessor);
+        }
 
         // Multi-purpose return value types
         handlers.add(new ViewNameMethodReturnValueHandler());
@@ -430,30 +530,58 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
                                                 HttpServletResponse response,
                                                 HandlerMethod handlerMethod) throws Exception {
 
-        if (getSessionAttributesHandler(handlerMethod).hasSessionAttributes()) {
+        InvocationPlan plan = getInvocationPlan(handlerMethod);
+        Object bean = handlerMethod.getBean();
+
+        String cacheControl = (String) request.getAttribute(HandlerMapping.CACHE_CONTROL_ATTRIBUTE);
+        if (plan.sessionAttributesHandler.hasSessionAttributes()) {
             checkAndPrepare(request, response, this.cacheSecondsForSessionAttributeHandlers, true);
+        } else if (cacheControl != null) {
+            // 映射上声明的缓存策略优先于全局的cacheSeconds
+            checkAndPrepare(request, response, -1, true);
+            applyCacheControl(response, cacheControl);
         } else {
             checkAndPrepare(request, response, true);
         }
 
+        // 声明了ETag时在这里检查，只有最后修改时间时已由DispatcherServlet通过getLastModified检查
+        LastModifiedResolver lastModifiedResolver = plan.lastModifiedResolver;
+        if (lastModifiedResolver != null && lastModifiedResolver.hasETag()) {
+            String method = request.getMethod();
+            if (("GET".equals(method) || "HEAD".equals(method)) &&
+                    lastModifiedResolver.checkNotModified(bean, request, response)) {
+                return null;
+            }
+        }
+
         if (this.synchronizeOnSession) {
             HttpSession session = request.getSession(false);
             if (session != null) {
                 Object mutex = WebUtils.getSessionMutex(session);
                 synchronized (mutex) {
-                    return invokeHandleMethod(request, response, handlerMethod);
+                    return invokeHandleMethod(request, response, plan, bean);
                 }
             }
         }
 
         // ==== 调用执行方法
-        return invokeHandleMethod(request, response, handlerMethod);
+        return invokeHandleMethod(request, response, plan, bean);
     }
 
 
     @Override
     protected long getLastModifiedInternal(HttpServletRequest request, HandlerMethod handlerMethod) {
-        return -1;
+        InvocationPlan plan;
+        try {
+            plan = getInvocationPlan(handlerMethod);
+        } catch (Exception ex) {
+            throw new IllegalStateException("Failed to prepare handler method " + handlerMethod, ex);
+        }
+        LastModifiedResolver lastModifiedResolver = plan.lastModifiedResolver;
+        if (lastModifiedResolver == null || lastModifiedResolver.hasETag()) {
+            return -1;
+        }
+        return lastModifiedResolver.getLastModified(handlerMethod.getBean(), request);
     }
 
     private SessionAttributesHandler getSessionAttributesHandler(HandlerMethod handlerMethod) {
@@ -475,53 +603,131 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
     }
 
     /**
-     * 实际执行执行请求对应的方法
+     * 获取bean类型和方法对应的调用计划，继承同一方法的不同bean和prototype bean的各个实例共享同一个计划
      */
-    private ModelAndView invokeHandleMethod(HttpServletRequest request,
-                                            HttpServletResponse response,
-                                            HandlerMethod handlerMethod) throws Exception {
+    private InvocationPlan getInvocationPlan(HandlerMethod handlerMethod) throws Exception {
+        InvocationPlanKey key = new InvocationPlanKey(handlerMethod.getBeanType(), handlerMethod.getMethod());
+        InvocationPlan plan = this.invocationPlanCache.get(key);
+        if (plan == null) {
+            plan = createInvocationPlan(handlerMethod);
+            InvocationPlan existing = this.invocationPlanCache.putIfAbsent(key, plan);
+            if (existing != null) {
+                plan = existing;
+            }
+        }
+        return plan;
+    }
 
-        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+    private InvocationPlan createInvocationPlan(HandlerMethod handlerMethod) throws Exception {
 
         // 创建数据绑定工厂
-        WebDataBinderFactory binderFactory = getDataBinderFactory(handlerMethod);
+        List<InvocableHandlerMethod> initBinderMethods = getInitBinderMethods(handlerMethod);
+        WebDataBinderFactory binderFactory = createDataBinderFactory(initBinderMethods);
 
-        ModelFactory modelFactory = getModelFactory(handlerMethod, binderFactory);
+        List<InvocableHandlerMethod> modelAttributeMethods = getModelAttributeMethods(handlerMethod, binderFactory);
+        SessionAttributesHandler sessionAttrHandler = getSessionAttributesHandler(handlerMethod);
+        ModelFactory modelFactory = new ModelFactory(modelAttributeMethods, binderFactory, sessionAttrHandler);
 
         ServletInvocableHandlerMethod invocableMethod = createRequestMappingMethod(handlerMethod, binderFactory);
 
-        ModelAndViewContainer mavContainer = new ModelAndViewContainer();
-        mavContainer.addAllAttributes(RequestContextUtils.getInputFlashMap(request));
+        return new InvocationPlan(invocableMethod, binderFactory, initBinderMethods, modelAttributeMethods,
+                modelFactory, sessionAttrHandler, LastModifiedResolver.forHandlerMethod(handlerMethod));
+    }
 
-        modelFactory.initModel(webRequest, mavContainer, invocableMethod);
-        mavContainer.setIgnoreDefaultModelOnRedirect(this.ignoreDefaultModelOnRedirect);
+    /**
+     * 计划中的调用对象绑定的bean与本次请求的bean不同时，复制一份调用本次请求bean的对象，不放入缓存
+     * <p>
+     * 复制的对象共享已准备好的参数解析器和invoker，只有声明了@InitBinder或@ModelAttribute方法时才重建对应的工厂
+     */
+    private InvocationPlan bindInvocationPlan(InvocationPlan plan, Object bean) throws Exception {
+        if (bean == plan.invocableMethod.getBean()) {
+            return plan;
+        }
 
-//        AsyncWebRequest asyncWebRequest = WebAsyncUtils.createAsyncWebRequest(request, response);
-//        asyncWebRequest.setTimeout(this.asyncRequestTimeout);
+        WebDataBinderFactory binderFactory = plan.binderFactory;
+        List<InvocableHandlerMethod> initBinderMethods = plan.initBinderMethods;
+        if (!initBinderMethods.isEmpty()) {
+            initBinderMethods = withBean(initBinderMethods, bean, null);
+            binderFactory = createDataBinderFactory(initBinderMethods);
+        }
 
-//        final WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
-//        asyncManager.setTaskExecutor(this.taskExecutor);
-//        asyncManager.setAsyncWebRequest(asyncWebRequest);
-//        asyncManager.registerCallableInterceptors(this.callableInterceptors);
-//        asyncManager.registerDeferredResultInterceptors(this.deferredResultInterceptors);
+        ModelFactory modelFactory = plan.modelFactory;
+        List<InvocableHandlerMethod> modelAttributeMethods = plan.modelAttributeMethods;
+        if (binderFactory != plan.binderFactory || !modelAttributeMethods.isEmpty()) {
+            modelAttributeMethods = withBean(modelAttributeMethods, bean, binderFactory);
+            modelFactory = new ModelFactory(modelAttributeMethods, binderFactory, plan.sessionAttributesHandler);
+        }
 
-//        if (asyncManager.hasConcurrentResult()) {
-//            Object result = asyncManager.getConcurrentResult();
-//            mavContainer = (ModelAndViewContainer) asyncManager.getConcurrentResultContext()[0];
-//            asyncManager.clearConcurrentResult();
-//
-//            if (logger.isDebugEnabled()) {
-//                logger.debug("Found concurrent result value [" + result + "]");
-//            }
-//            requestMappingMethod = requestMappingMethod.wrapConcurrentResult(result);
-//        }
+        ServletInvocableHandlerMethod invocableMethod = plan.invocableMethod.withBean(bean);
+        invocableMethod.setDataBinderFactory(binderFactory);
+
+        return new InvocationPlan(invocableMethod, binderFactory, initBinderMethods, modelAttributeMethods,
+                modelFactory, plan.sessionAttributesHandler, plan.lastModifiedResolver);
+    }
+
+    private static List<InvocableHandlerMethod> withBean(List<InvocableHandlerMethod> methods,
+                                                         Object bean,
+                                                         WebDataBinderFactory binderFactory) {
+
+        List<InvocableHandlerMethod> result = new ArrayList<>(methods.size());
+        for (InvocableHandlerMethod method : methods) {
+            InvocableHandlerMethod boundMethod = method.withBean(bean);
+            if (binderFactory != null) {
+                boundMethod.setDataBinderFactory(binderFactory);
+            }
+            result.add(boundMethod);
+        }
+        return result;
+    }
+
+    /**
+     * 实际执行执行请求对应的方法
+     */
+    private ModelAndView invokeHandleMethod(HttpServletRequest request,
+                                            HttpServletResponse response,
+                                            InvocationPlan plan,
+                                            Object bean) throws Exception {
+
+        plan = bindInvocationPlan(plan, bean);
+
+        // 异步请求同时作为普通请求的webRequest使用
+        StandardServletAsyncWebRequest webRequest = new StandardServletAsyncWebRequest(request, response);
+        webRequest.setTimeout(this.asyncRequestTimeout);
+
+        ModelFactory modelFactory = plan.modelFactory;
+
+        ServletInvocableHandlerMethod invocableMethod = plan.invocableMethod;
+
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setTaskExecutor(this.taskExecutor);
+        asyncManager.setAsyncWebRequest(webRequest);
+
+        ModelAndViewContainer mavContainer;
+        if (asyncManager.hasConcurrentResult()) {
+            // 异步处理结果重新分派回来，沿用异步处理开始时的mavContainer
+            Object result = asyncManager.getConcurrentResult();
+            mavContainer = (ModelAndViewContainer) asyncManager.getConcurrentResultContext()[0];
+            asyncManager.clearConcurrentResult();
+
+            if (logger.isDebugEnabled()) {
+                logger.debug("Found concurrent result value [" + result + "]");
+            }
+            invocableMethod = invocableMethod.wrapConcurrentResult(result);
+        } else {
+            mavContainer = new ModelAndViewContainer();
+            mavContainer.addAllAttributes(RequestContextUtils.getInputFlashMap(request));
+
+            modelFactory.initModel(webRequest, mavContainer, invocableMethod);
+            mavContainer.setIgnoreDefaultModelOnRedirect(this.ignoreDefaultModelOnRedirect);
+        }
 
         // ==== 调用处理请求的方法，处理结果放入mavContainer
         invocableMethod.invokeAndHandle(webRequest, mavContainer);
 
-//        if (asyncManager.isConcurrentHandlingStarted()) {
-//            return null;
-//        }
+        // 已进入异步处理，结果就绪后重新分派请求时再生成视图
+        if (asyncManager.isConcurrentHandlingStarted()) {
+            return null;
+        }
 
         // 请求处理结果数据转换成视图
         return getModelAndView(mavContainer, modelFactory, webRequest);
@@ -536,11 +742,15 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
         requestMethod.setHandlerMethodReturnValueHandlers(this.returnValueHandlers);
         requestMethod.setDataBinderFactory(binderFactory);
         requestMethod.setParameterNameDiscoverer(this.parameterNameDiscoverer);
+        requestMethod.prepareArgumentResolvers();
+        if (this.useGeneratedInvokers) {
+            requestMethod.useGeneratedInvoker();
+        }
         return requestMethod;
     }
 
-    private ModelFactory getModelFactory(HandlerMethod handlerMethod, WebDataBinderFactory binderFactory) {
-        SessionAttributesHandler sessionAttrHandler = getSessionAttributesHandler(handlerMethod);
+    private List<InvocableHandlerMethod> getModelAttributeMethods(HandlerMethod handlerMethod,
+                                                                  WebDataBinderFactory binderFactory) {
         Class<?> handlerType = handlerMethod.getBeanType();
         Set<Method> methods = this.modelAttributeCache.get(handlerType);
         if (methods == null) {
@@ -559,7 +769,7 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
             Object bean = handlerMethod.getBean();
             attrMethods.add(createModelAttributeMethod(binderFactory, bean, method));
         }
-        return new ModelFactory(attrMethods, binderFactory, sessionAttrHandler);
+        return attrMethods;
     }
 
     private InvocableHandlerMethod createModelAttributeMethod(WebDataBinderFactory factory, Object bean, Method method) {
@@ -567,10 +777,13 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
         attrMethod.setHandlerMethodArgumentResolvers(this.argumentResolvers);
         attrMethod.setParameterNameDiscoverer(this.parameterNameDiscoverer);
         attrMethod.setDataBinderFactory(factory);
+        if (this.useGeneratedInvokers) {
+            attrMethod.useGeneratedInvoker();
+        }
         return attrMethod;
     }
 
-    private WebDataBinderFactory getDataBinderFactory(HandlerMethod handlerMethod) throws Exception {
+    private List<InvocableHandlerMethod> getInitBinderMethods(HandlerMethod handlerMethod) {
         Class<?> handlerType = handlerMethod.getBeanType();
         Set<Method> methods = this.initBinderCache.get(handlerType);
         if (methods == null) {
@@ -589,7 +802,7 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
             Object bean = handlerMethod.getBean();
             initBinderMethods.add(createInitBinderMethod(bean, method));
         }
-        return createDataBinderFactory(initBinderMethods);
+        return initBinderMethods;
     }
 
     private InvocableHandlerMethod createInitBinderMethod(Object bean, Method method) {
@@ -602,6 +815,10 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 
         binderMethod.setParameterNameDiscoverer(this.parameterNameDiscoverer);
 
+        if (this.useGeneratedInvokers) {
+            binderMethod.useGeneratedInvoker();
+        }
+
         return binderMethod;
     }
 
@@ -636,6 +853,76 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
         return mav;
     }
 
+    /**
+     * 处理请求的方法的调用计划，包含与请求无关、可在线程间共享的调用对象
+     * <p>
+     * 每次请求只需创建ModelAndViewContainer和webRequest
+     */
+    private static final class InvocationPlan {
+
+        private final ServletInvocableHandlerMethod invocableMethod;
+
+        private final WebDataBinderFactory binderFactory;
+
+        private final List<InvocableHandlerMethod> initBinderMethods;
+
+        private final List<InvocableHandlerMethod> modelAttributeMethods;
+
+        private final ModelFactory modelFactory;
+
+        private final SessionAttributesHandler sessionAttributesHandler;
+
+        private final LastModifiedResolver lastModifiedResolver;
+
+        private InvocationPlan(ServletInvocableHandlerMethod invocableMethod,
+                               WebDataBinderFactory binderFactory,
+                               List<InvocableHandlerMethod> initBinderMethods,
+                               List<InvocableHandlerMethod> modelAttributeMethods,
+                               ModelFactory modelFactory,
+                               SessionAttributesHandler sessionAttributesHandler,
+                               LastModifiedResolver lastModifiedResolver) {
+            this.invocableMethod = invocableMethod;
+            this.binderFactory = binderFactory;
+            this.initBinderMethods = initBinderMethods;
+            this.modelAttributeMethods = modelAttributeMethods;
+            this.modelFactory = modelFactory;
+            this.sessionAttributesHandler = sessionAttributesHandler;
+            this.lastModifiedResolver = lastModifiedResolver;
+        }
+    }
+
+    /**
+     * 调用计划的缓存key，按bean类型区分继承同一方法的不同controller
+     */
+    private static final class InvocationPlanKey {
+
+        private final Class<?> beanType;
+
+        private final Method method;
+
+        private InvocationPlanKey(Class<?> beanType, Method method) {
+            this.beanType = beanType;
+            this.method = method;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof InvocationPlanKey)) {
+                return false;
+            }
+            InvocationPlanKey otherKey = (InvocationPlanKey) other;
+            return (this.beanType == otherKey.beanType && this.method.equals(otherKey.method));
+        }
+
+        @Override
+        public int hashCode() {
+            return this.beanType.hashCode() * 31 + this.method.hashCode();
+        }
+    }
+
     public static final MethodFilter INIT_BINDER_METHODS = new MethodFilter() {
 
         public boolean matches(Method method) {
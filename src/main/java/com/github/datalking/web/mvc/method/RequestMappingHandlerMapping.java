@@ -1,6 +1,7 @@
 package com.github.datalking.web.mvc.method;
 
 import com.github.datalking.annotation.Controller;
+import com.github.datalking.annotation.web.CacheControl;
 import com.github.datalking.annotation.web.RequestMapping;
 import com.github.datalking.common.StringValueResolver;
 import com.github.datalking.context.EmbeddedValueResolverAware;
@@ -126,10 +127,58 @@ public class RequestMappingHandlerMapping extends RequestMappingInfoHandlerMappi
 
                 info = createRequestMappingInfo(typeAnnotation, typeCondition).combine(info);
             }
+
+            CacheControl cacheControl = AnnotationUtils.findAnnotation(method, CacheControl.class);
+            if (cacheControl == null) {
+                cacheControl = AnnotationUtils.findAnnotation(handlerType, CacheControl.class);
+            }
+            if (cacheControl != null) {
+                info = new RequestMappingInfo(info.getPatternsCondition(), info.getMethodsCondition(),
+                        info.getParamsCondition(), info.getHeadersCondition(), info.getConsumesCondition(),
+                        info.getProducesCondition(), info.getCustomCondition(), createCacheControlHeader(cacheControl));
+            }
         }
         return info;
     }
 
+    /**
+     * 将@CacheControl转换为Cache-Control响应头的值
+     * <p>
+     * 声明noStore时只输出no-store，其他允许缓存的指令与之矛盾，忽略
+     */
+    protected String createCacheControlHeader(CacheControl cacheControl) {
+        if (cacheControl.noStore()) {
+            return "no-store";
+        }
+        StringBuilder sb = new StringBuilder();
+        if (cacheControl.noCache()) {
+            appendDirective(sb, "no-cache");
+        }
+        if (cacheControl.maxAge() >= 0) {
+            appendDirective(sb, cacheControl.cachePrivate() ? "private" : "public");
+            appendDirective(sb, "max-age=" + cacheControl.maxAge());
+        } else if (cacheControl.cachePrivate()) {
+            appendDirective(sb, "private");
+        }
+        if (cacheControl.sMaxAge() >= 0) {
+            appendDirective(sb, "s-maxage=" + cacheControl.sMaxAge());
+        }
+        if (cacheControl.mustRevalidate()) {
+            appendDirective(sb, "must-revalidate");
+        }
+        if (cacheControl.immutable()) {
+            appendDirective(sb, "immutable");
+        }
+        return (sb.length() > 0 ? sb.toString() : null);
+    }
+
+    private static void appendDirective(StringBuilder sb, String directive) {
+        if (sb.length() > 0) {
+            sb.append(", ");
+        }
+        sb.append(directive);
+    }
+
     protected RequestCondition<?> getCustomTypeCondition(Class<?> handlerType) {
         return null;
     }
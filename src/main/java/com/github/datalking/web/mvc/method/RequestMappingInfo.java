@@ -32,6 +32,9 @@ public class RequestMappingInfo implements RequestCondition<RequestMappingInfo>
 
     private final RequestConditionHolder customConditionHolder;
 
+    // 预先生成的Cache-Control响应头，不参与请求匹配
+    private final String cacheControl;
+
     public RequestMappingInfo(PatternsRequestCondition patterns,
                               RequestMethodsRequestCondition methods,
                               ParamsRequestCondition params,
@@ -40,6 +43,18 @@ public class RequestMappingInfo implements RequestCondition<RequestMappingInfo>
                               ProducesRequestCondition produces,
                               RequestCondition<?> custom) {
 
+        this(patterns, methods, params, headers, consumes, produces, custom, null);
+    }
+
+    public RequestMappingInfo(PatternsRequestCondition patterns,
+                              RequestMethodsRequestCondition methods,
+                              ParamsRequestCondition params,
+                              HeadersRequestCondition headers,
+                              ConsumesRequestCondition consumes,
+                              ProducesRequestCondition produces,
+                              RequestCondition<?> custom,
+                              String cacheControl) {
+
         this.patternsCondition = (patterns != null ? patterns : new PatternsRequestCondition());
         this.methodsCondition = (methods != null ? methods : new RequestMethodsRequestCondition());
         this.paramsCondition = (params != null ? params : new ParamsRequestCondition());
@@ -47,6 +62,7 @@ public class RequestMappingInfo implements RequestCondition<RequestMappingInfo>
         this.consumesCondition = (consumes != null ? consumes : new ConsumesRequestCondition());
         this.producesCondition = (produces != null ? produces : new ProducesRequestCondition());
         this.customConditionHolder = new RequestConditionHolder(custom);
+        this.cacheControl = cacheControl;
     }
 
     public RequestMappingInfo(RequestMappingInfo info, RequestCondition<?> customRequestCondition) {
@@ -56,7 +72,8 @@ public class RequestMappingInfo implements RequestCondition<RequestMappingInfo>
                 info.headersCondition,
                 info.consumesCondition,
                 info.producesCondition,
-                customRequestCondition);
+                customRequestCondition,
+                info.cacheControl);
     }
 
     public PatternsRequestCondition getPatternsCondition() {
@@ -87,6 +104,10 @@ public class RequestMappingInfo implements RequestCondition<RequestMappingInfo>
         return this.customConditionHolder.getCondition();
     }
 
+    public String getCacheControl() {
+        return this.cacheControl;
+    }
+
     public RequestMappingInfo combine(RequestMappingInfo other) {
         PatternsRequestCondition patterns = this.patternsCondition.combine(other.patternsCondition);
         RequestMethodsRequestCondition methods = this.methodsCondition.combine(other.methodsCondition);
@@ -95,8 +116,10 @@ public class RequestMappingInfo implements RequestCondition<RequestMappingInfo>
         ConsumesRequestCondition consumes = this.consumesCondition.combine(other.consumesCondition);
         ProducesRequestCondition produces = this.producesCondition.combine(other.producesCondition);
         RequestConditionHolder custom = this.customConditionHolder.combine(other.customConditionHolder);
+        String cacheControl = (other.cacheControl != null ? other.cacheControl : this.cacheControl);
 
-        return new RequestMappingInfo(patterns, methods, params, headers, consumes, produces, custom.getCondition());
+        return new RequestMappingInfo(patterns, methods, params, headers, consumes, produces, custom.getCondition(),
+                cacheControl);
     }
 
     public RequestMappingInfo getMatchingCondition(HttpServletRequest request) {
@@ -120,7 +143,8 @@ public class RequestMappingInfo implements RequestCondition<RequestMappingInfo>
             return null;
         }
 
-        return new RequestMappingInfo(patterns, methods, params, headers, consumes, produces, custom.getCondition());
+        return new RequestMappingInfo(patterns, methods, params, headers, consumes, produces, custom.getCondition(),
+                this.cacheControl);
     }
 
     public int compareTo(RequestMappingInfo other, HttpServletRequest request) {
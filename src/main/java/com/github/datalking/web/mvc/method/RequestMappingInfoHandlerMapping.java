@@ -77,6 +77,13 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
             Set<MediaType> mediaTypes = info.getProducesCondition().getProducibleMediaTypes();
             request.setAttribute(PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE, mediaTypes);
         }
+
+        // 请求转发后匹配到没有@CacheControl的方法时，不能沿用转发前方法的缓存策略
+        if (info.getCacheControl() != null) {
+            request.setAttribute(CACHE_CONTROL_ATTRIBUTE, info.getCacheControl());
+        } else {
+            request.removeAttribute(CACHE_CONTROL_ATTRIBUTE);
+        }
     }
 
     private boolean isMatrixVariableContentAvailable() {
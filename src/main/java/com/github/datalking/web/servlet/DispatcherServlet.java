@@ -7,11 +7,13 @@ import com.github.datalking.util.ClassUtils;
 import com.github.datalking.util.StringUtils;
 import com.github.datalking.util.web.WebUtils;
 import com.github.datalking.web.context.WebApplicationContext;
+import com.github.datalking.web.context.request.async.WebAsyncUtils;
 import com.github.datalking.web.mvc.ModelAndView;
 import com.github.datalking.web.mvc.View;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -21,10 +23,12 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 /**
  * http请求的中心控制器
@@ -154,8 +158,8 @@ public class DispatcherServlet extends FrameworkServlet {
     @Override
     protected void doService(HttpServletRequest request, HttpServletResponse response) throws Exception {
         if (logger.isDebugEnabled()) {
-//            String resumed = WebAsyncUtils.getAsyncManager(request).hasConcurrentResult() ? " resumed" : "";
-            logger.debug("DispatcherServlet with name '" + getServletName() + "'" + " processing " + request.getMethod() + " request for [" + getRequestUri(request) + "]");
+            String resumed = (request.getDispatcherType() == DispatcherType.ASYNC) ? " resumed" : "";
+            logger.debug("DispatcherServlet with name '" + getServletName() + "'" + resumed + " processing " + request.getMethod() + " request for [" + getRequestUri(request) + "]");
         }
 
         // 保存include情况下请求属性的快照
@@ -188,12 +192,12 @@ public class DispatcherServlet extends FrameworkServlet {
             // ==== 转发到合适控制器Controller
             doDispatch(request, response);
         } finally {
-//            if (!WebAsyncUtils.getAsyncManager(request).isConcurrentHandlingStarted()) {
-//                // Restore the original attribute snapshot, in case of an include.
-//                if (attributesSnapshot != null) {
-//                    restoreAttributesAfterInclude(request, attributesSnapshot);
-//                }
-//            }
+            // 异步处理中的请求仍在使用这些属性，不能恢复
+            if (!WebAsyncUtils.isConcurrentHandlingStarted(request)) {
+                if (attributesSnapshot != null) {
+                    restoreAttributesAfterInclude(request, attributesSnapshot);
+                }
+            }
         }
     }
 
@@ -208,7 +212,6 @@ public class DispatcherServlet extends FrameworkServlet {
         HandlerExecutionChain handlerExecutionChain = null;
 
 //        boolean multipartRequestParsed = false;
-//        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
 
         try {
             // 响应的视图
@@ -251,9 +254,10 @@ public class DispatcherServlet extends FrameworkServlet {
                 // ==== 实际执行请求处理方法，包括 参数解析、返回结果处理
                 mv = ha.handle(processedRequest, response, handler);
 
-//                if (asyncManager.isConcurrentHandlingStarted()) {
-//                    return;
-//                }
+                // 已进入异步处理，视图渲染在请求重新分派后进行
+                if (WebAsyncUtils.isConcurrentHandlingStarted(request)) {
+                    return;
+                }
 
                 // 视图名翻译，只有当view名不存在时才执行
                 applyDefaultViewName(request, mv);
@@ -272,12 +276,13 @@ public class DispatcherServlet extends FrameworkServlet {
         } catch (Error err) {
             triggerAfterCompletionWithError(processedRequest, response, handlerExecutionChain, err);
         } finally {
-//            if (asyncManager.isConcurrentHandlingStarted()) {
-//                // Instead of postHandle and afterCompletion
-//                if (mappedHandler != null) {
-//                    mappedHandler.applyAfterConcurrentHandlingStarted(processedRequest, response);
-//                }
-//            } else {
+            // 异步处理开始时代替postHandle和afterCompletion
+            if (WebAsyncUtils.isConcurrentHandlingStarted(request)) {
+                if (handlerExecutionChain != null) {
+                    handlerExecutionChain.applyAfterConcurrentHandlingStarted(processedRequest, response);
+                }
+            }
+//            else {
             // Clean up any resources used by a multipart request.
 //                if (multipartRequestParsed) {
 //                    cleanupMultipart(processedRequest);
@@ -330,10 +335,10 @@ public class DispatcherServlet extends FrameworkServlet {
             }
         }
 
-//        if (WebAsyncUtils.getAsyncManager(request).isConcurrentHandlingStarted()) {
-//            // Concurrent handling started during a forward
-//            return;
-//        }
+        if (WebAsyncUtils.isConcurrentHandlingStarted(request)) {
+            // 在forward过程中开始了异步处理
+            return;
+        }
 
         if (mappedHandler != null) {
             mappedHandler.triggerAfterCompletion(request, response, null);
@@ -689,6 +694,30 @@ public class DispatcherServlet extends FrameworkServlet {
         throw ex;
     }
 
+    /**
+     * include请求结束后恢复请求属性的快照
+     */
+    private void restoreAttributesAfterInclude(HttpServletRequest request, Map<String, Object> attributesSnapshot) {
+        Set<String> attrsToCheck = new HashSet<>();
+        Enumeration<?> attrNames = request.getAttributeNames();
+        while (attrNames.hasMoreElements()) {
+            String attrName = (String) attrNames.nextElement();
+            if (attrName.startsWith("com.github.datalking.web.servlet")) {
+                attrsToCheck.add(attrName);
+            }
+        }
+        attrsToCheck.addAll(attributesSnapshot.keySet());
+
+        for (String attrName : attrsToCheck) {
+            Object attrValue = attributesSnapshot.get(attrName);
+            if (attrValue == null) {
+                request.removeAttribute(attrName);
+            } else if (attrValue != request.getAttribute(attrName)) {
+                request.setAttribute(attrName, attrValue);
+            }
+        }
+    }
+
     private static String getRequestUri(HttpServletRequest request) {
         String uri = (String) request.getAttribute(WebUtils.INCLUDE_REQUEST_URI_ATTRIBUTE);
         if (uri == null) {
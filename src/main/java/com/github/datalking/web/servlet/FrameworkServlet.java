@@ -15,6 +15,7 @@ import com.github.datalking.web.context.ConfigurableWebApplicationContext;
 import com.github.datalking.web.context.ContextLoader;
 import com.github.datalking.web.context.WebApplicationContext;
 import com.github.datalking.web.context.request.RequestContextHolder;
+import com.github.datalking.web.context.request.async.WebAsyncUtils;
 import com.github.datalking.web.http.RequestAttributes;
 import com.github.datalking.web.http.RequestMethod;
 
@@ -132,9 +133,6 @@ public abstract class FrameworkServlet extends HttpServletBean {
         RequestAttributes previousAttributes = RequestContextHolder.getRequestAttributes();
         ServletRequestAttributes requestAttributes = buildRequestAttributes(request, response, previousAttributes);
 
-        //WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
-        //asyncManager.registerCallableInterceptor(FrameworkServlet.class.getName(), new RequestBindingInterceptor());
-
         initContextHolders(request, requestAttributes);
 
         try {
@@ -155,11 +153,11 @@ public abstract class FrameworkServlet extends HttpServletBean {
                 if (failureCause != null) {
                     this.logger.debug("Could not complete request", failureCause);
                 } else {
-//                    if (asyncManager.isConcurrentHandlingStarted()) {
-//                        logger.debug("Leaving response open for concurrent processing");
-//                    } else {
-                    this.logger.debug("Successfully completed request");
-//                    }
+                    if (WebAsyncUtils.isConcurrentHandlingStarted(request)) {
+                        logger.debug("Leaving response open for concurrent processing");
+                    } else {
+                        this.logger.debug("Successfully completed request");
+                    }
                 }
             }
 
@@ -129,16 +129,11 @@ public class HandlerExecutionChain {
         HandlerInterceptor[] interceptors = getInterceptors();
         if (!ObjectUtils.isEmpty(interceptors)) {
             for (int i = interceptors.length - 1; i >= 0; i--) {
-
-//                if (interceptors[i] instanceof AsyncHandlerInterceptor) {
-//                    try {
-//                        AsyncHandlerInterceptor asyncInterceptor = (AsyncHandlerInterceptor) interceptors[i];
-//                        asyncInterceptor.afterConcurrentHandlingStarted(request, response, this.handler);
-//                    } catch (Throwable ex) {
-//                        logger.error("Interceptor [" + interceptors[i] + "] failed in afterConcurrentHandlingStarted", ex);
-//                    }
-//                }
-
+                try {
+                    interceptors[i].afterConcurrentHandlingStarted(request, response, this.handler);
+                } catch (Throwable ex) {
+                    logger.error("Interceptor [" + interceptors[i] + "] failed in afterConcurrentHandlingStarted", ex);
+                }
             }
         }
     }
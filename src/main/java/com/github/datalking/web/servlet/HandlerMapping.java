@@ -22,6 +22,9 @@ public interface HandlerMapping {
 
     String PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE = HandlerMapping.class.getName() + ".producibleMediaTypes";
 
+    // 映射上声明的Cache-Control响应头的值
+    String CACHE_CONTROL_ATTRIBUTE = HandlerMapping.class.getName() + ".cacheControl";
+
     // 接收http请求的输入，返回执行链
     HandlerExecutionChain getHandler(HttpServletRequest request);
 
@@ -4,10 +4,10 @@ import com.github.datalking.common.GenericTypeResolver;
 import com.github.datalking.common.LocalVariableTableParameterNameDiscoverer;
 import com.github.datalking.common.MethodParameter;
 import com.github.datalking.common.ParameterNameDiscoverer;
-import com.github.datalking.util.ReflectionUtils;
 import com.github.datalking.web.bind.WebDataBinderFactory;
 import com.github.datalking.web.context.request.WebRequest;
 import com.github.datalking.web.mvc.method.HandlerMethod;
+import com.github.datalking.web.support.HandlerMethodArgumentResolver;
 import com.github.datalking.web.support.HandlerMethodArgumentResolverComposite;
 import com.github.datalking.web.support.ModelAndViewContainer;
 
@@ -28,6 +28,9 @@ public class InvocableHandlerMethod extends HandlerMethod {
 
     private ParameterNameDiscoverer parameterNameDiscoverer = new LocalVariableTableParameterNameDiscoverer();
 
+    // 每个参数对应的解析器，索引与getMethodParameters()一致，null表示没有支持该参数的解析器
+    private volatile HandlerMethodArgumentResolver[] parameterResolvers;
+
     public InvocableHandlerMethod(HandlerMethod handlerMethod) {
         super(handlerMethod);
     }
@@ -42,16 +45,73 @@ public class InvocableHandlerMethod extends HandlerMethod {
         super(bean, methodName, parameterTypes);
     }
 
+    /**
+     * 调用另一个bean的副本，共享已准备好的参数解析器和invoker
+     */
+    protected InvocableHandlerMethod(InvocableHandlerMethod handlerMethod, Object bean) {
+        super(handlerMethod, bean);
+        this.dataBinderFactory = handlerMethod.dataBinderFactory;
+        this.argumentResolvers = handlerMethod.argumentResolvers;
+        this.parameterNameDiscoverer = handlerMethod.parameterNameDiscoverer;
+        this.parameterResolvers = handlerMethod.parameterResolvers;
+    }
+
+    /**
+     * 获取调用指定bean的方法，bean相同时返回自身
+     */
+    public InvocableHandlerMethod withBean(Object bean) {
+        return (bean == getBean() ? this : new InvocableHandlerMethod(this, bean));
+    }
+
     public void setDataBinderFactory(WebDataBinderFactory dataBinderFactory) {
         this.dataBinderFactory = dataBinderFactory;
     }
 
     public void setHandlerMethodArgumentResolvers(HandlerMethodArgumentResolverComposite argumentResolvers) {
         this.argumentResolvers = argumentResolvers;
+        this.parameterResolvers = null;
     }
 
     public void setParameterNameDiscoverer(ParameterNameDiscoverer parameterNameDiscoverer) {
         this.parameterNameDiscoverer = parameterNameDiscoverer;
+        this.parameterResolvers = null;
+    }
+
+    /**
+     * 预先为每个参数设置参数名解析、确定泛型类型和参数解析器，之后每次请求直接按索引取解析器
+     */
+    public void prepareArgumentResolvers() {
+        MethodParameter[] parameters = getMethodParameters();
+        HandlerMethodArgumentResolver[] resolvers = new HandlerMethodArgumentResolver[parameters.length];
+        Class<?> beanClass = getBean().getClass();
+
+        for (int i = 0; i < parameters.length; i++) {
+            MethodParameter parameter = parameters[i];
+            parameter.initParameterNameDiscovery(this.parameterNameDiscoverer);
+            GenericTypeResolver.resolveParameterType(parameter, beanClass);
+            resolvers[i] = this.argumentResolvers.getArgumentResolver(parameter);
+        }
+
+        this.parameterResolvers = resolvers;
+    }
+
+    /**
+     * 检查所有参数都有对应的解析器，用于在启动时而不是首次请求时发现不支持的参数
+     */
+    public void assertArgumentsResolvable() {
+        HandlerMethodArgumentResolver[] resolvers = getParameterResolvers();
+        for (int i = 0; i < resolvers.length; i++) {
+            if (resolvers[i] == null) {
+                throw new IllegalStateException(getArgumentResolutionErrorMessage("No suitable resolver for argument", i));
+            }
+        }
+    }
+
+    private HandlerMethodArgumentResolver[] getParameterResolvers() {
+        if (this.parameterResolvers == null) {
+            prepareArgumentResolvers();
+        }
+        return this.parameterResolvers;
     }
 
     public final Object invokeForRequest(WebRequest request,
@@ -70,22 +130,17 @@ public class InvocableHandlerMethod extends HandlerMethod {
     /**
      * 解析请求参数
      */
-    private Object[] getMethodArgumentValues(WebRequest request,
+    protected Object[] getMethodArgumentValues(WebRequest request,
                                              ModelAndViewContainer mavContainer,
                                              Object... providedArgs) throws Exception {
 
         // 获取所有传入参数
         MethodParameter[] parameters = getMethodParameters();
+        HandlerMethodArgumentResolver[] resolvers = getParameterResolvers();
         Object[] args = new Object[parameters.length];
 
         for (int i = 0; i < parameters.length; i++) {
             MethodParameter parameter = parameters[i];
-            // 设置 LocalVariableTableParameterNameDiscoverer
-            parameter.initParameterNameDiscovery(this.parameterNameDiscoverer);
-
-            // 设置parameter类型为clazz
-            Class clazz = getBean().getClass();
-            GenericTypeResolver.resolveParameterType(parameter, clazz);
 
             // 检验parameter的类型是否为providedArgs
             args[i] = resolveProvidedArgument(parameter, providedArgs);
@@ -95,20 +150,14 @@ public class InvocableHandlerMethod extends HandlerMethod {
                 continue;
             }
 
-            if (this.argumentResolvers.supportsParameter(parameter)) {
-                try {
-                    // 解析第i个参数
-                    args[i] = this.argumentResolvers.resolveArgument(parameter, mavContainer, request, this.dataBinderFactory);
-                    continue;
-                } catch (Exception ex) {
-                    throw ex;
-                }
+            if (resolvers[i] != null) {
+                // 解析第i个参数
+                args[i] = resolvers[i].resolveArgument(parameter, mavContainer, request, this.dataBinderFactory);
+                continue;
             }
 
-            if (args[i] == null) {
-                String msg = getArgumentResolutionErrorMessage("No suitable resolver for argument", i);
-                throw new IllegalStateException(msg);
-            }
+            String msg = getArgumentResolutionErrorMessage("No suitable resolver for argument", i);
+            throw new IllegalStateException(msg);
         }
 
         return args;
@@ -147,12 +196,11 @@ public class InvocableHandlerMethod extends HandlerMethod {
      */
     protected Object doInvoke(Object... args) throws Exception {
         Method bm = getBridgedMethod();
-        ReflectionUtils.makeAccessible(bm);
         try {
             Object obj = getBean();
 
-            // ==== 通过java反射调用对象的方法，即调用Controller中匹配的方法
-            return bm.invoke(obj, args);
+            // ==== 调用对象的方法，即调用Controller中匹配的方法
+            return getInvoker().invoke(obj, args);
         } catch (IllegalArgumentException ex) {
             assertTargetBean(bm, getBean(), args);
             String message = (ex.getMessage() != null ? ex.getMessage() : "Illegal argument");
@@ -120,26 +120,10 @@ public class ServletWebRequest extends ServletRequestAttributes implements WebRe
         return getRequest().isSecure();
     }
 
-    @SuppressWarnings("deprecation")
     public boolean checkNotModified(long lastModifiedTimestamp) {
         if (lastModifiedTimestamp >= 0 && !this.notModified &&
                 (this.response == null || !this.response.containsHeader(HEADER_LAST_MODIFIED))) {
-            long ifModifiedSince = -1;
-            try {
-                ifModifiedSince = getRequest().getDateHeader(HEADER_IF_MODIFIED_SINCE);
-            } catch (IllegalArgumentException ex) {
-                String headerValue = getRequest().getHeader(HEADER_IF_MODIFIED_SINCE);
-                // Possibly an IE 10 style value: "Wed, 09 Apr 2014 09:57:42 GMT; length=13774"
-                int separatorIndex = headerValue.indexOf(';');
-                if (separatorIndex != -1) {
-                    String datePart = headerValue.substring(0, separatorIndex);
-                    try {
-                        ifModifiedSince = Date.parse(datePart);
-                    } catch (IllegalArgumentException ex2) {
-                        // Giving up
-                    }
-                }
-            }
+            long ifModifiedSince = getIfModifiedSince();
             this.notModified = (ifModifiedSince >= (lastModifiedTimestamp / 1000 * 1000));
             if (this.response != null) {
                 if (this.notModified && supportsNotModifiedStatus()) {
@@ -169,6 +153,77 @@ public class ServletWebRequest extends ServletRequestAttributes implements WebRe
         return this.notModified;
     }
 
+    /**
+     * 同时校验ETag和最后修改时间，请求带有If-None-Match时忽略If-Modified-Since
+     * <p>
+     * 无论是否返回304，都会设置ETag和Last-Modified响应头
+     */
+    public boolean checkNotModified(String etag, long lastModifiedTimestamp) {
+        if (this.notModified) {
+            return true;
+        }
+
+        String ifNoneMatch = getRequest().getHeader(HEADER_IF_NONE_MATCH);
+        if (StringUtils.hasLength(etag) && ifNoneMatch != null) {
+            this.notModified = matchesETag(etag, ifNoneMatch);
+        } else if (lastModifiedTimestamp >= 0) {
+            long ifModifiedSince = getIfModifiedSince();
+            this.notModified = (ifModifiedSince >= (lastModifiedTimestamp / 1000 * 1000));
+        }
+
+        if (this.response != null) {
+            if (this.notModified && supportsNotModifiedStatus()) {
+                this.response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            }
+            if (StringUtils.hasLength(etag) && !this.response.containsHeader(HEADER_ETAG)) {
+                this.response.setHeader(HEADER_ETAG, etag);
+            }
+            if (lastModifiedTimestamp >= 0 && !this.response.containsHeader(HEADER_LAST_MODIFIED)) {
+                this.response.setDateHeader(HEADER_LAST_MODIFIED, lastModifiedTimestamp);
+            }
+        }
+        return this.notModified;
+    }
+
+    /**
+     * If-None-Match可以是*或逗号分隔的多个ETag，按弱比较匹配
+     */
+    private static boolean matchesETag(String etag, String ifNoneMatch) {
+        String etagToMatch = stripWeakPrefix(etag);
+        for (String candidate : StringUtils.commaDelimitedListToStringArray(ifNoneMatch)) {
+            candidate = candidate.trim();
+            if ("*".equals(candidate) || etagToMatch.equals(stripWeakPrefix(candidate))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeakPrefix(String etag) {
+        return (etag.startsWith("W/") ? etag.substring(2) : etag);
+    }
+
+    @SuppressWarnings("deprecation")
+    private long getIfModifiedSince() {
+        long ifModifiedSince = -1;
+        try {
+            ifModifiedSince = getRequest().getDateHeader(HEADER_IF_MODIFIED_SINCE);
+        } catch (IllegalArgumentException ex) {
+            String headerValue = getRequest().getHeader(HEADER_IF_MODIFIED_SINCE);
+            // Possibly an IE 10 style value: "Wed, 09 Apr 2014 09:57:42 GMT; length=13774"
+            int separatorIndex = headerValue.indexOf(';');
+            if (separatorIndex != -1) {
+                String datePart = headerValue.substring(0, separatorIndex);
+                try {
+                    ifModifiedSince = Date.parse(datePart);
+                } catch (IllegalArgumentException ex2) {
+                    // Giving up
+                }
+            }
+        }
+        return ifModifiedSince;
+    }
+
     private boolean supportsNotModifiedStatus() {
         String method = getRequest().getMethod();
         return (METHOD_GET.equals(method) || METHOD_HEAD.equals(method));
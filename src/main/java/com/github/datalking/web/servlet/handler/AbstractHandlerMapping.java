@@ -16,6 +16,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author yaoo on 4/28/18
@@ -23,6 +24,9 @@ import java.util.Map;
 public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
         implements HandlerMapping, Ordered {
 
+    // 固定路径的映射数量有限，超出时不再缓存，避免无模式的映射按任意路径无限增长
+    private static final int INTERCEPTOR_PLAN_CACHE_LIMIT = 1024;
+
     // default: same as non-Ordered
     private int order = Integer.MAX_VALUE;
 
@@ -38,6 +42,12 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 
     private final List<MappedInterceptor> mappedInterceptors = new ArrayList<>();
 
+    // 不区分路径时使用的拦截器列表，路径相关的拦截器在请求时匹配
+    private volatile InterceptorPlan defaultInterceptorPlan;
+
+    // 查找路径就是映射的固定路径时，按查找路径预先匹配好的拦截器列表
+    private final Map<String, InterceptorPlan> interceptorPlanCache = new ConcurrentHashMap<>(64);
+
     public final void setOrder(int order) {
         this.order = order;
     }
@@ -79,6 +89,7 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
     public void setPathMatcher(PathMatcher pathMatcher) {
         Assert.notNull(pathMatcher, "PathMatcher must not be null");
         this.pathMatcher = pathMatcher;
+        clearInterceptorPlans();
     }
 
     public PathMatcher getPathMatcher() {
@@ -87,6 +98,7 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 
     public void setInterceptors(Object[] interceptors) {
         this.interceptors.addAll(Arrays.asList(interceptors));
+        clearInterceptorPlans();
     }
 
     @Override
@@ -94,6 +106,7 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
         extendInterceptors(this.interceptors);
         detectMappedInterceptors(this.mappedInterceptors);
         initInterceptors();
+        clearInterceptorPlans();
     }
 
     protected void extendInterceptors(List<Object> interceptors) {
@@ -172,23 +185,124 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 
     protected abstract Object getHandlerInternal(HttpServletRequest request) throws Exception;
 
+    /**
+     * 拦截器列表按映射预先计算，只有包含路径相关的拦截器且映射为通配模式时，才在请求时匹配查找路径
+     */
     protected HandlerExecutionChain getHandlerExecutionChain(Object handler, HttpServletRequest request) {
 
-        HandlerExecutionChain chain = (handler instanceof HandlerExecutionChain ?
-                (HandlerExecutionChain) handler : new HandlerExecutionChain(handler));
+        String lookupPath = null;
+        InterceptorPlan plan = this.defaultInterceptorPlan;
+        if (plan == null) {
+            plan = createInterceptorPlan(null);
+            this.defaultInterceptorPlan = plan;
+        }
+        if (plan.pathSensitive) {
+            lookupPath = this.urlPathHelper.getLookupPathForRequest(request);
+            plan = getInterceptorPlan(lookupPath, request, plan);
+        }
+        HandlerInterceptor[] interceptors = plan.interceptors;
+        if (plan.pathSensitive) {
+            interceptors = plan.resolve(lookupPath, this.pathMatcher);
+        }
+        if (interceptors.length == 0) {
+            interceptors = null;
+        }
 
-        chain.addInterceptors(getAdaptedInterceptors());
+        if (handler instanceof HandlerExecutionChain) {
+            HandlerExecutionChain chain = (HandlerExecutionChain) handler;
+            chain.addInterceptors(interceptors);
+            return chain;
+        }
+        return new HandlerExecutionChain(handler, interceptors);
+    }
 
-        String lookupPath = this.urlPathHelper.getLookupPathForRequest(request);
+    /**
+     * 按本次请求的查找路径获取拦截器列表
+     * <p>
+     * 请求属性中的最佳匹配模式可能来自forward、include之前的分派，只用来判断查找路径是否为映射的固定路径，
+     * 是则按查找路径缓存，缓存的数量不超过固定路径映射的数量
+     */
+    private InterceptorPlan getInterceptorPlan(String lookupPath, HttpServletRequest request, InterceptorPlan defaultPlan) {
+        InterceptorPlan plan = this.interceptorPlanCache.get(lookupPath);
+        if (plan != null) {
+            return plan;
+        }
+        if (!lookupPath.equals(request.getAttribute(BEST_MATCHING_PATTERN_ATTRIBUTE))) {
+            return defaultPlan;
+        }
+        plan = createInterceptorPlan(lookupPath);
+        if (this.interceptorPlanCache.size() < INTERCEPTOR_PLAN_CACHE_LIMIT) {
+            this.interceptorPlanCache.put(lookupPath, plan);
+        }
+        return plan;
+    }
 
+    /**
+     * @param lookupPath 已知的查找路径，为null时路径相关的拦截器留到请求时匹配
+     */
+    private InterceptorPlan createInterceptorPlan(String lookupPath) {
+        List<HandlerInterceptor> interceptors = new ArrayList<>(this.adaptedInterceptors);
+        List<MappedInterceptor> candidates = new ArrayList<>();
+        for (int i = 0; i < interceptors.size(); i++) {
+            candidates.add(null);
+        }
         for (MappedInterceptor mappedInterceptor : this.mappedInterceptors) {
-            if (mappedInterceptor.matches(lookupPath, this.pathMatcher)) {
+            if (mappedInterceptor.matchesAllPaths()) {
+                interceptors.add(mappedInterceptor.getInterceptor());
+                candidates.add(null);
+            } else if (lookupPath == null) {
+                interceptors.add(mappedInterceptor.getInterceptor());
+                candidates.add(mappedInterceptor);
+            } else if (mappedInterceptor.matches(lookupPath, this.pathMatcher)) {
+                interceptors.add(mappedInterceptor.getInterceptor());
+                candidates.add(null);
+            }
+        }
+        return new InterceptorPlan(interceptors.toArray(new HandlerInterceptor[interceptors.size()]),
+                candidates.toArray(new MappedInterceptor[candidates.size()]));
+    }
+
+    private void clearInterceptorPlans() {
+        this.defaultInterceptorPlan = null;
+        this.interceptorPlanCache.clear();
+    }
+
+
+    /**
+     * 按映射预先计算的拦截器列表，创建后不再修改
+     */
+    private static class InterceptorPlan {
+
+        private final HandlerInterceptor[] interceptors;
+
+        // 与interceptors索引一致，不为null的位置需要在请求时匹配路径
+        private final MappedInterceptor[] candidates;
+
+        private final boolean pathSensitive;
 
-                chain.addInterceptor(mappedInterceptor.getInterceptor());
+        InterceptorPlan(HandlerInterceptor[] interceptors, MappedInterceptor[] candidates) {
+            this.interceptors = interceptors;
+            this.candidates = candidates;
+            boolean pathSensitive = false;
+            for (MappedInterceptor candidate : candidates) {
+                if (candidate != null) {
+                    pathSensitive = true;
+                    break;
+                }
             }
+            this.pathSensitive = pathSensitive;
         }
 
-        return chain;
+        HandlerInterceptor[] resolve(String lookupPath, PathMatcher pathMatcher) {
+            List<HandlerInterceptor> result = new ArrayList<>(this.interceptors.length);
+            for (int i = 0; i < this.interceptors.length; i++) {
+                MappedInterceptor candidate = this.candidates[i];
+                if (candidate == null || candidate.matches(lookupPath, pathMatcher)) {
+                    result.add(this.interceptors[i]);
+                }
+            }
+            return result.toArray(new HandlerInterceptor[result.size()]);
+        }
     }
 
 }
@@ -4,7 +4,9 @@ import com.github.datalking.beans.factory.BeanFactoryUtils;
 import com.github.datalking.beans.factory.InitializingBean;
 import com.github.datalking.common.LinkedMultiValueMap;
 import com.github.datalking.common.MultiValueMap;
+import com.github.datalking.util.AntPathMatcher;
 import com.github.datalking.util.ClassUtils;
+import com.github.datalking.util.PathMatcher;
 import com.github.datalking.util.ReflectionUtils;
 import com.github.datalking.web.mvc.method.HandlerMethod;
 import com.github.datalking.web.mvc.method.HandlerMethodSelector;
@@ -35,6 +37,9 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
     private final MultiValueMap<String, T> urlMap = new LinkedMultiValueMap<>();
 
+    // 按路径段索引的所有映射，避免非精确路径时遍历全部映射；注册第一个映射时按当前PathMatcher的分隔符创建
+    private PathSegmentTrie<T> mappingTrie;
+
     public void setDetectHandlerMethodsInAncestorContexts(boolean detectHandlerMethodsInAncestorContexts) {
         this.detectHandlerMethodsInAncestorContexts = detectHandlerMethodsInAncestorContexts;
     }
@@ -108,6 +113,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
                     oldHandlerMethod.getBean() + "' bean method\n" + oldHandlerMethod + " mapped.");
         }
 
+        int order = this.handlerMethods.size();
         this.handlerMethods.put(mapping, newHandlerMethod);
 
         Set<String> patterns = getMappingPathPatterns(mapping);
@@ -116,6 +122,18 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
                 this.urlMap.add(pattern, mapping);
             }
         }
+
+        if (oldHandlerMethod == null) {
+            if (this.mappingTrie == null) {
+                this.mappingTrie = createMappingTrie();
+            }
+            if (patterns.isEmpty()) {
+                this.mappingTrie.add(null, mapping, order);
+            }
+            for (String pattern : patterns) {
+                this.mappingTrie.add(pattern, mapping, order);
+            }
+        }
     }
 
     protected HandlerMethod createHandlerMethod(Object handler, Method method) {
@@ -155,8 +173,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
             addMatchingMappings(directPathMatches, matches, request);
         }
         if (matches.isEmpty()) {
-            // No choice but to go through all mappings...
-            addMatchingMappings(this.handlerMethods.keySet(), matches, request);
+            addMatchingMappings(getCandidateMappings(lookupPath), matches, request);
         }
 
         if (!matches.isEmpty()) {
@@ -183,6 +200,26 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
         }
     }
 
+    private PathSegmentTrie<T> createMappingTrie() {
+        PathMatcher pathMatcher = getPathMatcher();
+        if (pathMatcher instanceof AntPathMatcher) {
+            AntPathMatcher antPathMatcher = (AntPathMatcher) pathMatcher;
+            return new PathSegmentTrie<>(antPathMatcher.getPathSeparator(), antPathMatcher.isTrimTokens());
+        }
+        return new PathSegmentTrie<>();
+    }
+
+    /**
+     * 获取可能匹配lookupPath的映射，前缀树的拆分规则与当前AntPathMatcher一致时才使用，
+     * 其他PathMatcher或注册后修改过分隔符时只能遍历全部映射
+     */
+    private Collection<T> getCandidateMappings(String lookupPath) {
+        if (this.mappingTrie != null && this.mappingTrie.isCompatibleWith(getPathMatcher())) {
+            return this.mappingTrie.getCandidates(lookupPath);
+        }
+        return this.handlerMethods.keySet();
+    }
+
     private void addMatchingMappings(Collection<T> mappings, List<Match> matches, HttpServletRequest request) {
         for (T mapping : mappings) {
             T match = getMatchingMapping(mapping, request);
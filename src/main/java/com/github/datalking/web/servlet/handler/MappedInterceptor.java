@@ -4,6 +4,8 @@ import com.github.datalking.util.PathMatcher;
 import com.github.datalking.web.context.request.WebRequestInterceptor;
 import com.github.datalking.web.servlet.HandlerInterceptor;
 
+import java.util.Arrays;
+
 
 /**
  * @author yaoo on 4/28/18
@@ -38,6 +40,20 @@ public class MappedInterceptor {
         return this.includePatterns;
     }
 
+    public String[] getExcludePathPatterns() {
+        return this.excludePatterns;
+    }
+
+    /**
+     * 是否对所有路径都生效，此时不需要按查找路径匹配
+     */
+    public boolean matchesAllPaths() {
+        if (this.excludePatterns != null && this.excludePatterns.length > 0) {
+            return false;
+        }
+        return (this.includePatterns == null || Arrays.asList(this.includePatterns).contains("/**"));
+    }
+
     public HandlerInterceptor getInterceptor() {
         return this.interceptor;
     }
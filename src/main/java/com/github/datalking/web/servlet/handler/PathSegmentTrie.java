@@ -0,0 +1,189 @@
+package com.github.datalking.web.servlet.handler;
+
+import com.github.datalking.util.AntPathMatcher;
+import com.github.datalking.util.PathMatcher;
+import com.github.datalking.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按路径段预编译的前缀树，用于在请求匹配前缩小候选映射的范围
+ * <p>
+ * 节点分三类：字面量段、单段动态段（{var}、*、?等）、以及**尾部。
+ * 查找结果是真实匹配结果的超集，最终仍由RequestCondition匹配与排序决定最佳映射，
+ * 因此与全量扫描得到的最佳匹配相同。
+ * <p>
+ * 路径按AntPathMatcher的分隔符和trimTokens规则拆分，规则不一致时不能使用查找结果，见isCompatibleWith()
+ *
+ * @author yaoo on 10/17/26
+ */
+class PathSegmentTrie<T> {
+
+    private final String pathSeparator;
+
+    private final boolean trimTokens;
+
+    private final Node<T> root = new Node<>();
+
+    /**
+     * 无法按路径段索引的映射，如没有配置路径的映射，每次查找都作为候选
+     */
+    private final List<Entry<T>> unindexed = new ArrayList<>();
+
+    public PathSegmentTrie() {
+        this(AntPathMatcher.DEFAULT_PATH_SEPARATOR, true);
+    }
+
+    public PathSegmentTrie(String pathSeparator, boolean trimTokens) {
+        this.pathSeparator = pathSeparator;
+        this.trimTokens = trimTokens;
+    }
+
+    /**
+     * 只有拆分规则相同的AntPathMatcher的匹配结果才是查找结果的子集
+     */
+    public boolean isCompatibleWith(PathMatcher pathMatcher) {
+        if (!(pathMatcher instanceof AntPathMatcher)) {
+            return false;
+        }
+        AntPathMatcher antPathMatcher = (AntPathMatcher) pathMatcher;
+        return (this.pathSeparator.equals(antPathMatcher.getPathSeparator()) &&
+                this.trimTokens == antPathMatcher.isTrimTokens());
+    }
+
+    /**
+     * 注册映射的一个路径pattern，同一映射的多个pattern应使用相同的注册顺序
+     */
+    public void add(String pattern, T mapping, int order) {
+        Entry<T> entry = new Entry<>(mapping, order);
+        if (pattern == null) {
+            this.unindexed.add(entry);
+            return;
+        }
+
+        Node<T> node = this.root;
+        for (String segment : tokenize(pattern)) {
+            if ("**".equals(segment)) {
+                // **之后的路径段交由PathMatcher校验
+                node.tailEntries.add(entry);
+                return;
+            }
+            if (isDynamicSegment(segment)) {
+                if (node.dynamicChild == null) {
+                    node.dynamicChild = new Node<>();
+                }
+                node = node.dynamicChild;
+            } else {
+                Node<T> child = node.literalChildren.get(segment);
+                if (child == null) {
+                    child = new Node<>();
+                    node.literalChildren.put(segment, child);
+                }
+                node = child;
+            }
+        }
+        node.entries.add(entry);
+    }
+
+    /**
+     * 查找可能匹配lookupPath的映射，结果按注册顺序排列且不重复
+     */
+    public List<T> getCandidates(String lookupPath) {
+        List<Entry<T>> found = new ArrayList<>(this.unindexed);
+        collect(this.root, tokenize(lookupPath), 0, found);
+        if (found.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Collections.sort(found, ENTRY_ORDER_COMPARATOR);
+        List<T> result = new ArrayList<>(found.size());
+        int lastOrder = -1;
+        for (Entry<T> entry : found) {
+            if (entry.order != lastOrder) {
+                result.add(entry.mapping);
+                lastOrder = entry.order;
+            }
+        }
+        return result;
+    }
+
+    private void collect(Node<T> node, String[] segments, int index, List<Entry<T>> found) {
+        found.addAll(node.tailEntries);
+
+        if (index == segments.length) {
+            found.addAll(node.entries);
+            // "/a/*" 可以匹配 "/a/"
+            if (node.dynamicChild != null) {
+                found.addAll(node.dynamicChild.entries);
+            }
+            return;
+        }
+
+        String segment = segments[index];
+        boolean last = (index == segments.length - 1);
+
+        Node<T> child = node.literalChildren.get(segment);
+        if (child != null) {
+            collect(child, segments, index + 1, found);
+        }
+        if (last) {
+            // 后缀匹配："/users" 可以匹配 "/users.json"
+            int dotIndex = segment.indexOf('.');
+            while (dotIndex > 0) {
+                Node<T> suffixChild = node.literalChildren.get(segment.substring(0, dotIndex));
+                if (suffixChild != null) {
+                    found.addAll(suffixChild.entries);
+                    found.addAll(suffixChild.tailEntries);
+                }
+                dotIndex = segment.indexOf('.', dotIndex + 1);
+            }
+        }
+        if (node.dynamicChild != null) {
+            collect(node.dynamicChild, segments, index + 1, found);
+        }
+    }
+
+    private String[] tokenize(String path) {
+        return StringUtils.tokenizeToStringArray(path, this.pathSeparator, this.trimTokens, true);
+    }
+
+    private static boolean isDynamicSegment(String segment) {
+        return (segment.indexOf('*') != -1 || segment.indexOf('?') != -1 || segment.indexOf('{') != -1);
+    }
+
+
+    private static final Comparator<Entry<?>> ENTRY_ORDER_COMPARATOR = new Comparator<Entry<?>>() {
+        public int compare(Entry<?> entry1, Entry<?> entry2) {
+            return Integer.compare(entry1.order, entry2.order);
+        }
+    };
+
+    private static class Node<T> {
+
+        private final Map<String, Node<T>> literalChildren = new HashMap<>(4);
+
+        private Node<T> dynamicChild;
+
+        private final List<Entry<T>> entries = new ArrayList<>(1);
+
+        private final List<Entry<T>> tailEntries = new ArrayList<>(1);
+    }
+
+    private static class Entry<T> {
+
+        private final T mapping;
+
+        private final int order;
+
+        private Entry(T mapping, int order) {
+            this.mapping = mapping;
+            this.order = order;
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.github.datalking.web.servlet.handler;
+
+import com.github.datalking.annotation.web.CachedResponse;
+import com.github.datalking.util.Assert;
+import com.github.datalking.web.mvc.method.HandlerMethod;
+import com.github.datalking.web.servlet.HandlerMapping;
+import com.github.datalking.web.servlet.ServletWebRequest;
+import com.github.datalking.web.support.ResponseCache;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Method;
+import java.net.URLEncoder;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 处理@CachedResponse方法的GET请求，命中缓存时直接写出缓存的响应，不再解析参数和执行方法；
+ * 未命中时在请求属性中保存缓存键，由ResponseCachingReturnValueHandler写入缓存
+ *
+ * @author yaoo on 10/17/26
+ */
+public class ResponseCacheInterceptor extends HandlerInterceptorAdapter {
+
+    private static final CacheSpec NO_CACHE = new CacheSpec(new String[0]);
+
+    private final ResponseCache responseCache;
+
+    // 避免每次请求都读取方法上的注解
+    private final Map<Method, CacheSpec> cacheSpecs = new ConcurrentHashMap<>(64);
+
+    public ResponseCacheInterceptor(ResponseCache responseCache) {
+        Assert.notNull(responseCache, "ResponseCache must not be null");
+        this.responseCache = responseCache;
+    }
+
+    public ResponseCache getResponseCache() {
+        return this.responseCache;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+
+        if (!(handler instanceof HandlerMethod) || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        CacheSpec spec = getCacheSpec(((HandlerMethod) handler).getMethod());
+        if (spec == NO_CACHE) {
+            return true;
+        }
+
+        String key = createKey(request, spec.keyParams);
+        ResponseCache.Entry entry = this.responseCache.get(key);
+        if (entry == null) {
+            request.setAttribute(ResponseCache.CACHE_KEY_ATTRIBUTE, key);
+            return true;
+        }
+        writeEntry(request, response, entry);
+        return false;
+    }
+
+    private CacheSpec getCacheSpec(Method method) {
+        CacheSpec spec = this.cacheSpecs.get(method);
+        if (spec == null) {
+            CachedResponse cachedResponse = method.getAnnotation(CachedResponse.class);
+            spec = (cachedResponse != null ? new CacheSpec(cachedResponse.key()) : NO_CACHE);
+            this.cacheSpecs.put(method, spec);
+        }
+        return spec;
+    }
+
+    /**
+     * 缓存键包含内容协商依赖的Accept和Accept-Encoding请求头
+     * <p>
+     * 各部分都经过URL编码，参数名、参数值和分隔符不会混淆，不同的参数组合不会得到相同的键
+     */
+    protected String createKey(HttpServletRequest request, String[] keyParams) {
+        StringBuilder sb = new StringBuilder(128);
+        appendEncoded(sb, request.getRequestURI()).append('?');
+        if (keyParams.length == 0) {
+            appendEncoded(sb, request.getQueryString());
+        } else {
+            for (String name : keyParams) {
+                appendEncoded(sb, name);
+                String[] values = request.getParameterValues(name);
+                if (values != null) {
+                    for (String value : values) {
+                        appendEncoded(sb.append('='), value);
+                    }
+                }
+                sb.append('&');
+            }
+        }
+        appendEncoded(sb.append('|'), request.getHeader("Accept"));
+        appendEncoded(sb.append('|'), request.getHeader("Accept-Encoding"));
+        return sb.toString();
+    }
+
+    private static StringBuilder appendEncoded(StringBuilder sb, String value) {
+        if (value != null) {
+            try {
+                sb.append(URLEncoder.encode(value, "UTF-8"));
+            } catch (UnsupportedEncodingException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+        return sb;
+    }
+
+    private void writeEntry(HttpServletRequest request, HttpServletResponse response, ResponseCache.Entry entry)
+            throws IOException {
+
+        String cacheControl = (String) request.getAttribute(HandlerMapping.CACHE_CONTROL_ATTRIBUTE);
+        if (cacheControl != null) {
+            response.setHeader("Cache-Control", cacheControl);
+        }
+        for (Map.Entry<String, String> header : entry.getHeaders().entrySet()) {
+            response.setHeader(header.getKey(), header.getValue());
+        }
+        if (new ServletWebRequest(request, response).checkNotModified(entry.getETag(), -1)) {
+            return;
+        }
+        response.setContentLength(entry.getContentLength());
+        response.getOutputStream().write(entry.getContent());
+        response.flushBuffer();
+    }
+
+    private static class CacheSpec {
+
+        final String[] keyParams;
+
+        CacheSpec(String[] keyParams) {
+            this.keyParams = keyParams;
+        }
+    }
+
+}
@@ -113,9 +113,14 @@ public abstract class AbstractDispatcherServletInitializer extends AbstractConte
                 EnumSet.of(DispatcherType.REQUEST, DispatcherType.FORWARD, DispatcherType.INCLUDE);
     }
 
+    /**
+     * 开启后控制器方法可返回Callable、DeferredResult、CompletableFuture进行异步处理
+     * <p>
+     * 默认开启，DispatcherServlet和getServletFilters()返回的Filter都会注册为asyncSupported，
+     * 并映射ASYNC分派；Filter需要能处理重新分派的异步请求，不需要异步处理时可重写该方法返回false
+     */
     protected boolean isAsyncSupported() {
-        //return true;
-        return false;
+        return true;
     }
 
     protected void customizeRegistration(ServletRegistration.Dynamic registration) {
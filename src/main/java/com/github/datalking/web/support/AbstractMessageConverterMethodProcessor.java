@@ -2,14 +2,19 @@ package com.github.datalking.web.support;
 
 import com.github.datalking.common.MethodParameter;
 import com.github.datalking.util.CollectionUtils;
+import com.github.datalking.util.ObjectUtils;
 import com.github.datalking.util.StringUtils;
 import com.github.datalking.util.web.UrlPathHelper;
 import com.github.datalking.web.context.request.WebRequest;
 import com.github.datalking.web.http.HttpHeaders;
 import com.github.datalking.web.http.MediaType;
+import com.github.datalking.web.http.ResponseCompression;
 import com.github.datalking.web.http.ServletServerHttpRequest;
 import com.github.datalking.web.http.ServletServerHttpResponse;
 import com.github.datalking.web.http.accept.ContentNegotiationManager;
+import com.github.datalking.web.http.accept.ContentNegotiationStrategy;
+import com.github.datalking.web.http.accept.FixedContentNegotiationStrategy;
+import com.github.datalking.web.http.accept.HeaderContentNegotiationStrategy;
 import com.github.datalking.web.http.converter.HttpMessageConverter;
 import com.github.datalking.web.servlet.HandlerMapping;
 import com.github.datalking.web.servlet.ServletWebRequest;
@@ -24,7 +29,9 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 同时支持http请求处理方法的参数解析和返回值处理，同时支持数据类型转换
@@ -36,6 +43,8 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 
     private static final MediaType MEDIA_TYPE_APPLICATION = new MediaType("application");
 
+    private static final int NEGOTIATION_CACHE_LIMIT = 256;
+
     private static final UrlPathHelper RAW_URL_PATH_HELPER = new UrlPathHelper();
 
     private static final UrlPathHelper DECODING_URL_PATH_HELPER = new UrlPathHelper();
@@ -53,6 +62,14 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 
     private final Set<String> safeExtensions = new HashSet<>();
 
+    private ResponseCompression responseCompression;
+
+    // 内容协商结果缓存，读取不加锁；条目数达到上限时整体清空，客户端发送大量不同的Accept请求头时常用的结果会重新缓存
+    private final Map<NegotiationKey, NegotiationResult> negotiationCache = new ConcurrentHashMap<>(64);
+
+    // 只根据Accept请求头协商时，可以直接用请求头的值作为缓存key，不必每次解析
+    private final boolean headerOnlyNegotiation;
+
     protected AbstractMessageConverterMethodProcessor(List<HttpMessageConverter<?>> messageConverters) {
         this(messageConverters, null);
     }
@@ -64,11 +81,33 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
         this.contentNegotiationManager = (manager != null ? manager : new ContentNegotiationManager());
         this.safeExtensions.addAll(this.contentNegotiationManager.getAllFileExtensions());
         this.safeExtensions.addAll(WHITELISTED_EXTENSIONS);
+        this.headerOnlyNegotiation = isHeaderOnly(this.contentNegotiationManager);
+    }
+
+    private static boolean isHeaderOnly(ContentNegotiationManager manager) {
+        for (ContentNegotiationStrategy strategy : manager.getStrategies()) {
+            if (!(strategy instanceof HeaderContentNegotiationStrategy) &&
+                    !(strategy instanceof FixedContentNegotiationStrategy)) {
+                return false;
+            }
+        }
+        return true;
     }
 
 
+    /**
+     * 设置后响应体会根据Accept-Encoding压缩
+     */
+    public void setResponseCompression(ResponseCompression responseCompression) {
+        this.responseCompression = responseCompression;
+    }
+
     protected ServletServerHttpResponse createOutputMessage(WebRequest webRequest) {
         HttpServletResponse response = webRequest.getNativeResponse(HttpServletResponse.class);
+        if (this.responseCompression != null) {
+            HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+            return this.responseCompression.createResponse(request, response);
+        }
         return new ServletServerHttpResponse(response);
     }
 
@@ -85,7 +124,50 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
                                                   ServletServerHttpResponse outputMessage) throws IOException {
 
         Class<?> returnValueClass = returnValue.getClass();
-        HttpServletRequest servletRequest = inputMessage.getServletRequest();
+        NegotiationResult result = getNegotiationResult(inputMessage.getServletRequest(), returnValueClass);
+        if (result.converter == null) {
+//            throw new HttpMediaTypeNotAcceptableException(this.allSupportedMediaTypes);
+            return;
+        }
+
+        MediaType selectedMediaType = result.mediaType;
+        addContentDispositionHeader(inputMessage, outputMessage);
+        ((HttpMessageConverter<T>) result.converter).write(returnValue, selectedMediaType, outputMessage);
+        outputMessage.close();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Written [" + returnValue + "] as \"" + selectedMediaType + "\" using [" +
+                    result.converter + "]");
+        }
+    }
+
+    /**
+     * 获取选定的媒体类型和消息转换器，相同的Accept请求头、可生成的媒体类型和返回值类型只协商一次
+     */
+    private NegotiationResult getNegotiationResult(HttpServletRequest request, Class<?> returnValueClass) {
+        Object acceptKey = (this.headerOnlyNegotiation ?
+                request.getHeader("Accept") : getAcceptableMediaTypes(request));
+        Set<MediaType> producibleTypes = (Set<MediaType>) request.getAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE);
+        NegotiationKey key = new NegotiationKey(acceptKey, producibleTypes, returnValueClass);
+
+        NegotiationResult result = this.negotiationCache.get(key);
+        if (result == null) {
+            result = negotiate(request, returnValueClass);
+            if (this.negotiationCache.size() >= NEGOTIATION_CACHE_LIMIT) {
+                this.negotiationCache.clear();
+            }
+            this.negotiationCache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * 当前缓存的协商结果数量
+     */
+    int getNegotiationCacheSize() {
+        return this.negotiationCache.size();
+    }
+
+    private NegotiationResult negotiate(HttpServletRequest servletRequest, Class<?> returnValueClass) {
         List<MediaType> requestedMediaTypes = getAcceptableMediaTypes(servletRequest);
         List<MediaType> producibleMediaTypes = getProducibleMediaTypes(servletRequest, returnValueClass);
 
@@ -120,19 +202,11 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
             selectedMediaType = selectedMediaType.removeQualityValue();
             for (HttpMessageConverter<?> messageConverter : this.messageConverters) {
                 if (messageConverter.canWrite(returnValueClass, selectedMediaType)) {
-                    addContentDispositionHeader(inputMessage, outputMessage);
-                    ((HttpMessageConverter<T>) messageConverter).write(returnValue, selectedMediaType, outputMessage);
-                    if (logger.isDebugEnabled()) {
-                        logger.debug("Written [" + returnValue + "] as \"" + selectedMediaType + "\" using [" +
-                                messageConverter + "]");
-                    }
-                    return;
+                    return new NegotiationResult(selectedMediaType, messageConverter);
                 }
             }
         }
-
-//        throw new HttpMediaTypeNotAcceptableException(this.allSupportedMediaTypes);
-
+        return NegotiationResult.NO_MATCH;
     }
 
     protected List<MediaType> getProducibleMediaTypes(HttpServletRequest request, Class<?> returnValueClass) {
@@ -217,4 +291,56 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
     }
 
 
+    private static final class NegotiationKey {
+
+        private final Object accept;
+
+        private final Set<MediaType> producibleTypes;
+
+        private final Class<?> returnValueClass;
+
+        private final int hashCode;
+
+        NegotiationKey(Object accept, Set<MediaType> producibleTypes, Class<?> returnValueClass) {
+            this.accept = accept;
+            this.producibleTypes = producibleTypes;
+            this.returnValueClass = returnValueClass;
+            this.hashCode = (ObjectUtils.nullSafeHashCode(accept) * 31 +
+                    ObjectUtils.nullSafeHashCode(producibleTypes)) * 31 + returnValueClass.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof NegotiationKey)) {
+                return false;
+            }
+            NegotiationKey otherKey = (NegotiationKey) other;
+            return (this.returnValueClass == otherKey.returnValueClass &&
+                    ObjectUtils.nullSafeEquals(this.accept, otherKey.accept) &&
+                    ObjectUtils.nullSafeEquals(this.producibleTypes, otherKey.producibleTypes));
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    private static final class NegotiationResult {
+
+        static final NegotiationResult NO_MATCH = new NegotiationResult(null, null);
+
+        final MediaType mediaType;
+
+        final HttpMessageConverter<?> converter;
+
+        NegotiationResult(MediaType mediaType, HttpMessageConverter<?> converter) {
+            this.mediaType = mediaType;
+            this.converter = converter;
+        }
+    }
+
 }
@@ -0,0 +1,34 @@
+package com.github.datalking.web.support;
+
+import com.github.datalking.common.MethodParameter;
+import com.github.datalking.web.context.request.WebRequest;
+import com.github.datalking.web.context.request.async.WebAsyncUtils;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 处理Callable类型的返回值，在异步线程中执行并将结果重新分派到容器线程
+ *
+ * @author yaoo on 10/17/26
+ */
+public class CallableMethodReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return Callable.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    public void handleReturnValue(Object returnValue,
+                                  MethodParameter returnType,
+                                  ModelAndViewContainer mavContainer,
+                                  WebRequest webRequest) throws Exception {
+
+        if (returnValue == null) {
+            mavContainer.setRequestHandled(true);
+            return;
+        }
+
+        Callable<?> callable = (Callable<?>) returnValue;
+        WebAsyncUtils.getAsyncManager(webRequest).startCallableProcessing(callable, mavContainer);
+    }
+
+}
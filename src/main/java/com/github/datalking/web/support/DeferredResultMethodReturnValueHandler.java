@@ -0,0 +1,62 @@
+package com.github.datalking.web.support;
+
+import com.github.datalking.common.MethodParameter;
+import com.github.datalking.web.context.request.WebRequest;
+import com.github.datalking.web.context.request.async.DeferredResult;
+import com.github.datalking.web.context.request.async.WebAsyncUtils;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
+
+/**
+ * 处理DeferredResult和CompletionStage(如CompletableFuture)类型的返回值
+ * <p>
+ * CompletionStage会被适配为DeferredResult，完成时设置结果
+ *
+ * @author yaoo on 10/17/26
+ */
+public class DeferredResultMethodReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+    public boolean supportsReturnType(MethodParameter returnType) {
+        Class<?> paramType = returnType.getParameterType();
+        return (DeferredResult.class.isAssignableFrom(paramType) || CompletionStage.class.isAssignableFrom(paramType));
+    }
+
+    public void handleReturnValue(Object returnValue,
+                                  MethodParameter returnType,
+                                  ModelAndViewContainer mavContainer,
+                                  WebRequest webRequest) throws Exception {
+
+        if (returnValue == null) {
+            mavContainer.setRequestHandled(true);
+            return;
+        }
+
+        // supportsReturnType已限定返回值只能是DeferredResult或CompletionStage
+        DeferredResult<?> deferredResult = (returnValue instanceof DeferredResult ?
+                (DeferredResult<?>) returnValue : adaptCompletionStage((CompletionStage<?>) returnValue));
+
+        WebAsyncUtils.getAsyncManager(webRequest).startDeferredResultProcessing(deferredResult, mavContainer);
+    }
+
+    private DeferredResult<Object> adaptCompletionStage(CompletionStage<?> future) {
+        final DeferredResult<Object> result = new DeferredResult<>();
+        future.handle(new BiFunction<Object, Throwable, Object>() {
+            public Object apply(Object value, Throwable ex) {
+                if (ex != null) {
+                    // 异步阶段抛出的异常会被包装成CompletionException
+                    if (ex instanceof CompletionException && ex.getCause() != null) {
+                        ex = ex.getCause();
+                    }
+                    result.setErrorResult(ex);
+                } else {
+                    result.setResult(value);
+                }
+                return null;
+            }
+        });
+        return result;
+    }
+
+}
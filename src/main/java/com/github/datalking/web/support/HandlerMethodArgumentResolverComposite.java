@@ -44,7 +44,10 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
     }
 
 
-    private HandlerMethodArgumentResolver getArgumentResolver(MethodParameter parameter) {
+    /**
+     * 获取支持该参数的解析器，没有则返回null
+     */
+    public HandlerMethodArgumentResolver getArgumentResolver(MethodParameter parameter) {
 
         HandlerMethodArgumentResolver result = this.argumentResolverCache.get(parameter);
 
@@ -5,6 +5,7 @@ import com.github.datalking.common.MethodParameter;
 import com.github.datalking.common.Errors;
 import com.github.datalking.util.AnnotationUtils;
 import com.github.datalking.util.BeanUtils;
+import com.github.datalking.web.bind.ServletRequestDataBinder;
 import com.github.datalking.web.bind.WebDataBinder;
 import com.github.datalking.web.bind.WebDataBinderFactory;
 import com.github.datalking.web.bind.WebRequestDataBinder;
@@ -13,6 +14,7 @@ import com.github.datalking.web.mvc.ModelFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.servlet.ServletRequest;
 import java.lang.annotation.Annotation;
 import java.util.Map;
 
@@ -76,7 +78,13 @@ public class ModelAttributeMethodProcessor
     }
 
     protected void bindRequestParameters(WebDataBinder binder, WebRequest request) {
-        ((WebRequestDataBinder) binder).bind(request);
+        // 默认的binder工厂创建的是ServletRequestDataBinder
+        ServletRequest servletRequest = request.getNativeRequest(ServletRequest.class);
+        if (binder instanceof ServletRequestDataBinder && servletRequest != null) {
+            ((ServletRequestDataBinder) binder).bind(servletRequest);
+        } else {
+            ((WebRequestDataBinder) binder).bind(request);
+        }
     }
 
 
@@ -0,0 +1,240 @@
+package com.github.datalking.web.support;
+
+import com.github.datalking.io.Resource;
+import com.github.datalking.util.StreamUtils;
+import com.github.datalking.web.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 静态资源内存缓存，缓存小文件的原始内容和预先压缩的gzip内容
+ * <p>
+ * 按总字节数做LRU淘汰，按文件最后修改时间失效，检查间隔内不会重复访问文件系统
+ *
+ * @author yaoo on 10/17/26
+ */
+public class ResourceCache {
+
+    public static final int DEFAULT_MAX_ENTRY_SIZE = 64 * 1024;
+
+    public static final long DEFAULT_MAX_TOTAL_SIZE = 16 * 1024 * 1024;
+
+    public static final long DEFAULT_CHECK_INTERVAL = 1000;
+
+    // 小于该大小的内容压缩收益不大
+    private static final int MIN_GZIP_SIZE = 256;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    private int maxEntrySize = DEFAULT_MAX_ENTRY_SIZE;
+
+    private long maxTotalSize = DEFAULT_MAX_TOTAL_SIZE;
+
+    private long checkInterval = DEFAULT_CHECK_INTERVAL;
+
+    private long totalSize;
+
+    public void setMaxEntrySize(int maxEntrySize) {
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    public int getMaxEntrySize() {
+        return this.maxEntrySize;
+    }
+
+    public void setMaxTotalSize(long maxTotalSize) {
+        this.maxTotalSize = maxTotalSize;
+    }
+
+    public long getMaxTotalSize() {
+        return this.maxTotalSize;
+    }
+
+    /**
+     * 两次检查文件最后修改时间的最小间隔(毫秒)，小于等于0表示每次都检查
+     */
+    public void setCheckInterval(long checkInterval) {
+        this.checkInterval = checkInterval;
+    }
+
+    public long getCheckInterval() {
+        return this.checkInterval;
+    }
+
+    /**
+     * 获取缓存项，资源已修改时移除缓存项并返回null
+     */
+    public Entry get(String key) {
+        Entry entry;
+        synchronized (this.entries) {
+            entry = this.entries.get(key);
+        }
+        if (entry == null) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - entry.lastChecked >= this.checkInterval) {
+            entry.lastChecked = now;
+            long lastModified;
+            try {
+                lastModified = entry.resource.lastModified();
+            } catch (IOException ex) {
+                lastModified = -1;
+            }
+            if (lastModified != entry.lastModified) {
+                remove(key, entry);
+                return null;
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * 读取资源内容并放入缓存，资源过大或无法读取时返回null
+     */
+    public Entry put(String key, Resource resource, MediaType mediaType) throws IOException {
+        long length = resource.contentLength();
+        if (length < 0 || length > this.maxEntrySize || length > this.maxTotalSize) {
+            return null;
+        }
+        long lastModified = resource.lastModified();
+
+        byte[] content;
+        InputStream in = resource.getInputStream();
+        try {
+            content = StreamUtils.copyToByteArray(in);
+        } finally {
+            try {
+                in.close();
+            } catch (IOException ex) {
+            }
+        }
+        if (content.length != length) {
+            // 读取过程中文件被修改
+            return null;
+        }
+
+        Entry entry = new Entry(resource, mediaType, content, gzip(content), lastModified);
+        synchronized (this.entries) {
+            Entry old = this.entries.put(key, entry);
+            if (old != null) {
+                this.totalSize -= old.getSize();
+            }
+            this.totalSize += entry.getSize();
+            evictIfNecessary();
+        }
+        return entry;
+    }
+
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+            this.totalSize = 0;
+        }
+    }
+
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    public long getTotalSize() {
+        synchronized (this.entries) {
+            return this.totalSize;
+        }
+    }
+
+    private void remove(String key, Entry entry) {
+        synchronized (this.entries) {
+            if (this.entries.get(key) == entry) {
+                this.entries.remove(key);
+                this.totalSize -= entry.getSize();
+            }
+        }
+    }
+
+    private void evictIfNecessary() {
+        Iterator<Entry> it = this.entries.values().iterator();
+        while (this.totalSize > this.maxTotalSize && it.hasNext()) {
+            Entry eldest = it.next();
+            it.remove();
+            this.totalSize -= eldest.getSize();
+        }
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        if (content.length < MIN_GZIP_SIZE) {
+            return null;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2);
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        gzip.write(content);
+        gzip.close();
+        byte[] gzipped = out.toByteArray();
+        return (gzipped.length < content.length ? gzipped : null);
+    }
+
+    /**
+     * 缓存项，ETag由ResourceHttpRequestHandler按长度和最后修改时间生成，与未缓存时一致
+     */
+    public static class Entry {
+
+        private final Resource resource;
+
+        private final MediaType mediaType;
+
+        private final byte[] content;
+
+        private final byte[] gzippedContent;
+
+        private final long lastModified;
+
+        private volatile long lastChecked;
+
+        Entry(Resource resource, MediaType mediaType, byte[] content, byte[] gzippedContent, long lastModified) {
+            this.resource = resource;
+            this.mediaType = mediaType;
+            this.content = content;
+            this.gzippedContent = gzippedContent;
+            this.lastModified = lastModified;
+            this.lastChecked = System.currentTimeMillis();
+        }
+
+        public Resource getResource() {
+            return this.resource;
+        }
+
+        public MediaType getMediaType() {
+            return this.mediaType;
+        }
+
+        public byte[] getContent() {
+            return this.content;
+        }
+
+        public byte[] getGzippedContent() {
+            return this.gzippedContent;
+        }
+
+        public long getLastModified() {
+            return this.lastModified;
+        }
+
+        public int getContentLength() {
+            return this.content.length;
+        }
+
+        int getSize() {
+            return this.content.length + (this.gzippedContent != null ? this.gzippedContent.length : 0);
+        }
+    }
+
+}
@@ -3,6 +3,7 @@ package com.github.datalking.web.support;
 import com.github.datalking.beans.factory.InitializingBean;
 import com.github.datalking.io.ClassPathResource;
 import com.github.datalking.io.Resource;
+import com.github.datalking.io.UrlResource;
 import com.github.datalking.util.Assert;
 import com.github.datalking.util.ClassUtils;
 import com.github.datalking.util.CollectionUtils;
@@ -18,13 +19,21 @@ import org.slf4j.LoggerFactory;
 
 import javax.activation.FileTypeMap;
 import javax.activation.MimetypesFileTypeMap;
+import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.EOFException;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 
 /**
@@ -36,8 +45,42 @@ public class ResourceHttpRequestHandler extends WebContentGenerator implements H
 
 //    private static final boolean jafPresent = ClassUtils.isPresent("javax.activation.FileTypeMap", ResourceHttpRequestHandler.class.getClassLoader());
 
+    private static final String HEADER_ACCEPT_RANGES = "Accept-Ranges";
+
+    private static final String HEADER_CONTENT_LENGTH = "Content-Length";
+
+    private static final String HEADER_CONTENT_RANGE = "Content-Range";
+
+    private static final String HEADER_RANGE = "Range";
+
+    private static final String HEADER_ACCEPT_ENCODING = "Accept-Encoding";
+
+    private static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
+
+    private static final String HEADER_VARY = "Vary";
+
+    private static final String HEADER_IF_RANGE = "If-Range";
+
+    private static final String BYTES_RANGE_PREFIX = "bytes=";
+
+    private static final long[] UNSATISFIABLE_RANGE = new long[0];
+
+    // Tomcat的sendfile支持，由容器直接将文件写入socket
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
     private List<Resource> locations;
 
+    private ResourceCache resourceCache;
+
+    // 缓存key的前缀，由资源位置组成，共享缓存的不同资源映射不会因相对路径相同而冲突
+    private String cacheKeyPrefix = "";
+
     public ResourceHttpRequestHandler() {
         super(METHOD_GET, METHOD_HEAD);
     }
@@ -45,6 +88,22 @@ public class ResourceHttpRequestHandler extends WebContentGenerator implements H
     public void setLocations(List<Resource> locations) {
         Assert.notEmpty(locations.toArray(), "Locations list must not be empty");
         this.locations = locations;
+        StringBuilder sb = new StringBuilder();
+        for (Resource location : locations) {
+            sb.append(location.getDescription()).append('|');
+        }
+        this.cacheKeyPrefix = sb.toString();
+    }
+
+    /**
+     * 设置静态资源内存缓存，为null时不缓存
+     */
+    public void setResourceCache(ResourceCache resourceCache) {
+        this.resourceCache = resourceCache;
+    }
+
+    public ResourceCache getResourceCache() {
+        return this.resourceCache;
     }
 
     public void afterPropertiesSet()  {
@@ -58,6 +117,20 @@ public class ResourceHttpRequestHandler extends WebContentGenerator implements H
 
         checkAndPrepare(request, response, true);
 
+        // 命中缓存时不访问文件系统，也不再解析媒体类型
+        String cacheKey = null;
+        if (this.resourceCache != null) {
+            String path = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+            cacheKey = (path != null ? this.cacheKeyPrefix + path : null);
+        }
+        if (cacheKey != null) {
+            ResourceCache.Entry entry = this.resourceCache.get(cacheKey);
+            if (entry != null) {
+                handleCachedResource(request, response, entry);
+                return;
+            }
+        }
+
         // check whether a matching resource exists
         Resource resource = getResource(request);
         if (resource == null) {
@@ -78,19 +151,122 @@ public class ResourceHttpRequestHandler extends WebContentGenerator implements H
             }
         }
 
+        if (cacheKey != null) {
+            ResourceCache.Entry entry = this.resourceCache.put(cacheKey, resource, mediaType);
+            if (entry != null) {
+                handleCachedResource(request, response, entry);
+                return;
+            }
+        }
+
+        long length = resource.contentLength();
+        long lastModified = resource.lastModified();
+        String etag = buildETag(length, lastModified);
+
         // header phase
-//        if (new ServletWebRequest(request, response).checkNotModified(resource.lastModified())) {
-//            logger.debug("Resource not modified - returning 304");
-//            return;
-//        }
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            logger.debug("Resource not modified - returning 304");
+            return;
+        }
         setHeaders(response, resource, mediaType);
 
+        long start = 0;
+        long count = length;
+        if (length >= 0) {
+            long[] range = prepareRange(request, response, length, etag, lastModified);
+            if (range == null) {
+                return;
+            }
+            start = range[0];
+            count = range[1];
+        }
+
         // content phase
         if (METHOD_HEAD.equals(request.getMethod())) {
             logger.trace("HEAD request - skipping content");
             return;
         }
-        writeContent(response, resource);
+        writeContent(request, response, resource, start, count);
+    }
+
+    /**
+     * 使用缓存的内容写出响应，客户端支持时直接写出预先压缩的gzip内容
+     */
+    protected void handleCachedResource(HttpServletRequest request, HttpServletResponse response,
+                                        ResourceCache.Entry entry) throws IOException {
+
+        boolean gzip = (entry.getGzippedContent() != null && request.getHeader(HEADER_RANGE) == null &&
+                acceptsGzip(request));
+        byte[] content = (gzip ? entry.getGzippedContent() : entry.getContent());
+        String etag = buildETag(entry.getContentLength(), entry.getLastModified());
+        if (gzip && etag != null) {
+            // 压缩后的内容是不同的表示，使用单独的ETag
+            etag = etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+        if (entry.getGzippedContent() != null) {
+            response.addHeader(HEADER_VARY, HEADER_ACCEPT_ENCODING);
+        }
+
+        if (new ServletWebRequest(request, response).checkNotModified(etag, entry.getLastModified())) {
+            logger.debug("Cached resource not modified - returning 304");
+            return;
+        }
+        setHeaders(response, entry.getResource(), entry.getMediaType());
+
+        int start = 0;
+        int count = content.length;
+        if (gzip) {
+            response.setHeader(HEADER_CONTENT_ENCODING, "gzip");
+            response.setContentLength(count);
+        } else {
+            long[] range = prepareRange(request, response, count, etag, entry.getLastModified());
+            if (range == null) {
+                return;
+            }
+            start = (int) range[0];
+            count = (int) range[1];
+        }
+
+        if (METHOD_HEAD.equals(request.getMethod())) {
+            logger.trace("HEAD request - skipping content");
+            return;
+        }
+        OutputStream out = response.getOutputStream();
+        out.write(content, start, count);
+        out.flush();
+    }
+
+    /**
+     * 处理Range请求头并设置相应的状态码和响应头
+     *
+     * @return 需要写出的起始位置和字节数，已返回416时为null
+     */
+    private long[] prepareRange(HttpServletRequest request, HttpServletResponse response,
+                                long length, String etag, long lastModified) throws IOException {
+
+        response.setHeader(HEADER_ACCEPT_RANGES, "bytes");
+        long[] range = getRequestedRange(request, length, etag, lastModified);
+        if (range == UNSATISFIABLE_RANGE) {
+            logger.debug("Requested range not satisfiable - returning 416");
+            response.setHeader(HEADER_CONTENT_RANGE, "bytes */" + length);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return null;
+        }
+        long start = 0;
+        long count = length;
+        if (range != null) {
+            start = range[0];
+            count = range[1] - range[0] + 1;
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HEADER_CONTENT_RANGE, "bytes " + range[0] + "-" + range[1] + "/" + length);
+        }
+        setContentLength(response, count);
+        return new long[]{start, count};
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HEADER_ACCEPT_ENCODING);
+        return (acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip"));
     }
 
     protected Resource getResource(HttpServletRequest request) {
@@ -121,32 +297,35 @@ public class ResourceHttpRequestHandler extends WebContentGenerator implements H
             }
         }
 
-//        for (Resource location : this.locations) {
-//            try {
-//                if (logger.isDebugEnabled()) {
-//                    logger.debug("Trying relative path [" + path + "] against base location: " + location);
-//                }
-//                Resource resource = location.createRelative(path);
-//                if (resource.exists() && resource.isReadable()) {
-//                    if (isResourceUnderLocation(resource, location)) {
-//                        if (logger.isDebugEnabled()) {
-//                            logger.debug("Found matching resource: " + resource);
-//                        }
-//                        return resource;
-//                    } else {
-//                        if (logger.isTraceEnabled()) {
-//                            logger.trace("resource=\"" + resource + "\" was successfully resolved " +
-//                                    "but is not under the location=\"" + location);
-//                        }
-//                        return null;
-//                    }
-//                } else if (logger.isTraceEnabled()) {
-//                    logger.trace("Relative resource doesn't exist or isn't readable: " + resource);
-//                }
-//            } catch (IOException ex) {
-//                logger.debug("Failed to create relative resource - trying next resource location", ex);
-//            }
-//        }
+        if (this.locations == null) {
+            return null;
+        }
+        for (Resource location : this.locations) {
+            try {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Trying relative path [" + path + "] against base location: " + location);
+                }
+                Resource resource = location.createRelative(path);
+                if (resource.exists() && resource.isReadable()) {
+                    if (isResourceUnderLocation(resource, location)) {
+                        if (logger.isDebugEnabled()) {
+                            logger.debug("Found matching resource: " + resource);
+                        }
+                        return resource;
+                    } else {
+                        if (logger.isTraceEnabled()) {
+                            logger.trace("resource=\"" + resource + "\" was successfully resolved " +
+                                    "but is not under the location=\"" + location);
+                        }
+                        return null;
+                    }
+                } else if (logger.isTraceEnabled()) {
+                    logger.trace("Relative resource doesn't exist or isn't readable: " + resource);
+                }
+            } catch (IOException ex) {
+                logger.debug("Failed to create relative resource - trying next resource location", ex);
+            }
+        }
 
         return null;
     }
@@ -209,21 +388,16 @@ public class ResourceHttpRequestHandler extends WebContentGenerator implements H
         String resourcePath = "";
         String locationPath = "";
 
-//        if (resource instanceof UrlResource) {
-//            resourcePath = resource.getURL().toExternalForm();
-//            locationPath = location.getURL().toExternalForm();
-//        } else
-            if (resource instanceof ClassPathResource) {
+        if (resource instanceof UrlResource) {
+            resourcePath = resource.getURL().toExternalForm();
+            locationPath = location.getURL().toExternalForm();
+        } else if (resource instanceof ClassPathResource) {
             resourcePath = ((ClassPathResource) resource).getPath();
             locationPath = ((ClassPathResource) location).getPath();
+        } else {
+            resourcePath = resource.getURL().getPath();
+            locationPath = location.getURL().getPath();
         }
-//        else if (resource instanceof ServletContextResource) {
-//            resourcePath = ((ServletContextResource) resource).getPath();
-//            locationPath = ((ServletContextResource) location).getPath();
-//        } else {
-//            resourcePath = resource.getURL().getPath();
-//            locationPath = location.getURL().getPath();
-//        }
         if (locationPath.equals(resourcePath)) {
             return true;
         }
@@ -246,15 +420,15 @@ public class ResourceHttpRequestHandler extends WebContentGenerator implements H
 
     protected MediaType getMediaType(Resource resource) {
         MediaType mediaType = null;
-//        String mimeType = getServletContext().getMimeType(resource.getFilename());
-        String mimeType = "";
+        String filename = resource.getFilename();
+        String mimeType = (filename != null && getServletContextIfAvailable() != null ?
+                getServletContextIfAvailable().getMimeType(filename) : null);
         if (StringUtils.hasText(mimeType)) {
             mediaType = MediaType.parseMediaType(mimeType);
         }
 //        if (jafPresent && (mediaType == null || MediaType.APPLICATION_OCTET_STREAM.equals(mediaType))) {
         if (mediaType == null || MediaType.APPLICATION_OCTET_STREAM.equals(mediaType)) {
-//            MediaType jafMediaType = ActivationMediaTypeFactory.getMediaType(resource.getFilename());
-            MediaType jafMediaType = ActivationMediaTypeFactory.getMediaType("filename");
+            MediaType jafMediaType = (filename != null ? ActivationMediaTypeFactory.getMediaType(filename) : null);
             if (jafMediaType != null && !MediaType.APPLICATION_OCTET_STREAM.equals(jafMediaType)) {
                 mediaType = jafMediaType;
             }
@@ -262,23 +436,144 @@ public class ResourceHttpRequestHandler extends WebContentGenerator implements H
         return mediaType;
     }
 
-    protected void setHeaders(HttpServletResponse response, Resource resource, MediaType mediaType) throws IOException {
-//        long length = resource.contentLength();
-        long length = 12;
-        if (length > Integer.MAX_VALUE) {
-            throw new IOException("Resource content too long (beyond Integer.MAX_VALUE): " + resource);
+    private ServletContext getServletContextIfAvailable() {
+        try {
+            return getServletContext();
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * 根据长度和最后修改时间生成ETag，静态资源内容不变时二者都不变
+     * <p>
+     * 命中缓存和未命中缓存时都使用该ETag，开关缓存或缓存项被淘汰后客户端仍能重新验证
+     */
+    protected String buildETag(long length, long lastModified) {
+        if (length < 0 || lastModified <= 0) {
+            return null;
         }
-        response.setContentLength((int) length);
+        return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+    }
 
+    protected void setHeaders(HttpServletResponse response, Resource resource, MediaType mediaType) throws IOException {
         if (mediaType != null) {
             response.setContentType(mediaType.toString());
         }
     }
 
-    protected void writeContent(HttpServletResponse response, Resource resource) throws IOException {
+    private static void setContentLength(HttpServletResponse response, long length) {
+        if (length <= Integer.MAX_VALUE) {
+            response.setContentLength((int) length);
+        } else {
+            response.setHeader(HEADER_CONTENT_LENGTH, Long.toString(length));
+        }
+    }
+
+    /**
+     * 解析Range请求头，只支持单个区间，多个区间时返回完整内容
+     *
+     * @return 包含起止位置的数组，不需要返回部分内容时为null
+     */
+    private long[] getRequestedRange(HttpServletRequest request, long length, String etag, long lastModified) {
+        String rangeHeader = request.getHeader(HEADER_RANGE);
+        if (rangeHeader == null || !rangeHeader.startsWith(BYTES_RANGE_PREFIX) || rangeHeader.indexOf(',') != -1) {
+            return null;
+        }
+        if (!matchesIfRange(request, etag, lastModified)) {
+            return null;
+        }
+
+        String rangeSpec = rangeHeader.substring(BYTES_RANGE_PREFIX.length()).trim();
+        int dashIndex = rangeSpec.indexOf('-');
+        if (dashIndex == -1) {
+            return null;
+        }
+        try {
+            String startValue = rangeSpec.substring(0, dashIndex).trim();
+            String endValue = rangeSpec.substring(dashIndex + 1).trim();
+            if (startValue.isEmpty()) {
+                // 后缀区间，如 bytes=-500 表示最后500个字节
+                long suffixLength = Long.parseLong(endValue);
+                if (suffixLength <= 0 || length == 0) {
+                    return UNSATISFIABLE_RANGE;
+                }
+                return new long[]{Math.max(0, length - suffixLength), length - 1};
+            }
+            long start = Long.parseLong(startValue);
+            long end = (endValue.isEmpty() ? Long.MAX_VALUE : Long.parseLong(endValue));
+            if (start > end) {
+                // 结束位置小于起始位置的Range头无效，按规范忽略
+                return null;
+            }
+            if (start >= length) {
+                return UNSATISFIABLE_RANGE;
+            }
+            return new long[]{start, Math.min(end, length - 1)};
+        } catch (NumberFormatException ex) {
+            // 格式错误的Range头按规范忽略
+            return null;
+        }
+    }
+
+    /**
+     * If-Range与当前资源不匹配时，应返回完整内容
+     */
+    private boolean matchesIfRange(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HEADER_IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            long ifRangeDate = request.getDateHeader(HEADER_IF_RANGE);
+            return (lastModified > 0 && ifRangeDate == (lastModified / 1000 * 1000));
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * 写出资源的[start, start + count)部分，count小于0时写出全部内容
+     * <p>
+     * 文件系统中的资源优先使用容器的sendfile支持，否则使用FileChannel.transferTo写出，不经过堆内缓冲
+     */
+    protected void writeContent(HttpServletRequest request, HttpServletResponse response,
+                                Resource resource, long start, long count) throws IOException {
+
+        File file = getFileIfAvailable(resource);
+        if (file != null && count >= 0) {
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+                request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, file.getCanonicalPath());
+                request.setAttribute(SENDFILE_START_ATTRIBUTE, start);
+                request.setAttribute(SENDFILE_END_ATTRIBUTE, start + count);
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+                long position = start;
+                long remaining = count;
+                while (remaining > 0) {
+                    long transferred = channel.transferTo(position, remaining, out);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    position += transferred;
+                    remaining -= transferred;
+                }
+            }
+            return;
+        }
+
         InputStream in = resource.getInputStream();
         try {
-            StreamUtils.copy(in, response.getOutputStream());
+            if (count < 0) {
+                StreamUtils.copy(in, response.getOutputStream());
+            } else {
+                copyRange(in, response.getOutputStream(), start, count);
+            }
         } finally {
             try {
                 in.close();
@@ -287,6 +582,37 @@ public class ResourceHttpRequestHandler extends WebContentGenerator implements H
         }
     }
 
+    private static File getFileIfAvailable(Resource resource) {
+        try {
+            File file = resource.getFile();
+            return (file.isFile() ? file : null);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private static void copyRange(InputStream in, OutputStream out, long start, long count) throws IOException {
+        long skipped = 0;
+        while (skipped < start) {
+            long n = in.skip(start - skipped);
+            if (n <= 0) {
+                throw new EOFException("Unexpected end of resource while skipping to position " + start);
+            }
+            skipped += n;
+        }
+        byte[] buffer = new byte[StreamUtils.BUFFER_SIZE];
+        long remaining = count;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read == -1) {
+                break;
+            }
+            out.write(buffer, 0, read);
+            remaining -= read;
+        }
+        out.flush();
+    }
+
     private static class ActivationMediaTypeFactory {
 
         private static final FileTypeMap fileTypeMap;
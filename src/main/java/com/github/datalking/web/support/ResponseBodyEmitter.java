@@ -0,0 +1,180 @@
+package com.github.datalking.web.support;
+
+import com.github.datalking.util.Assert;
+import com.github.datalking.web.http.MediaType;
+import com.github.datalking.web.http.ServletServerHttpResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 异步写出多个对象的返回值类型，每个对象都由HttpMessageConverter转换后写出
+ * <p>
+ * 控制器方法返回后响应保持打开，应用可以在任意线程调用send()，最后调用complete()结束响应
+ *
+ * @author yaoo on 10/17/26
+ */
+public class ResponseBodyEmitter {
+
+    private final Long timeout;
+
+    private Handler handler;
+
+    /**
+     * handler初始化前调用send()的数据，初始化后按顺序写出
+     */
+    private final List<DataWithMediaType> earlySendAttempts = new ArrayList<>(8);
+
+    private boolean complete;
+
+    private Throwable failure;
+
+    private Runnable timeoutCallback;
+
+    private Runnable completionCallback;
+
+    public ResponseBodyEmitter() {
+        this(null);
+    }
+
+    /**
+     * @param timeout 超时时间，单位毫秒，为null时使用RequestMappingHandlerAdapter的asyncRequestTimeout
+     */
+    public ResponseBodyEmitter(Long timeout) {
+        this.timeout = timeout;
+    }
+
+    public Long getTimeout() {
+        return this.timeout;
+    }
+
+    /**
+     * 开始写出响应体之前修改响应，如设置响应头
+     */
+    protected void extendResponse(ServletServerHttpResponse outputMessage) {
+    }
+
+    synchronized void initialize(Handler handler) throws IOException {
+        this.handler = handler;
+
+        for (DataWithMediaType sendAttempt : this.earlySendAttempts) {
+            sendInternal(sendAttempt.getData(), sendAttempt.getMediaType());
+        }
+        this.earlySendAttempts.clear();
+
+        if (this.complete) {
+            if (this.failure != null) {
+                this.handler.completeWithError(this.failure);
+            } else {
+                this.handler.complete();
+            }
+        } else {
+            this.handler.onTimeout(this.timeoutCallback);
+            this.handler.onCompletion(this.completionCallback);
+        }
+    }
+
+    public void send(Object object) throws IOException {
+        send(object, null);
+    }
+
+    /**
+     * @param mediaType 选择HttpMessageConverter使用的类型，为null时使用第一个支持该对象的converter
+     */
+    public synchronized void send(Object object, MediaType mediaType) throws IOException {
+        Assert.state(!this.complete, "ResponseBodyEmitter is already set complete");
+        sendInternal(object, mediaType);
+    }
+
+    private void sendInternal(Object object, MediaType mediaType) throws IOException {
+        if (object == null) {
+            return;
+        }
+        if (this.handler != null) {
+            try {
+                this.handler.send(object, mediaType);
+            } catch (IOException ex) {
+                this.handler.completeWithError(ex);
+                throw ex;
+            } catch (RuntimeException ex) {
+                this.handler.completeWithError(ex);
+                throw ex;
+            }
+        } else {
+            this.earlySendAttempts.add(new DataWithMediaType(object, mediaType));
+        }
+    }
+
+    /**
+     * 所有数据写出完毕，结束请求处理
+     */
+    public synchronized void complete() {
+        this.complete = true;
+        if (this.handler != null) {
+            this.handler.complete();
+        }
+    }
+
+    /**
+     * 以异常结束请求处理，异常会按控制器方法抛出的异常处理
+     */
+    public synchronized void completeWithError(Throwable ex) {
+        this.complete = true;
+        this.failure = ex;
+        if (this.handler != null) {
+            this.handler.completeWithError(ex);
+        }
+    }
+
+    public synchronized void onTimeout(Runnable callback) {
+        this.timeoutCallback = callback;
+    }
+
+    public synchronized void onCompletion(Runnable callback) {
+        this.completionCallback = callback;
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseBodyEmitter@" + hashCode();
+    }
+
+
+    /**
+     * 实际写出数据并管理异步请求的生命周期，由ResponseBodyEmitterReturnValueHandler提供
+     */
+    interface Handler {
+
+        void send(Object data, MediaType mediaType) throws IOException;
+
+        void complete();
+
+        void completeWithError(Throwable failure);
+
+        void onTimeout(Runnable callback);
+
+        void onCompletion(Runnable callback);
+    }
+
+    static class DataWithMediaType {
+
+        private final Object data;
+
+        private final MediaType mediaType;
+
+        public DataWithMediaType(Object data, MediaType mediaType) {
+            this.data = data;
+            this.mediaType = mediaType;
+        }
+
+        public Object getData() {
+            return this.data;
+        }
+
+        public MediaType getMediaType() {
+            return this.mediaType;
+        }
+    }
+
+}
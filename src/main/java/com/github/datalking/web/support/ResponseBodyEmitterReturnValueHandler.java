@@ -0,0 +1,131 @@
+package com.github.datalking.web.support;
+
+import com.github.datalking.common.MethodParameter;
+import com.github.datalking.util.Assert;
+import com.github.datalking.web.context.request.WebRequest;
+import com.github.datalking.web.context.request.async.DeferredResult;
+import com.github.datalking.web.context.request.async.WebAsyncUtils;
+import com.github.datalking.web.http.HttpHeaders;
+import com.github.datalking.web.http.HttpOutputMessage;
+import com.github.datalking.web.http.MediaType;
+import com.github.datalking.web.http.ServletServerHttpResponse;
+import com.github.datalking.web.http.converter.HttpMessageConverter;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * 处理ResponseBodyEmitter及SseEmitter类型的返回值
+ * <p>
+ * 先写出响应头，再通过异步请求保持响应打开，之后send()的对象由HttpMessageConverter转换后直接写出
+ *
+ * @author yaoo on 10/17/26
+ */
+public class ResponseBodyEmitterReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+    private final List<HttpMessageConverter<?>> messageConverters;
+
+    public ResponseBodyEmitterReturnValueHandler(List<HttpMessageConverter<?>> messageConverters) {
+        Assert.notEmpty(messageConverters.toArray(), "HttpMessageConverter List must not be empty");
+        this.messageConverters = messageConverters;
+    }
+
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return ResponseBodyEmitter.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    public void handleReturnValue(Object returnValue,
+                                  MethodParameter returnType,
+                                  ModelAndViewContainer mavContainer,
+                                  WebRequest webRequest) throws Exception {
+
+        mavContainer.setRequestHandled(true);
+        if (returnValue == null) {
+            return;
+        }
+
+        ResponseBodyEmitter emitter = (ResponseBodyEmitter) returnValue;
+
+        HttpServletResponse response = webRequest.getNativeResponse(HttpServletResponse.class);
+        ServletServerHttpResponse outputMessage = new ServletServerHttpResponse(response);
+        emitter.extendResponse(outputMessage);
+
+        // 提交响应头，使客户端尽快建立连接
+        outputMessage.getBody();
+        response.flushBuffer();
+
+        DeferredResult<Object> deferredResult = new DeferredResult<>(emitter.getTimeout());
+        WebAsyncUtils.getAsyncManager(webRequest).startDeferredResultProcessing(deferredResult, mavContainer);
+
+        emitter.initialize(new HttpMessageConvertingHandler(response, deferredResult));
+    }
+
+
+    /**
+     * 使用HttpMessageConverter写出数据，用DeferredResult结束异步请求
+     */
+    private class HttpMessageConvertingHandler implements ResponseBodyEmitter.Handler {
+
+        private final HttpServletResponse response;
+
+        private final DeferredResult<Object> deferredResult;
+
+        public HttpMessageConvertingHandler(HttpServletResponse response, DeferredResult<Object> deferredResult) {
+            this.response = response;
+            this.deferredResult = deferredResult;
+        }
+
+        @SuppressWarnings("unchecked")
+        public void send(Object data, MediaType mediaType) throws IOException {
+            for (HttpMessageConverter<?> converter : messageConverters) {
+                if (converter.canWrite(data.getClass(), mediaType)) {
+                    ((HttpMessageConverter<Object>) converter).write(data, mediaType, new BodyOutputMessage(this.response));
+                    this.response.flushBuffer();
+                    return;
+                }
+            }
+            throw new IllegalArgumentException("No suitable converter for " + data.getClass());
+        }
+
+        public void complete() {
+            this.deferredResult.setResult(null);
+        }
+
+        public void completeWithError(Throwable failure) {
+            this.deferredResult.setErrorResult(failure);
+        }
+
+        public void onTimeout(Runnable callback) {
+            this.deferredResult.onTimeout(callback);
+        }
+
+        public void onCompletion(Runnable callback) {
+            this.deferredResult.onCompletion(callback);
+        }
+    }
+
+    /**
+     * 响应头已经写出，每次写出使用独立的headers，converter设置的响应头会被忽略
+     */
+    private static class BodyOutputMessage implements HttpOutputMessage {
+
+        private final HttpServletResponse response;
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        public BodyOutputMessage(HttpServletResponse response) {
+            this.response = response;
+        }
+
+        public HttpHeaders getHeaders() {
+            return this.headers;
+        }
+
+        public OutputStream getBody() throws IOException {
+            return this.response.getOutputStream();
+        }
+    }
+
+}
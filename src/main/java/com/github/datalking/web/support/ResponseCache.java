@@ -0,0 +1,206 @@
+package com.github.datalking.web.support;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 响应内容的内存缓存，配合ResponseCacheInterceptor和ResponseCachingReturnValueHandler使用
+ * <p>
+ * 按总字节数和缓存项数量做LRU淘汰，每个缓存项有各自的过期时间，并统计命中和未命中次数
+ *
+ * @author yaoo on 10/17/26
+ */
+public class ResponseCache {
+
+    /**
+     * 未命中时保存缓存键的请求属性名，由返回值处理器读取并写入缓存
+     */
+    public static final String CACHE_KEY_ATTRIBUTE = ResponseCache.class.getName() + ".KEY";
+
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    public static final int DEFAULT_MAX_ENTRY_SIZE = 256 * 1024;
+
+    public static final long DEFAULT_MAX_TOTAL_SIZE = 16 * 1024 * 1024;
+
+    private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    private int maxEntrySize = DEFAULT_MAX_ENTRY_SIZE;
+
+    private long maxTotalSize = DEFAULT_MAX_TOTAL_SIZE;
+
+    private long totalSize;
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public int getMaxEntries() {
+        return this.maxEntries;
+    }
+
+    public void setMaxEntrySize(int maxEntrySize) {
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    public int getMaxEntrySize() {
+        return this.maxEntrySize;
+    }
+
+    public void setMaxTotalSize(long maxTotalSize) {
+        this.maxTotalSize = maxTotalSize;
+    }
+
+    public long getMaxTotalSize() {
+        return this.maxTotalSize;
+    }
+
+    /**
+     * 获取未过期的缓存项，已过期时移除并返回null
+     */
+    public Entry get(String key) {
+        long now = System.currentTimeMillis();
+        synchronized (this.entries) {
+            Entry entry = this.entries.get(key);
+            if (entry != null && entry.expiresAt <= now) {
+                this.entries.remove(key);
+                this.totalSize -= entry.getContentLength();
+                entry = null;
+            }
+            if (entry == null) {
+                this.missCount.incrementAndGet();
+            } else {
+                this.hitCount.incrementAndGet();
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * 放入缓存，etag为null时根据内容计算，内容过大时不缓存并返回null
+     *
+     * @param headers 命中时需要原样写出的响应头
+     * @param ttl     有效期(毫秒)
+     */
+    public Entry put(String key, byte[] content, Map<String, String> headers, String etag, long ttl) {
+        if (ttl <= 0 || content.length > this.maxEntrySize || content.length > this.maxTotalSize) {
+            return null;
+        }
+        Entry entry = new Entry(content, headers, (etag != null ? etag : "\"" + digest(content) + "\""),
+                System.currentTimeMillis() + ttl);
+        synchronized (this.entries) {
+            Entry old = this.entries.put(key, entry);
+            if (old != null) {
+                this.totalSize -= old.getContentLength();
+            }
+            this.totalSize += entry.getContentLength();
+            evictIfNecessary();
+        }
+        return entry;
+    }
+
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+            this.totalSize = 0;
+        }
+    }
+
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    public long getTotalSize() {
+        synchronized (this.entries) {
+            return this.totalSize;
+        }
+    }
+
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    private void evictIfNecessary() {
+        Iterator<Entry> it = this.entries.values().iterator();
+        while ((this.totalSize > this.maxTotalSize || this.entries.size() > this.maxEntries) && it.hasNext()) {
+            Entry eldest = it.next();
+            it.remove();
+            this.totalSize -= eldest.getContentLength();
+        }
+    }
+
+    private static String digest(byte[] content) {
+        try {
+            byte[] bytes = MessageDigest.getInstance("MD5").digest(content);
+            char[] chars = new char[bytes.length * 2];
+            for (int i = 0; i < bytes.length; i++) {
+                chars[i * 2] = HEX_CHARS[(bytes[i] >> 4) & 0xF];
+                chars[i * 2 + 1] = HEX_CHARS[bytes[i] & 0xF];
+            }
+            return new String(chars);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("MD5 algorithm not available", ex);
+        }
+    }
+
+    /**
+     * 缓存项，内容为已编码(如已压缩)的响应体
+     */
+    public static class Entry {
+
+        private final byte[] content;
+
+        private final Map<String, String> headers;
+
+        private final String etag;
+
+        private final long expiresAt;
+
+        Entry(byte[] content, Map<String, String> headers, String etag, long expiresAt) {
+            this.content = content;
+            this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(headers));
+            this.etag = etag;
+            this.expiresAt = expiresAt;
+        }
+
+        public byte[] getContent() {
+            return this.content;
+        }
+
+        public Map<String, String> getHeaders() {
+            return this.headers;
+        }
+
+        public String getETag() {
+            return this.etag;
+        }
+
+        public long getExpiresAt() {
+            return this.expiresAt;
+        }
+
+        public int getContentLength() {
+            return this.content.length;
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.github.datalking.web.support;
+
+import com.github.datalking.annotation.web.CachedResponse;
+import com.github.datalking.common.MethodParameter;
+import com.github.datalking.util.Assert;
+import com.github.datalking.util.web.ContentCachingResponseWrapper;
+import com.github.datalking.web.context.request.WebRequest;
+import com.github.datalking.web.servlet.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 包装写出响应体的返回值处理器，ResponseCacheInterceptor未命中缓存时，
+ * 将委托处理器写出的响应体缓存在内存中，状态码为200时放入ResponseCache，再写出到原响应
+ *
+ * @author yaoo on 10/17/26
+ */
+public class ResponseCachingReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+    // 命中缓存时需要重新写出的响应头
+    private static final String[] CACHED_HEADERS = {"Content-Encoding", "Content-Language", "Vary"};
+
+    private final HandlerMethodReturnValueHandler delegate;
+
+    private final ResponseCache responseCache;
+
+    public ResponseCachingReturnValueHandler(HandlerMethodReturnValueHandler delegate, ResponseCache responseCache) {
+        Assert.notNull(delegate, "Delegate handler must not be null");
+        Assert.notNull(responseCache, "ResponseCache must not be null");
+        this.delegate = delegate;
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return this.delegate.supportsReturnType(returnType);
+    }
+
+    @Override
+    public void handleReturnValue(Object returnValue,
+                                  MethodParameter returnType,
+                                  ModelAndViewContainer mavContainer,
+                                  WebRequest webRequest) throws Exception {
+
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        HttpServletResponse response = webRequest.getNativeResponse(HttpServletResponse.class);
+        String key = (request != null ? (String) request.getAttribute(ResponseCache.CACHE_KEY_ATTRIBUTE) : null);
+        CachedResponse cachedResponse = returnType.getMethodAnnotation(CachedResponse.class);
+        if (key == null || cachedResponse == null || response == null || returnValue == null) {
+            this.delegate.handleReturnValue(returnValue, returnType, mavContainer, webRequest);
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        this.delegate.handleReturnValue(returnValue, returnType, mavContainer,
+                new ServletWebRequest(request, responseWrapper));
+        if (responseWrapper.isPassThrough()) {
+            return;
+        }
+
+        byte[] content = responseWrapper.getContentAsByteArray();
+        if (response.getStatus() == HttpServletResponse.SC_OK) {
+            Map<String, String> headers = new LinkedHashMap<>();
+            if (response.getContentType() != null) {
+                headers.put("Content-Type", response.getContentType());
+            }
+            for (String name : CACHED_HEADERS) {
+                String value = response.getHeader(name);
+                if (value != null) {
+                    headers.put(name, value);
+                }
+            }
+            ResponseCache.Entry entry = this.responseCache.put(key, content, headers, response.getHeader("ETag"),
+                    TimeUnit.SECONDS.toMillis(cachedResponse.ttl()));
+            if (entry != null && !response.containsHeader("ETag")) {
+                response.setHeader("ETag", entry.getETag());
+            }
+        }
+
+        if (!response.isCommitted()) {
+            response.setContentLength(content.length);
+        }
+        if (content.length > 0) {
+            response.getOutputStream().write(content);
+        }
+    }
+
+}
@@ -1,19 +1,52 @@
 package com.github.datalking.web.support;
 
+import com.github.datalking.annotation.web.ResponseBody;
 import com.github.datalking.annotation.web.ResponseStatus;
+import com.github.datalking.annotation.web.SingleFlight;
+import com.github.datalking.common.Errors;
 import com.github.datalking.common.MethodParameter;
 import com.github.datalking.util.ClassUtils;
+import com.github.datalking.util.ObjectUtils;
 import com.github.datalking.util.StringUtils;
+import com.github.datalking.util.web.ContentCachingResponseWrapper;
+import com.github.datalking.web.context.request.WebRequest;
+import com.github.datalking.web.context.request.async.DeferredResult;
+import com.github.datalking.web.http.HttpEntity;
 import com.github.datalking.web.http.HttpStatus;
+import com.github.datalking.web.mvc.Model;
+import com.github.datalking.web.mvc.ModelAndView;
 import com.github.datalking.web.mvc.View;
 import com.github.datalking.web.mvc.method.HandlerMethod;
+import com.github.datalking.web.servlet.HandlerMapping;
 import com.github.datalking.web.servlet.InvocableHandlerMethod;
 import com.github.datalking.web.servlet.ServletWebRequest;
 
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.stream.BaseStream;
 
 /**
  * @author yaoo on 5/2/18
@@ -26,14 +59,42 @@ public class ServletInvocableHandlerMethod extends InvocableHandlerMethod {
 
     private HandlerMethodReturnValueHandlerComposite returnValueHandlers;
 
+    // 合并调用时共享的响应头，与ResponseCachingReturnValueHandler一致
+    private static final String[] SHARED_HEADERS = {"Content-Encoding", "Content-Language", "Vary"};
+
+    // 返回值属于各自请求或由多个线程使用时不安全的类型，不能合并
+    private static final Class<?>[] NON_SHAREABLE_RETURN_TYPES = {
+            DeferredResult.class, CompletionStage.class, Future.class, Callable.class,
+            ResponseBodyEmitter.class, StreamingResponseBody.class, Iterator.class, BaseStream.class,
+            ModelAndView.class, View.class, HttpEntity.class};
+
+    // 每个请求各自的参数类型，包含这些参数的方法不能合并
+    private static final Class<?>[] PER_REQUEST_PARAMETER_TYPES = {
+            ServletRequest.class, ServletResponse.class, HttpSession.class, WebRequest.class, Principal.class,
+            InputStream.class, Reader.class, OutputStream.class, Writer.class,
+            Model.class, Errors.class, SessionStatus.class, HttpEntity.class};
+
+    // 标注@SingleFlight时，正在执行的调用，未标注时为null
+    private ConcurrentMap<SingleFlightKey, FutureTask<SharedResponse>> inFlightCalls;
+
     public ServletInvocableHandlerMethod(Object handler, Method method) {
         super(handler, method);
         initResponseStatus();
+        initSingleFlight();
     }
 
     public ServletInvocableHandlerMethod(HandlerMethod handlerMethod) {
         super(handlerMethod);
         initResponseStatus();
+        initSingleFlight();
+    }
+
+    protected ServletInvocableHandlerMethod(ServletInvocableHandlerMethod handlerMethod, Object bean) {
+        super(handlerMethod, bean);
+        this.responseStatus = handlerMethod.responseStatus;
+        this.responseReason = handlerMethod.responseReason;
+        this.returnValueHandlers = handlerMethod.returnValueHandlers;
+        this.inFlightCalls = handlerMethod.inFlightCalls;
     }
 
     private void initResponseStatus() {
@@ -44,14 +105,72 @@ public class ServletInvocableHandlerMethod extends InvocableHandlerMethod {
         }
     }
 
+    /**
+     * 合并的请求共享写出的响应体，只支持返回普通值的@ResponseBody方法，且不能有属于各自请求的参数
+     */
+    private void initSingleFlight() {
+        if (this instanceof CallableHandlerMethod || getMethodAnnotation(SingleFlight.class) == null) {
+            return;
+        }
+        if (getMethodAnnotation(ResponseBody.class) == null) {
+            throw new IllegalStateException(getDetailedErrorMessage("@SingleFlight requires a @ResponseBody method"));
+        }
+        if (StringUtils.hasText(this.responseReason)) {
+            throw new IllegalStateException(getDetailedErrorMessage(
+                    "@SingleFlight cannot be combined with @ResponseStatus reason"));
+        }
+        Class<?> returnType = getMethod().getReturnType();
+        if (returnType == void.class || !isShareableReturnType(returnType)) {
+            throw new IllegalStateException(getDetailedErrorMessage(
+                    "@SingleFlight does not support return type [" + returnType.getName() + "]"));
+        }
+        for (MethodParameter parameter : getMethodParameters()) {
+            if (isPerRequestParameter(parameter)) {
+                throw new IllegalStateException(getDetailedErrorMessage("@SingleFlight does not support parameter [" +
+                        parameter.getParameterIndex() + "] of type [" + parameter.getParameterType().getName() + "]"));
+            }
+        }
+        this.inFlightCalls = new ConcurrentHashMap<>(16);
+    }
+
+    private static boolean isShareableReturnType(Class<?> type) {
+        for (Class<?> nonShareable : NON_SHAREABLE_RETURN_TYPES) {
+            if (nonShareable.isAssignableFrom(type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPerRequestParameter(MethodParameter parameter) {
+        Class<?> type = parameter.getParameterType();
+        for (Class<?> perRequest : PER_REQUEST_PARAMETER_TYPES) {
+            if (perRequest.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+        // 没有注解的Map参数由MapMethodProcessor解析为model
+        return (Map.class.isAssignableFrom(type) && !parameter.hasParameterAnnotations());
+    }
+
     public void setHandlerMethodReturnValueHandlers(HandlerMethodReturnValueHandlerComposite returnValueHandlers) {
         this.returnValueHandlers = returnValueHandlers;
     }
 
+    @Override
+    public ServletInvocableHandlerMethod withBean(Object bean) {
+        return (bean == getBean() ? this : new ServletInvocableHandlerMethod(this, bean));
+    }
+
     public final void invokeAndHandle(ServletWebRequest webRequest,
                                       ModelAndViewContainer mavContainer,
                                       Object... providedArgs) throws Exception {
 
+        if (this.inFlightCalls != null && "GET".equals(webRequest.getRequest().getMethod())) {
+            invokeAndHandleSingleFlight(webRequest, mavContainer, providedArgs);
+            return;
+        }
+
         // ==== 调用处理请求的方法
         Object returnValue = invokeForRequest(webRequest, mavContainer, providedArgs);
 
@@ -80,6 +199,106 @@ public class ServletInvocableHandlerMethod extends InvocableHandlerMethod {
         }
     }
 
+    /**
+     * 相同的调用正在执行时等待其结果，否则由当前线程执行并在结束后移除
+     * <p>
+     * 执行的线程将响应体写入内存，所有合并的请求各自写出相同的状态码、响应头和响应体；
+     * 响应体未能缓存时（如处理过程中flush），其余请求各自执行方法
+     */
+    private void invokeAndHandleSingleFlight(final ServletWebRequest webRequest,
+                                             final ModelAndViewContainer mavContainer,
+                                             Object... providedArgs) throws Exception {
+
+        final Object[] args = getMethodArgumentValues(webRequest, mavContainer, providedArgs);
+        HttpServletRequest request = webRequest.getRequest();
+        String lookupPath = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+        // 内容协商的结果取决于Accept和Accept-Encoding
+        SingleFlightKey key = new SingleFlightKey(lookupPath, request.getHeader("Accept"),
+                request.getHeader("Accept-Encoding"), args);
+
+        FutureTask<SharedResponse> call = new FutureTask<>(new Callable<SharedResponse>() {
+            public SharedResponse call() throws Exception {
+                return invokeAndCapture(webRequest, mavContainer, args);
+            }
+        });
+        FutureTask<SharedResponse> inFlight = this.inFlightCalls.putIfAbsent(key, call);
+        boolean leader = (inFlight == null);
+        if (leader) {
+            try {
+                call.run();
+            } finally {
+                this.inFlightCalls.remove(key, call);
+            }
+            inFlight = call;
+        }
+
+        SharedResponse sharedResponse;
+        try {
+            sharedResponse = inFlight.get();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(getDetailedErrorMessage("Failed to invoke controller method"), cause);
+        }
+
+        if (sharedResponse == null) {
+            // 执行的线程已直接写出响应，其余请求各自处理
+            if (!leader) {
+                handleReturnValue(webRequest, mavContainer, doInvoke(args));
+            }
+            return;
+        }
+        setResponseStatus(webRequest);
+        sharedResponse.writeTo(webRequest.getResponse());
+        mavContainer.setRequestHandled(true);
+    }
+
+    /**
+     * 执行方法并将响应体写入内存，响应体已直接写出时返回null
+     */
+    private SharedResponse invokeAndCapture(ServletWebRequest webRequest,
+                                            ModelAndViewContainer mavContainer,
+                                            Object[] args) throws Exception {
+
+        Object returnValue = doInvoke(args);
+        if (returnValue != null && !isShareableReturnType(returnValue.getClass())) {
+            throw new IllegalStateException(getDetailedErrorMessage(
+                    "@SingleFlight does not support return value of type [" + returnValue.getClass().getName() + "]"));
+        }
+
+        HttpServletResponse response = webRequest.getResponse();
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        handleReturnValue(new ServletWebRequest(webRequest.getRequest(), responseWrapper), mavContainer, returnValue);
+        if (responseWrapper.isPassThrough()) {
+            return null;
+        }
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (response.getContentType() != null) {
+            headers.put("Content-Type", response.getContentType());
+        }
+        for (String name : SHARED_HEADERS) {
+            String value = response.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        return new SharedResponse(response.getStatus(), headers, responseWrapper.getContentAsByteArray());
+    }
+
+    private void handleReturnValue(ServletWebRequest webRequest,
+                                   ModelAndViewContainer mavContainer,
+                                   Object returnValue) throws Exception {
+
+        setResponseStatus(webRequest);
+        mavContainer.setRequestHandled(false);
+        this.returnValueHandlers.handleReturnValue(returnValue, getReturnValueType(returnValue), mavContainer, webRequest);
+    }
+
     private void setResponseStatus(ServletWebRequest webRequest) throws IOException {
         if (this.responseStatus == null) {
             return;
@@ -112,7 +331,7 @@ public class ServletInvocableHandlerMethod extends InvocableHandlerMethod {
         return getDetailedErrorMessage(sb.toString());
     }
 
-    ServletInvocableHandlerMethod wrapConcurrentResult(final Object result) {
+    public ServletInvocableHandlerMethod wrapConcurrentResult(final Object result) {
 
         return new CallableHandlerMethod(new Callable<Object>() {
 
@@ -128,6 +347,86 @@ public class ServletInvocableHandlerMethod extends InvocableHandlerMethod {
     }
 
 
+    /**
+     * 合并调用的键，参数按数组内容比较
+     */
+    private static class SingleFlightKey {
+
+        private final String lookupPath;
+
+        private final String accept;
+
+        private final String acceptEncoding;
+
+        private final Object[] args;
+
+        private final int hashCode;
+
+        SingleFlightKey(String lookupPath, String accept, String acceptEncoding, Object[] args) {
+            this.lookupPath = lookupPath;
+            this.accept = accept;
+            this.acceptEncoding = acceptEncoding;
+            this.args = args;
+            int hashCode = ObjectUtils.nullSafeHashCode(lookupPath);
+            hashCode = 31 * hashCode + ObjectUtils.nullSafeHashCode(accept);
+            hashCode = 31 * hashCode + ObjectUtils.nullSafeHashCode(acceptEncoding);
+            this.hashCode = 31 * hashCode + Arrays.deepHashCode(args);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof SingleFlightKey)) {
+                return false;
+            }
+            SingleFlightKey otherKey = (SingleFlightKey) other;
+            return (ObjectUtils.nullSafeEquals(this.lookupPath, otherKey.lookupPath) &&
+                    ObjectUtils.nullSafeEquals(this.accept, otherKey.accept) &&
+                    ObjectUtils.nullSafeEquals(this.acceptEncoding, otherKey.acceptEncoding) &&
+                    Arrays.deepEquals(this.args, otherKey.args));
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+
+    /**
+     * 合并调用写出的响应，只读，可由多个请求同时写出
+     */
+    private static class SharedResponse {
+
+        private final int status;
+
+        private final Map<String, String> headers;
+
+        private final byte[] content;
+
+        SharedResponse(int status, Map<String, String> headers, byte[] content) {
+            this.status = status;
+            this.headers = Collections.unmodifiableMap(headers);
+            this.content = content;
+        }
+
+        void writeTo(HttpServletResponse response) throws IOException {
+            response.setStatus(this.status);
+            for (Map.Entry<String, String> header : this.headers.entrySet()) {
+                response.setHeader(header.getKey(), header.getValue());
+            }
+            if (!response.isCommitted()) {
+                response.setContentLength(this.content.length);
+            }
+            if (this.content.length > 0) {
+                response.getOutputStream().write(this.content);
+            }
+        }
+    }
+
+
     private class CallableHandlerMethod extends ServletInvocableHandlerMethod {
 
         public CallableHandlerMethod(Callable<?> callable) {
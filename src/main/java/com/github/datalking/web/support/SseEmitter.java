@@ -0,0 +1,152 @@
+package com.github.datalking.web.support;
+
+import com.github.datalking.web.http.HttpHeaders;
+import com.github.datalking.web.http.MediaType;
+import com.github.datalking.web.http.ServletServerHttpResponse;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Server-Sent Events的ResponseBodyEmitter，响应类型为text/event-stream
+ * <p>
+ * 事件的data部分由HttpMessageConverter转换，如对象转换为JSON
+ *
+ * @author yaoo on 10/17/26
+ */
+public class SseEmitter extends ResponseBodyEmitter {
+
+    static final MediaType TEXT_PLAIN = new MediaType("text", "plain", Charset.forName("UTF-8"));
+
+    static final MediaType TEXT_EVENT_STREAM = new MediaType("text", "event-stream", Charset.forName("UTF-8"));
+
+    public SseEmitter() {
+        super();
+    }
+
+    /**
+     * @param timeout 超时时间，单位毫秒
+     */
+    public SseEmitter(Long timeout) {
+        super(timeout);
+    }
+
+    @Override
+    protected void extendResponse(ServletServerHttpResponse outputMessage) {
+        super.extendResponse(outputMessage);
+        HttpHeaders headers = outputMessage.getHeaders();
+        if (headers.getContentType() == null) {
+            headers.setContentType(TEXT_EVENT_STREAM);
+        }
+    }
+
+    /**
+     * 发送只包含data的事件
+     */
+    @Override
+    public void send(Object object) throws IOException {
+        send(object, null);
+    }
+
+    @Override
+    public void send(Object object, MediaType mediaType) throws IOException {
+        if (object != null) {
+            send(event().data(object, mediaType));
+        }
+    }
+
+    /**
+     * 发送事件，事件的各部分会连续写出，不会与其他线程发送的事件交错
+     */
+    public void send(SseEventBuilder builder) throws IOException {
+        List<DataWithMediaType> dataToSend = builder.build();
+        synchronized (this) {
+            for (DataWithMediaType entry : dataToSend) {
+                super.send(entry.getData(), entry.getMediaType());
+            }
+        }
+    }
+
+    public static SseEventBuilder event() {
+        return new SseEventBuilder();
+    }
+
+    @Override
+    public String toString() {
+        return "SseEmitter@" + hashCode();
+    }
+
+
+    /**
+     * 构建一个SSE事件
+     */
+    public static class SseEventBuilder {
+
+        private final List<DataWithMediaType> dataToSend = new ArrayList<>(4);
+
+        private StringBuilder sb;
+
+        public SseEventBuilder comment(String comment) {
+            append(":").append(comment != null ? comment : "").append("\n");
+            return this;
+        }
+
+        public SseEventBuilder name(String name) {
+            append("event:").append(name != null ? name : "").append("\n");
+            return this;
+        }
+
+        public SseEventBuilder id(String id) {
+            append("id:").append(id != null ? id : "").append("\n");
+            return this;
+        }
+
+        /**
+         * 客户端断开后的重连间隔，单位毫秒
+         */
+        public SseEventBuilder reconnectTime(long reconnectTimeMillis) {
+            append("retry:").append(String.valueOf(reconnectTimeMillis)).append("\n");
+            return this;
+        }
+
+        public SseEventBuilder data(Object object) {
+            return data(object, null);
+        }
+
+        public SseEventBuilder data(Object object, MediaType mediaType) {
+            append("data:");
+            saveAppendedText();
+            this.dataToSend.add(new DataWithMediaType(object, mediaType));
+            append("\n");
+            return this;
+        }
+
+        SseEventBuilder append(String text) {
+            if (this.sb == null) {
+                this.sb = new StringBuilder();
+            }
+            this.sb.append(text);
+            return this;
+        }
+
+        List<DataWithMediaType> build() {
+            if ((this.sb == null || this.sb.length() == 0) && this.dataToSend.isEmpty()) {
+                return this.dataToSend;
+            }
+            // 空行表示事件结束
+            append("\n");
+            saveAppendedText();
+            return this.dataToSend;
+        }
+
+        private void saveAppendedText() {
+            if (this.sb != null) {
+                this.dataToSend.add(new DataWithMediaType(this.sb.toString(), TEXT_PLAIN));
+                this.sb = null;
+            }
+        }
+    }
+
+}
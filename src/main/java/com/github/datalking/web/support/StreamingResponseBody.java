@@ -0,0 +1,17 @@
+package com.github.datalking.web.support;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 直接向响应输出流写数据的返回值类型，适合导出等大数据量响应
+ * <p>
+ * 容器支持异步时在异步线程中执行，释放处理请求的容器线程
+ *
+ * @author yaoo on 10/17/26
+ */
+public interface StreamingResponseBody {
+
+    void writeTo(OutputStream outputStream) throws IOException;
+
+}
@@ -0,0 +1,71 @@
+package com.github.datalking.web.support;
+
+import com.github.datalking.common.MethodParameter;
+import com.github.datalking.web.context.request.WebRequest;
+import com.github.datalking.web.context.request.async.WebAsyncUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.Callable;
+
+/**
+ * 处理StreamingResponseBody类型的返回值
+ *
+ * @author yaoo on 10/17/26
+ */
+public class StreamingResponseBodyReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return StreamingResponseBody.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    public void handleReturnValue(Object returnValue,
+                                  MethodParameter returnType,
+                                  ModelAndViewContainer mavContainer,
+                                  WebRequest webRequest) throws Exception {
+
+        // 响应由StreamingResponseBody直接写出，不需要视图
+        mavContainer.setRequestHandled(true);
+        if (returnValue == null) {
+            return;
+        }
+
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        HttpServletResponse response = webRequest.getNativeResponse(HttpServletResponse.class);
+        StreamingResponseBody streamingBody = (StreamingResponseBody) returnValue;
+
+        if (request.isAsyncSupported()) {
+            Callable<Void> callable = new StreamingResponseBodyTask(response, streamingBody);
+            WebAsyncUtils.getAsyncManager(webRequest).startCallableProcessing(callable, mavContainer);
+        } else {
+            writeTo(response, streamingBody);
+        }
+    }
+
+    private static void writeTo(HttpServletResponse response, StreamingResponseBody streamingBody) throws IOException {
+        OutputStream outputStream = response.getOutputStream();
+        streamingBody.writeTo(outputStream);
+        outputStream.flush();
+    }
+
+
+    private static class StreamingResponseBodyTask implements Callable<Void> {
+
+        private final HttpServletResponse response;
+
+        private final StreamingResponseBody streamingBody;
+
+        public StreamingResponseBodyTask(HttpServletResponse response, StreamingResponseBody streamingBody) {
+            this.response = response;
+            this.streamingBody = streamingBody;
+        }
+
+        public Void call() throws Exception {
+            writeTo(this.response, this.streamingBody);
+            return null;
+        }
+    }
+
+}
@@ -194,6 +194,13 @@ public abstract class WebContentGenerator extends WebApplicationObjectSupport {
         }
     }
 
+    /**
+     * 直接设置预先生成的Cache-Control响应头
+     */
+    protected final void applyCacheControl(HttpServletResponse response, String cacheControl) {
+        response.setHeader(HEADER_CACHE_CONTROL, cacheControl);
+    }
+
     protected final void applyCacheSeconds(HttpServletResponse response, int seconds) {
         applyCacheSeconds(response, seconds, false);
     }
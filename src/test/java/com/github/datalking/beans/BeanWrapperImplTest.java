@@ -0,0 +1,53 @@
+package com.github.datalking.beans;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * BeanWrapperImpl Tester.
+ *
+ * @author <Authors name>
+ * @version 1.0
+ * @since <pre>Oct 17, 2026</pre>
+ */
+public class BeanWrapperImplTest {
+
+    @Test
+    public void testSetFieldAndSetter() {
+        Form form = new Form();
+        BeanWrapperImpl bw = new BeanWrapperImpl(form);
+        MutablePropertyValues pvs = new MutablePropertyValues();
+        pvs.addPropertyValue(new PropertyValue("age", "30"));
+        pvs.addPropertyValue(new PropertyValue("id", new String[]{"42"}));
+        pvs.addPropertyValue(new PropertyValue("nickname", "neo"));
+        pvs.addPropertyValue(new PropertyValue("unknown", "x"));
+        bw.setPropertyValues(pvs);
+
+        assertEquals(30, form.age);
+        assertEquals(42L, form.id);
+        assertEquals("neo!", form.name);
+        assertEquals(Long.valueOf(42L), bw.getPropertyValue("id"));
+        assertNull(bw.getPropertyValue("unknown"));
+    }
+
+
+    public static class Form {
+
+        private int age;
+
+        private long id;
+
+        private String name;
+
+        public long getId() {
+            return this.id;
+        }
+
+        public void setNickname(String nickname) {
+            this.name = nickname + "!";
+        }
+    }
+
+}
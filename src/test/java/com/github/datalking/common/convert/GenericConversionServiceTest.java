@@ -0,0 +1,154 @@
+package com.github.datalking.common.convert;
+
+import com.github.datalking.common.GenericTypeResolver;
+import com.github.datalking.common.MethodParameter;
+import com.github.datalking.common.convert.converter.Converter;
+import com.github.datalking.common.convert.descriptor.TypeDescriptor;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * GenericConversionService Tester.
+ *
+ * @author <Authors name>
+ * @version 1.0
+ * @since <pre>Oct 17, 2026</pre>
+ */
+public class GenericConversionServiceTest {
+
+    @Test
+    public void testSimpleTypeConverterCache() {
+        DefaultConversionService conversionService = new DefaultConversionService();
+        assertEquals(Integer.valueOf(42), conversionService.convert("42", Integer.class));
+        assertEquals(Integer.valueOf(7), conversionService.convert("7", Integer.class));
+
+        // 注册新转换器后缓存失效
+        conversionService.addConverter(String.class, Integer.class, new Converter<String, Integer>() {
+            public Integer convert(String source) {
+                return source.length();
+            }
+        });
+        assertEquals(Integer.valueOf(2), conversionService.convert("42", Integer.class));
+    }
+
+    @Test
+    public void testConvertToPrimitive() {
+        DefaultConversionService conversionService = new DefaultConversionService();
+        assertEquals(42, conversionService.convertToInt(" 42 "));
+        assertEquals(255, conversionService.convertToInt("0xFF"));
+        assertEquals(7, conversionService.convertToInt(7L));
+        assertEquals(1234567890123L, conversionService.convertToLong("1234567890123"));
+        assertEquals(2.5d, conversionService.convertToDouble("2.5"), 0);
+        assertEquals(3d, conversionService.convertToDouble(3), 0);
+
+        try {
+            conversionService.convertToInt(Long.MAX_VALUE);
+            fail("Should have failed on overflow");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            conversionService.convertToInt("");
+            fail("Should have failed on empty string");
+        } catch (IllegalArgumentException expected) {
+        }
+
+        // 自定义转换器优先于基本类型解析
+        conversionService.addConverter(String.class, Integer.class, new Converter<String, Integer>() {
+            public Integer convert(String source) {
+                return source.length();
+            }
+        });
+        assertEquals(3, conversionService.convertToInt("abc"));
+    }
+
+    @Test
+    public void testGenericTypeUsesFullDescriptor() throws Exception {
+        DefaultConversionService conversionService = new DefaultConversionService();
+        MethodParameter parameter = new MethodParameter(getClass().getDeclaredMethod("handle", List.class), 0);
+        List<?> result = (List<?>) conversionService.convert(new String[]{"1", "2"},
+                TypeDescriptor.valueOf(String[].class),
+                parameter.getTypeDescriptor());
+        assertEquals(Integer.valueOf(1), result.get(0));
+        assertEquals(Integer.valueOf(2), result.get(1));
+    }
+
+    @Test
+    public void testConvertToPrimitiveDefaultsToConvert() {
+        final DefaultConversionService delegate = new DefaultConversionService();
+        ConversionService conversionService = new ConversionService() {
+            public boolean canConvert(Class<?> sourceType, Class<?> targetType) {
+                return delegate.canConvert(sourceType, targetType);
+            }
+
+            public <T> T convert(Object source, Class<T> targetType) {
+                return delegate.convert(source, targetType);
+            }
+
+            public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+                return delegate.convert(source, sourceType, targetType);
+            }
+
+            public boolean canConvert(TypeDescriptor sourceType, TypeDescriptor targetType) {
+                return delegate.canConvert(sourceType, targetType);
+            }
+        };
+        assertEquals(42, conversionService.convertToInt("42"));
+        assertEquals(42L, conversionService.convertToLong("42"));
+        assertEquals(4.2d, conversionService.convertToDouble("4.2"), 0);
+    }
+
+    @Test
+    public void testTypeConverterPrimitiveConversion() {
+        SimpleTypeConverter typeConverter = new SimpleTypeConverter();
+        typeConverter.setConversionService(new DefaultConversionService());
+
+        assertEquals(Integer.valueOf(42), typeConverter.convertIfNecessary(" 42 ", int.class));
+        assertEquals(Long.valueOf(-7), typeConverter.convertIfNecessary("-7", long.class));
+        assertEquals(Double.valueOf(1.5e3), typeConverter.convertIfNecessary("1.5e3", double.class));
+        // 十六进制和超过直接解析位数的值走常规转换逻辑
+        assertEquals(Integer.valueOf(255), typeConverter.convertIfNecessary("0xFF", int.class));
+        assertEquals(Long.valueOf(Long.MAX_VALUE),
+                typeConverter.convertIfNecessary(String.valueOf(Long.MAX_VALUE), long.class));
+        assertEquals(Integer.valueOf(7), typeConverter.convertIfNecessary(7L, int.class));
+    }
+
+    @Test
+    public void testTypeDescriptorCachedPerParameter() throws Exception {
+        MethodParameter parameter = new MethodParameter(getClass().getDeclaredMethod("handle", List.class), 0);
+        TypeDescriptor typeDescriptor = parameter.getTypeDescriptor();
+        assertSame(typeDescriptor, parameter.getTypeDescriptor());
+
+        parameter.increaseNestingLevel();
+        assertNotSame(typeDescriptor, parameter.getTypeDescriptor());
+        assertSame(TypeDescriptor.valueOf(getClass()), TypeDescriptor.valueOf(getClass()));
+    }
+
+    @Test
+    public void testTypeDescriptorResetWhenParameterTypeResolved() throws Exception {
+        MethodParameter parameter = new MethodParameter(GenericHandler.class.getMethod("handle", Object.class), 0);
+        assertEquals(Object.class, parameter.getTypeDescriptor().getType());
+
+        GenericTypeResolver.resolveParameterType(parameter, IntegerHandler.class);
+        assertEquals(Integer.class, parameter.getTypeDescriptor().getType());
+    }
+
+    @SuppressWarnings("unused")
+    private void handle(List<Integer> ids) {
+    }
+
+    public static class GenericHandler<T> {
+
+        public void handle(T value) {
+        }
+    }
+
+    public static class IntegerHandler extends GenericHandler<Integer> {
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.github.datalking.util;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * AntPathMatcher Tester.
+ *
+ * @author <Authors name>
+ * @version 1.0
+ * @since <pre>Oct 17, 2026</pre>
+ */
+public class AntPathMatcherTest {
+
+    private static final String[] PATTERNS = {
+            "/users", "/users/", "/users/*", "/users/{id}", "/users/{id:\\d+}", "/users/{id}.json",
+            "/users/*.html", "/users/**", "/**", "/**/*.css", "/a/**/b/**/c", "/a/?b", "/*", "users/*",
+            "/files/{name}.{ext}", "/users/*/orders", "/a/**/**/z", ""};
+
+    private static final String[] PATHS = {
+            "/users", "/users/", "/users/42", "/users/42.json", "/users/abc", "/users/a.html", "/users/a/b",
+            "/static/css/app.css", "/a/x/b/y/z/c", "/a/b/c", "/a/xb", "/", "users/1", "/files/doc.pdf",
+            "/users/7/orders", "/a//b", "/a/z", " /users/ 1 ", ""};
+
+    @Test
+    public void testCompiledMatchesLegacy() {
+        AntPathMatcher matcher = new AntPathMatcher();
+        for (String pattern : PATTERNS) {
+            for (String path : PATHS) {
+                String message = pattern + " <-> " + path;
+                assertEquals(message, matcher.doMatch(pattern, path, true, null), matcher.match(pattern, path));
+                assertEquals(message, matcher.doMatch(pattern, path, false, null), matcher.matchStart(pattern, path));
+
+                Map<String, String> expected = new LinkedHashMap<>();
+                matcher.doMatch(pattern, path, true, expected);
+                assertEquals(message, expected, matcher.extractUriTemplateVariables(pattern, path));
+            }
+        }
+    }
+
+    @Test
+    public void testMatch() {
+        AntPathMatcher matcher = new AntPathMatcher();
+        assertTrue(matcher.match("/users/{id:\\d+}", "/users/42"));
+        assertFalse(matcher.match("/users/{id:\\d+}", "/users/abc"));
+        assertTrue(matcher.match("/**/*.css", "/static/css/app.css"));
+        assertFalse(matcher.match("/users/*.html", "/users/a.json"));
+
+        Map<String, String> variables = matcher.extractUriTemplateVariables("/files/{name}.{ext}", "/files/doc.pdf");
+        assertEquals("doc", variables.get("name"));
+        assertEquals("pdf", variables.get("ext"));
+    }
+
+    @Test
+    public void testReusedPathTokens() {
+        AntPathMatcher matcher = new AntPathMatcher();
+        AntPathMatcher untrimmed = new AntPathMatcher();
+        untrimmed.setTrimTokens(false);
+
+        // 路径片段超过复用数组的初始容量
+        String longPath = "/a/b/c/d/e/f/g/h/i/j/k/l/m/n/o/p/q/r/s/t";
+        assertTrue(matcher.match("/a/**/t", longPath));
+        assertTrue(matcher.match("/a/b/c/d/e/f/g/h/i/j/k/l/m/n/o/p/q/r/s/*", longPath));
+        assertFalse(matcher.match("/a/**/u", longPath));
+
+        // 同一路径在不同拆分规则下的结果不能互相复用
+        assertTrue(matcher.match("/users/x", "/users/ x"));
+        assertFalse(untrimmed.match("/users/x", "/users/ x"));
+        assertTrue(matcher.match("/users/x", "/users/ x"));
+        assertFalse(matcher.match("/users/x", "/users/y"));
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.github.datalking.util;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * NumberUtils Tester.
+ *
+ * @author <Authors name>
+ * @version 1.0
+ * @since <pre>Oct 17, 2026</pre>
+ */
+public class NumberUtilsTest {
+
+    /**
+     * Method: canConvertDirectly(Object value, Class<?> primitiveType)
+     */
+    @Test
+    public void testCanConvertDirectly() {
+        assertTrue(NumberUtils.canConvertDirectly("42", int.class));
+        assertTrue(NumberUtils.canConvertDirectly(" -123456789 ", int.class));
+        assertTrue(NumberUtils.canConvertDirectly("+7", long.class));
+        assertTrue(NumberUtils.canConvertDirectly("123456789012345678", long.class));
+        assertTrue(NumberUtils.canConvertDirectly("1.5", double.class));
+        assertTrue(NumberUtils.canConvertDirectly(".5e-3", double.class));
+        assertTrue(NumberUtils.canConvertDirectly(7, int.class));
+        assertTrue(NumberUtils.canConvertDirectly(7L, double.class));
+
+        assertFalse(NumberUtils.canConvertDirectly("", int.class));
+        assertFalse(NumberUtils.canConvertDirectly("-", int.class));
+        assertFalse(NumberUtils.canConvertDirectly("abc", int.class));
+        assertFalse(NumberUtils.canConvertDirectly("0xFF", int.class));
+        assertFalse(NumberUtils.canConvertDirectly("1234567890", int.class));
+        assertFalse(NumberUtils.canConvertDirectly("1.5", int.class));
+        assertFalse(NumberUtils.canConvertDirectly("1e", double.class));
+        assertFalse(NumberUtils.canConvertDirectly(".", double.class));
+        assertFalse(NumberUtils.canConvertDirectly("NaN", double.class));
+        assertFalse(NumberUtils.canConvertDirectly(7L, int.class));
+        assertFalse(NumberUtils.canConvertDirectly(new BigDecimal("1"), long.class));
+        assertFalse(NumberUtils.canConvertDirectly(null, int.class));
+        assertFalse(NumberUtils.canConvertDirectly("1", boolean.class));
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.github.datalking.web;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 测试用的HttpServletRequest，只记录测试设置的请求信息，其他方法返回默认值
+ *
+ * @author yaoo on 10/17/26
+ */
+public class StubHttpServletRequest implements InvocationHandler {
+
+    private final HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(
+            HttpServletRequest.class.getClassLoader(), new Class<?>[]{HttpServletRequest.class}, this);
+
+    private String method = "GET";
+
+    private String requestUri = "";
+
+    private String queryString;
+
+    private DispatcherType dispatcherType = DispatcherType.REQUEST;
+
+    // 请求头名称不区分大小写，统一转成小写保存
+    private final Map<String, String> headers = new HashMap<>();
+
+    private final Map<String, Long> dateHeaders = new HashMap<>();
+
+    private final Map<String, String[]> parameters = new LinkedHashMap<>();
+
+    private final Map<String, Object> attributes = new LinkedHashMap<>();
+
+    public StubHttpServletRequest() {
+    }
+
+    public StubHttpServletRequest(String method, String requestUri) {
+        this.method = method;
+        this.requestUri = requestUri;
+    }
+
+    public HttpServletRequest getRequest() {
+        return this.request;
+    }
+
+    public StubHttpServletRequest setMethod(String method) {
+        this.method = method;
+        return this;
+    }
+
+    public StubHttpServletRequest setRequestUri(String requestUri) {
+        this.requestUri = requestUri;
+        return this;
+    }
+
+    public StubHttpServletRequest setQueryString(String queryString) {
+        this.queryString = queryString;
+        return this;
+    }
+
+    public StubHttpServletRequest setDispatcherType(DispatcherType dispatcherType) {
+        this.dispatcherType = dispatcherType;
+        return this;
+    }
+
+    public StubHttpServletRequest addHeader(String name, String value) {
+        if (value != null) {
+            this.headers.put(name.toLowerCase(Locale.ENGLISH), value);
+        }
+        return this;
+    }
+
+    public StubHttpServletRequest addDateHeader(String name, long value) {
+        this.dateHeaders.put(name.toLowerCase(Locale.ENGLISH), value);
+        return this;
+    }
+
+    public StubHttpServletRequest addParameter(String name, String... values) {
+        this.parameters.put(name, values);
+        return this;
+    }
+
+    public StubHttpServletRequest setAttribute(String name, Object value) {
+        this.attributes.put(name, value);
+        return this;
+    }
+
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        String name = method.getName();
+        if (name.equals("getMethod")) {
+            return this.method;
+        } else if (name.equals("getRequestURI")) {
+            return this.requestUri;
+        } else if (name.equals("getQueryString")) {
+            return this.queryString;
+        } else if (name.equals("getContextPath") || name.equals("getServletPath")) {
+            return "";
+        } else if (name.equals("getDispatcherType")) {
+            return this.dispatcherType;
+        } else if (name.equals("getHeader")) {
+            return this.headers.get(((String) args[0]).toLowerCase(Locale.ENGLISH));
+        } else if (name.equals("getHeaders")) {
+            String value = this.headers.get(((String) args[0]).toLowerCase(Locale.ENGLISH));
+            return Collections.enumeration(value != null ?
+                    Collections.singletonList(value) : Collections.<String>emptyList());
+        } else if (name.equals("getHeaderNames")) {
+            return Collections.enumeration(this.headers.keySet());
+        } else if (name.equals("getDateHeader")) {
+            Long value = this.dateHeaders.get(((String) args[0]).toLowerCase(Locale.ENGLISH));
+            return (value != null ? value : -1L);
+        } else if (name.equals("getParameter")) {
+            String[] values = this.parameters.get(args[0]);
+            return (values != null && values.length > 0 ? values[0] : null);
+        } else if (name.equals("getParameterValues")) {
+            return this.parameters.get(args[0]);
+        } else if (name.equals("getParameterMap")) {
+            return Collections.unmodifiableMap(this.parameters);
+        } else if (name.equals("getParameterNames")) {
+            return Collections.enumeration(this.parameters.keySet());
+        } else if (name.equals("getAttribute")) {
+            return this.attributes.get(args[0]);
+        } else if (name.equals("setAttribute")) {
+            this.attributes.put((String) args[0], args[1]);
+        } else if (name.equals("removeAttribute")) {
+            this.attributes.remove(args[0]);
+        } else if (name.equals("getAttributeNames")) {
+            return Collections.enumeration(this.attributes.keySet());
+        } else if (name.equals("getCharacterEncoding")) {
+            return "UTF-8";
+        } else if (name.equals("getLocale")) {
+            return Locale.getDefault();
+        } else if (name.equals("hashCode")) {
+            return System.identityHashCode(proxy);
+        } else if (name.equals("equals")) {
+            return proxy == args[0];
+        } else if (name.equals("toString")) {
+            return "StubHttpServletRequest [" + this.method + " " + this.requestUri + "]";
+        }
+        return defaultValue(method.getReturnType());
+    }
+
+    /**
+     * 基本类型的返回值不能为null
+     */
+    static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.github.datalking.web;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 测试用的HttpServletResponse，记录状态码、响应头和写出的响应体
+ *
+ * @author yaoo on 10/17/26
+ */
+public class StubHttpServletResponse implements InvocationHandler {
+
+    private final HttpServletResponse response = (HttpServletResponse) Proxy.newProxyInstance(
+            HttpServletResponse.class.getClassLoader(), new Class<?>[]{HttpServletResponse.class}, this);
+
+    private int status = 200;
+
+    private String errorMessage;
+
+    // 同名响应头只保留最后设置的值，按名称不区分大小写查找
+    private final Map<String, String> headers = new LinkedHashMap<>();
+
+    private final Map<String, Long> dateHeaders = new HashMap<>();
+
+    private String characterEncoding = "UTF-8";
+
+    private boolean committed;
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    private final ServletOutputStream outputStream = new ServletOutputStream() {
+        public boolean isReady() {
+            return true;
+        }
+
+        public void setWriteListener(WriteListener writeListener) {
+        }
+
+        public void write(int b) {
+            body.write(b);
+        }
+
+        public void write(byte[] b, int off, int len) {
+            body.write(b, off, len);
+        }
+    };
+
+    private PrintWriter writer;
+
+    public HttpServletResponse getResponse() {
+        return this.response;
+    }
+
+    public int getStatus() {
+        return this.status;
+    }
+
+    public String getErrorMessage() {
+        return this.errorMessage;
+    }
+
+    public String getHeader(String name) {
+        return this.headers.get(name.toLowerCase(Locale.ENGLISH));
+    }
+
+    public long getDateHeader(String name) {
+        Long value = this.dateHeaders.get(name.toLowerCase(Locale.ENGLISH));
+        return (value != null ? value : -1L);
+    }
+
+    public byte[] getContentAsByteArray() {
+        if (this.writer != null) {
+            this.writer.flush();
+        }
+        return this.body.toByteArray();
+    }
+
+    public String getContentAsString() {
+        return new String(getContentAsByteArray(), StandardCharsets.UTF_8);
+    }
+
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        String name = method.getName();
+        if (name.equals("setHeader") || name.equals("addHeader")) {
+            this.headers.put(((String) args[0]).toLowerCase(Locale.ENGLISH), (String) args[1]);
+        } else if (name.equals("setIntHeader") || name.equals("addIntHeader")) {
+            this.headers.put(((String) args[0]).toLowerCase(Locale.ENGLISH), String.valueOf(args[1]));
+        } else if (name.equals("setDateHeader") || name.equals("addDateHeader")) {
+            this.dateHeaders.put(((String) args[0]).toLowerCase(Locale.ENGLISH), (Long) args[1]);
+        } else if (name.equals("getHeader")) {
+            return getHeader((String) args[0]);
+        } else if (name.equals("getHeaderNames")) {
+            return this.headers.keySet();
+        } else if (name.equals("containsHeader")) {
+            String key = ((String) args[0]).toLowerCase(Locale.ENGLISH);
+            return (this.headers.containsKey(key) || this.dateHeaders.containsKey(key));
+        } else if (name.equals("setContentType")) {
+            this.headers.put("content-type", (String) args[0]);
+        } else if (name.equals("getContentType")) {
+            return this.headers.get("content-type");
+        } else if (name.equals("setContentLength") || name.equals("setContentLengthLong")) {
+            this.headers.put("content-length", String.valueOf(args[0]));
+        } else if (name.equals("setCharacterEncoding")) {
+            this.characterEncoding = (String) args[0];
+        } else if (name.equals("getCharacterEncoding")) {
+            return this.characterEncoding;
+        } else if (name.equals("setStatus")) {
+            this.status = (Integer) args[0];
+        } else if (name.equals("sendError")) {
+            this.status = (Integer) args[0];
+            this.errorMessage = (args.length > 1 ? (String) args[1] : null);
+            this.committed = true;
+        } else if (name.equals("getStatus")) {
+            return this.status;
+        } else if (name.equals("getOutputStream")) {
+            return this.outputStream;
+        } else if (name.equals("getWriter")) {
+            if (this.writer == null) {
+                this.writer = new PrintWriter(new OutputStreamWriter(this.body, StandardCharsets.UTF_8));
+            }
+            return this.writer;
+        } else if (name.equals("flushBuffer")) {
+            this.committed = true;
+        } else if (name.equals("isCommitted")) {
+            return this.committed;
+        } else if (name.equals("reset") || name.equals("resetBuffer")) {
+            this.body.reset();
+        } else if (name.equals("hashCode")) {
+            return System.identityHashCode(proxy);
+        } else if (name.equals("equals")) {
+            return proxy == args[0];
+        } else if (name.equals("toString")) {
+            return "StubHttpServletResponse [" + this.status + "]";
+        }
+        return StubHttpServletRequest.defaultValue(method.getReturnType());
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.github.datalking.web.bind;
+
+import com.github.datalking.beans.MutablePropertyValues;
+import com.github.datalking.web.StubHttpServletRequest;
+import com.github.datalking.web.servlet.HandlerMapping;
+import org.junit.Test;
+
+import javax.servlet.ServletRequest;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ServletRequestDataBinder Tester.
+ *
+ * @author <Authors name>
+ * @version 1.0
+ * @since <pre>Oct 17, 2026</pre>
+ */
+public class ServletRequestDataBinderTest {
+
+    @Test
+    public void testBindByTargetProperties() {
+        Map<String, String[]> parameters = new HashMap<>();
+        parameters.put("name", new String[]{"foo"});
+        parameters.put("age", new String[]{"18"});
+        parameters.put("tags", new String[]{"a", "b"});
+        parameters.put("unknown", new String[]{"x"});
+
+        Form form = new Form();
+        ExtendedServletRequestDataBinder binder = new ExtendedServletRequestDataBinder(form);
+        binder.bind(request(parameters, Collections.singletonMap("id", "7")));
+
+        assertEquals("foo", form.name);
+        assertEquals(18, form.age);
+        assertArrayEquals(new String[]{"a", "b"}, form.tags);
+        assertEquals("7", form.id);
+        assertNull(form.note);
+    }
+
+    @Test
+    public void testRequestParameterTakesPrecedenceOverUriVariable() {
+        Form form = new Form();
+        new ExtendedServletRequestDataBinder(form).bind(request(
+                Collections.singletonMap("id", new String[]{"1"}), Collections.singletonMap("id", "2")));
+        assertEquals("1", form.id);
+    }
+
+    /**
+     * Method: getTargetPropertyValues(Map<String, String[]> parameterMap)
+     */
+    @Test
+    public void testNestedParameterFallsBackToAllParameters() {
+        Map<String, String[]> parameters = new HashMap<>();
+        parameters.put("name", new String[]{"foo"});
+        parameters.put("address.city", new String[]{"Beijing"});
+
+        Form form = new Form();
+        CapturingBinder binder = new CapturingBinder(form);
+        assertNull(binder.getTargetPropertyValues(parameters));
+        binder.bind(request(parameters, Collections.<String, String>emptyMap()));
+
+        assertEquals("foo", form.name);
+        assertTrue(binder.boundValues.contains("address.city"));
+    }
+
+    @Test
+    public void testIndexedAndMarkerParametersFallBackToAllParameters() {
+        Map<String, String[]> parameters = new HashMap<>();
+        parameters.put("tags[1]", new String[]{"b"});
+        parameters.put("_note", new String[]{"on"});
+
+        CapturingBinder binder = new CapturingBinder(new Form());
+        assertNull(binder.getTargetPropertyValues(parameters));
+        binder.bind(request(parameters, Collections.<String, String>emptyMap()));
+        assertTrue(binder.boundValues.contains("tags[1]"));
+        assertTrue(binder.boundValues.contains("_note"));
+
+        assertNull(binder.getTargetPropertyValues(Collections.singletonMap("!note", new String[]{"x"})));
+        assertNotNull(binder.getTargetPropertyValues(Collections.singletonMap("note", new String[]{"x"})));
+    }
+
+    private static ServletRequest request(Map<String, String[]> parameters, Map<String, String> uriVars) {
+        StubHttpServletRequest request = new StubHttpServletRequest();
+        for (Map.Entry<String, String[]> entry : parameters.entrySet()) {
+            request.addParameter(entry.getKey(), entry.getValue());
+        }
+        return request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, uriVars).getRequest();
+    }
+
+    public static class Form {
+
+        private String id;
+
+        private String name;
+
+        private int age;
+
+        private String[] tags;
+
+        private String note;
+
+        private Address address = new Address();
+    }
+
+    /**
+     * 记录交给属性访问器的请求参数
+     */
+    private static class CapturingBinder extends ExtendedServletRequestDataBinder {
+
+        private final MutablePropertyValues boundValues = new MutablePropertyValues();
+
+        CapturingBinder(Object target) {
+            super(target);
+        }
+
+        @Override
+        protected void doBind(MutablePropertyValues mpvs) {
+            this.boundValues.addPropertyValues(mpvs);
+            super.doBind(mpvs);
+        }
+    }
+
+    public static class Address {
+
+        private String city;
+    }
+
+}
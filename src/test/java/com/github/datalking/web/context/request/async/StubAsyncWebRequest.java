@@ -0,0 +1,65 @@
+package com.github.datalking.web.context.request.async;
+
+import com.github.datalking.web.StubHttpServletRequest;
+import com.github.datalking.web.StubHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 不依赖容器AsyncContext的异步请求，记录startAsync和dispatch调用，供异步处理相关测试共用
+ */
+public class StubAsyncWebRequest extends StandardServletAsyncWebRequest {
+
+    private final CountDownLatch dispatched = new CountDownLatch(1);
+
+    private volatile boolean started;
+
+    private volatile boolean completed;
+
+    public StubAsyncWebRequest(StubHttpServletRequest request, StubHttpServletResponse response) {
+        super(request.getRequest(), response.getResponse());
+    }
+
+    @Override
+    public void startAsync() {
+        this.started = true;
+    }
+
+    @Override
+    public boolean isAsyncStarted() {
+        return this.started && !this.completed;
+    }
+
+    @Override
+    public void dispatch() {
+        this.dispatched.countDown();
+    }
+
+    @Override
+    public void complete() {
+        this.completed = true;
+    }
+
+    @Override
+    public boolean isAsyncComplete() {
+        return this.completed;
+    }
+
+    public boolean isDispatched() {
+        return this.dispatched.getCount() == 0;
+    }
+
+    public boolean awaitDispatch() throws InterruptedException {
+        return this.dispatched.await(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 模拟容器触发的异步超时
+     */
+    public void fireTimeout() throws IOException {
+        onTimeout(null);
+    }
+
+}
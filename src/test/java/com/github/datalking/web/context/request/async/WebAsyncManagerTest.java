@@ -0,0 +1,146 @@
+package com.github.datalking.web.context.request.async;
+
+import com.github.datalking.web.StubHttpServletRequest;
+import com.github.datalking.web.StubHttpServletResponse;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * WebAsyncManager Tester.
+ *
+ * @author <Authors name>
+ * @version 1.0
+ * @since <pre>Oct 17, 2026</pre>
+ */
+public class WebAsyncManagerTest {
+
+    private StubHttpServletResponse response;
+
+    private StubAsyncWebRequest asyncWebRequest;
+
+    private WebAsyncManager asyncManager;
+
+    @Before
+    public void before() {
+        response = new StubHttpServletResponse();
+        asyncWebRequest = new StubAsyncWebRequest(new StubHttpServletRequest("GET", "/async"), response);
+        asyncManager = new WebAsyncManager();
+        asyncManager.setAsyncWebRequest(asyncWebRequest);
+    }
+
+    /**
+     * Method: startCallableProcessing(Callable<?> callable, Object... processingContext)
+     */
+    @Test
+    public void testCallableResultIsDispatched() throws Exception {
+        Object context = new Object();
+        asyncManager.startCallableProcessing(new Callable<String>() {
+            public String call() {
+                return "done";
+            }
+        }, context);
+
+        assertTrue(asyncManager.isConcurrentHandlingStarted());
+        assertTrue(asyncWebRequest.awaitDispatch());
+        assertTrue(asyncManager.hasConcurrentResult());
+        assertEquals("done", asyncManager.getConcurrentResult());
+        assertSame(context, asyncManager.getConcurrentResultContext()[0]);
+    }
+
+    @Test
+    public void testCallableExceptionIsDispatchedAsResult() throws Exception {
+        final IllegalStateException failure = new IllegalStateException("boom");
+        asyncManager.startCallableProcessing(new Callable<String>() {
+            public String call() {
+                throw failure;
+            }
+        });
+
+        assertTrue(asyncWebRequest.awaitDispatch());
+        assertSame(failure, asyncManager.getConcurrentResult());
+    }
+
+    @Test
+    public void testCallableRejectedBeyondConcurrencyLimit() throws Exception {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("test");
+        executor.setConcurrencyLimit(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.execute(new Runnable() {
+            public void run() {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        assertEquals(1, executor.getActiveCount());
+
+        asyncManager.setTaskExecutor(executor);
+        try {
+            asyncManager.startCallableProcessing(new Callable<String>() {
+                public String call() {
+                    return "never";
+                }
+            });
+            fail("Expected RejectedExecutionException");
+        } catch (RejectedExecutionException ex) {
+            // 被拒绝的任务以异常作为处理结果分派，请求不会一直挂起
+            assertSame(ex, asyncManager.getConcurrentResult());
+            assertTrue(asyncWebRequest.isDispatched());
+        }
+        release.countDown();
+    }
+
+    /**
+     * Method: startDeferredResultProcessing(DeferredResult<?> deferredResult, Object... processingContext)
+     */
+    @Test
+    public void testDeferredResultIsDispatchedWhenSet() throws Exception {
+        DeferredResult<String> deferredResult = new DeferredResult<>();
+        asyncManager.startDeferredResultProcessing(deferredResult);
+
+        assertTrue(asyncManager.isConcurrentHandlingStarted());
+        assertFalse(asyncManager.hasConcurrentResult());
+        assertFalse(asyncWebRequest.isDispatched());
+
+        assertTrue(deferredResult.setResult("later"));
+        assertTrue(asyncWebRequest.isDispatched());
+        assertEquals("later", asyncManager.getConcurrentResult());
+        assertFalse(deferredResult.setResult("again"));
+    }
+
+    @Test
+    public void testDeferredResultTimeout() throws Exception {
+        DeferredResult<String> deferredResult = new DeferredResult<>(1000L, "fallback");
+        asyncManager.startDeferredResultProcessing(deferredResult);
+
+        asyncWebRequest.fireTimeout();
+        assertTrue(asyncWebRequest.isDispatched());
+        assertEquals("fallback", asyncManager.getConcurrentResult());
+    }
+
+    @Test
+    public void testDeferredResultTimeoutWithoutResultSends503() throws Exception {
+        DeferredResult<String> deferredResult = new DeferredResult<>();
+        asyncManager.startDeferredResultProcessing(deferredResult);
+
+        asyncWebRequest.fireTimeout();
+        assertEquals(503, response.getStatus());
+        assertTrue(asyncWebRequest.isAsyncComplete());
+        assertFalse(asyncManager.hasConcurrentResult());
+        assertFalse(deferredResult.setResult("too late"));
+    }
+
+}
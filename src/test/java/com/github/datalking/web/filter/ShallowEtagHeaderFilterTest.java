@@ -0,0 +1,49 @@
+package com.github.datalking.web.filter;
+
+import com.github.datalking.web.StubHttpServletRequest;
+import com.github.datalking.web.StubHttpServletResponse;
+import org.junit.Test;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * ShallowEtagHeaderFilter Tester.
+ *
+ * @author <Authors name>
+ * @version 1.0
+ * @since <pre>Oct 17, 2026</pre>
+ */
+public class ShallowEtagHeaderFilterTest {
+
+    private final ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+
+    private final FilterChain chain = new FilterChain() {
+        public void doFilter(ServletRequest request, ServletResponse response) throws IOException {
+            response.getOutputStream().write("hello".getBytes(StandardCharsets.UTF_8));
+        }
+    };
+
+    @Test
+    public void testETagAndNotModified() throws Exception {
+        StubHttpServletResponse first = new StubHttpServletResponse();
+        this.filter.doFilter(new StubHttpServletRequest().getRequest(), first.getResponse(), this.chain);
+        String etag = first.getHeader("ETag");
+        assertNotNull(etag);
+        assertEquals(200, first.getStatus());
+        assertEquals("hello", first.getContentAsString());
+
+        StubHttpServletResponse second = new StubHttpServletResponse();
+        this.filter.doFilter(new StubHttpServletRequest().addHeader("If-None-Match", etag).getRequest(),
+                second.getResponse(), this.chain);
+        assertEquals(304, second.getStatus());
+        assertEquals(0, second.getContentAsByteArray().length);
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.github.datalking.web.http;
+
+import com.github.datalking.util.StreamUtils;
+import com.github.datalking.web.StubHttpServletRequest;
+import com.github.datalking.web.StubHttpServletResponse;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * CompressingServletServerHttpResponse Tester.
+ *
+ * @author <Authors name>
+ * @version 1.0
+ * @since <pre>Oct 17, 2026</pre>
+ */
+public class CompressingServletServerHttpResponseTest {
+
+    /**
+     * Method: negotiateEncoding(HttpServletRequest request)
+     */
+    @Test
+    public void testNegotiateEncoding() {
+        ResponseCompression compression = new ResponseCompression();
+        assertEquals("gzip", compression.negotiateEncoding(request("gzip, deflate, br")));
+        assertEquals("deflate", compression.negotiateEncoding(request("gzip;q=0, deflate")));
+        assertEquals("deflate", compression.negotiateEncoding(request("gzip;q=0, *")));
+        assertEquals("gzip", compression.negotiateEncoding(request("deflate;q=0, *")));
+        assertNull(compression.negotiateEncoding(request("*, gzip;q=0, deflate;q=0")));
+        assertNull(compression.negotiateEncoding(request("identity")));
+        assertNull(compression.negotiateEncoding(request(null)));
+    }
+
+    @Test
+    public void testCompressLargeBody() throws Exception {
+        StubHttpServletResponse stub = new StubHttpServletResponse();
+        ServletServerHttpResponse response = new ResponseCompression().createResponse(request("gzip"), stub.getResponse());
+        response.getHeaders().setContentType(MediaType.valueOf("application/json"));
+        byte[] content = new byte[4096];
+        response.getBody().write(content);
+        response.close();
+
+        assertEquals("gzip", stub.getHeader("Content-Encoding"));
+        byte[] unzipped = StreamUtils.copyToByteArray(
+                new GZIPInputStream(new ByteArrayInputStream(stub.getContentAsByteArray())));
+        assertArrayEquals(content, unzipped);
+    }
+
+    @Test
+    public void testSkipSmallBodyAndCompressedType() throws Exception {
+        StubHttpServletResponse stub = new StubHttpServletResponse();
+        ServletServerHttpResponse response = new ResponseCompression().createResponse(request("gzip"), stub.getResponse());
+        response.getHeaders().setContentType(MediaType.valueOf("application/json"));
+        response.getBody().write("{}".getBytes(StandardCharsets.UTF_8));
+        response.close();
+        assertNull(stub.getHeader("Content-Encoding"));
+        assertEquals("{}", stub.getContentAsString());
+
+        stub = new StubHttpServletResponse();
+        response = new ResponseCompression().createResponse(request("gzip"), stub.getResponse());
+        response.getHeaders().setContentType(MediaType.valueOf("image/png"));
+        response.getBody().write(new byte[4096]);
+        response.close();
+        assertNull(stub.getHeader("Content-Encoding"));
+        assertEquals(4096, stub.getContentAsByteArray().length);
+    }
+
+    private static HttpServletRequest request(String acceptEncoding) {
+        return new StubHttpServletRequest().addHeader("Accept-Encoding", acceptEncoding).getRequest();
+    }
+
+}
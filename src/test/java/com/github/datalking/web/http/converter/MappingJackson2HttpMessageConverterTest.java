@@ -0,0 +1,95 @@
+package com.github.datalking.web.http.converter;
+
+import com.github.datalking.web.http.HttpHeaders;
+import com.github.datalking.web.http.HttpOutputMessage;
+import com.github.datalking.web.http.MediaType;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * MappingJackson2HttpMessageConverter Tester.
+ *
+ * @author <Authors name>
+ * @version 1.0
+ * @since <pre>Oct 17, 2026</pre>
+ */
+public class MappingJackson2HttpMessageConverterTest {
+
+    @Test
+    public void testWriteIteratorAndStream() throws Exception {
+        MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
+        converter.setStreamingFlushInterval(2);
+
+        Iterator<String> iterator = Arrays.asList("a", "b", "c").iterator();
+        assertTrue(converter.canWrite(iterator.getClass(), MediaType.APPLICATION_JSON));
+        assertEquals("[\"a\",\"b\",\"c\"]", write(converter, iterator));
+
+        final boolean[] closed = new boolean[1];
+        Stream<Integer> stream = Stream.of(1, 2, 3).onClose(new Runnable() {
+            public void run() {
+                closed[0] = true;
+            }
+        });
+        assertTrue(converter.canWrite(stream.getClass(), MediaType.APPLICATION_JSON));
+        assertEquals("[1,2,3]", write(converter, stream));
+        assertTrue(closed[0]);
+    }
+
+    @Test
+    public void testCachedWriterFollowsPrettyPrint() throws Exception {
+        MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
+        Map<String, Integer> value = Collections.singletonMap("a", 1);
+        assertEquals("{\"a\":1}", write(converter, value));
+        assertEquals("{\"a\":1}", write(converter, value));
+
+        // 修改配置后缓存的ObjectWriter失效
+        converter.setPrettyPrint(true);
+        assertTrue(write(converter, value).contains("\n"));
+    }
+
+    @Test
+    public void testBufferedWriteSetsContentLength() throws Exception {
+        MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
+        converter.setBufferThreshold(16);
+
+        HttpHeaders headers = new HttpHeaders();
+        assertEquals("[1,2]", write(converter, Arrays.asList(1, 2), headers));
+        assertEquals(5, headers.getContentLength());
+
+        // 超过阈值时改为流式写出，不设置Content-Length
+        headers = new HttpHeaders();
+        assertEquals("[1,2,3,4,5,6,7,8,9,10]", write(converter, Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), headers));
+        assertEquals(-1, headers.getContentLength());
+    }
+
+    private String write(MappingJackson2HttpMessageConverter converter, Object value) throws Exception {
+        return write(converter, value, new HttpHeaders());
+    }
+
+    private String write(MappingJackson2HttpMessageConverter converter, Object value,
+                         final HttpHeaders headers) throws Exception {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        converter.write(value, MediaType.APPLICATION_JSON, new HttpOutputMessage() {
+            public OutputStream getBody() {
+                return body;
+            }
+
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        });
+        return new String(body.toByteArray(), Charset.forName("UTF-8"));
+    }
+
+}
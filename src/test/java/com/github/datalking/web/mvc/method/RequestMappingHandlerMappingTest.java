@@ -0,0 +1,99 @@
+package com.github.datalking.web.mvc.method;
+
+import com.github.datalking.annotation.web.CacheControl;
+import com.github.datalking.web.StubHttpServletRequest;
+import com.github.datalking.web.mvc.condition.PatternsRequestCondition;
+import com.github.datalking.web.servlet.HandlerMapping;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * RequestMappingHandlerMapping Tester.
+ *
+ * @author <Authors name>
+ * @version 1.0
+ * @since <pre>Oct 17, 2026</pre>
+ */
+public class RequestMappingHandlerMappingTest {
+
+    private final RequestMappingHandlerMapping handlerMapping = new RequestMappingHandlerMapping();
+
+    /**
+     * Method: createCacheControlHeader(CacheControl cacheControl)
+     */
+    @Test
+    public void testCreateCacheControlHeader() throws Exception {
+        assertEquals("public, max-age=60", header("publicMaxAge"));
+        assertEquals("private, max-age=60, must-revalidate", header("privateMaxAge"));
+        assertEquals("no-cache, private", header("noCachePrivate"));
+        assertEquals("public, max-age=31536000, s-maxage=600, immutable", header("immutable"));
+        assertNull(header("empty"));
+    }
+
+    @Test
+    public void testNoStoreOverridesOtherDirectives() throws Exception {
+        assertEquals("no-store", header("noStore"));
+        assertEquals("no-store", header("noStoreWithMaxAge"));
+    }
+
+    /**
+     * Method: handleMatch(RequestMappingInfo info, String lookupPath, HttpServletRequest request)
+     */
+    @Test
+    public void testCacheControlAttributeClearedOnForward() throws Exception {
+        HttpServletRequest request = new StubHttpServletRequest("GET", "/cached").getRequest();
+
+        handlerMapping.handleMatch(info("/cached", "max-age=60"), "/cached", request);
+        assertEquals("max-age=60", request.getAttribute(HandlerMapping.CACHE_CONTROL_ATTRIBUTE));
+
+        // 转发到没有@CacheControl的方法
+        handlerMapping.handleMatch(info("/plain", null), "/plain", request);
+        assertNull(request.getAttribute(HandlerMapping.CACHE_CONTROL_ATTRIBUTE));
+    }
+
+    private String header(String methodName) throws Exception {
+        CacheControl cacheControl = CacheControlMethods.class.getMethod(methodName).getAnnotation(CacheControl.class);
+        return handlerMapping.createCacheControlHeader(cacheControl);
+    }
+
+    private static RequestMappingInfo info(String pattern, String cacheControl) {
+        return new RequestMappingInfo(new PatternsRequestCondition(pattern),
+                null, null, null, null, null, null, cacheControl);
+    }
+
+    public static class CacheControlMethods {
+
+        @CacheControl(maxAge = 60)
+        public void publicMaxAge() {
+        }
+
+        @CacheControl(maxAge = 60, cachePrivate = true, mustRevalidate = true)
+        public void privateMaxAge() {
+        }
+
+        @CacheControl(noCache = true, cachePrivate = true)
+        public void noCachePrivate() {
+        }
+
+        @CacheControl(maxAge = 31536000, sMaxAge = 600, immutable = true)
+        public void immutable() {
+        }
+
+        @CacheControl
+        public void empty() {
+        }
+
+        @CacheControl(noStore = true)
+        public void noStore() {
+        }
+
+        @CacheControl(noStore = true, maxAge = 60, cachePrivate = true, mustRevalidate = true)
+        public void noStoreWithMaxAge() {
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.github.datalking.web.servlet.handler;
+
+import com.github.datalking.web.StubHttpServletRequest;
+import com.github.datalking.web.StubHttpServletResponse;
+import com.github.datalking.web.servlet.HandlerExecutionChain;
+import com.github.datalking.web.servlet.HandlerInterceptor;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * AbstractHandlerMapping Tester.
+ *
+ * @author <Authors name>
+ * @version 1.0
+ * @since <pre>Oct 17, 2026</pre>
+ */
+public class AbstractHandlerMappingTest {
+
+    private final Object loginHandler = new Object();
+
+    private final Object adminHandler = new Object();
+
+    private final HandlerInterceptor authInterceptor = new HandlerInterceptorAdapter() {
+    };
+
+    private SimpleUrlHandlerMapping mapping;
+
+    @Before
+    public void before() throws Exception {
+        this.mapping = new SimpleUrlHandlerMapping() {
+            @Override
+            protected void detectMappedInterceptors(List<MappedInterceptor> mappedInterceptors) {
+            }
+        };
+        Map<String, Object> urlMap = new HashMap<>();
+        urlMap.put("/login", this.loginHandler);
+        urlMap.put("/admin/**", this.adminHandler);
+        this.mapping.setUrlMap(urlMap);
+        this.mapping.setInterceptors(new Object[]{
+                new MappedInterceptor(new String[]{"/admin/**"}, this.authInterceptor)});
+        this.mapping.initApplicationContext();
+    }
+
+    /**
+     * Method: getHandlerExecutionChain(Object handler, HttpServletRequest request)
+     */
+    @Test
+    public void testForwardToDifferentlyMappedPath() throws Exception {
+        StubHttpServletRequest stub = new StubHttpServletRequest("GET", "/login");
+        HttpServletRequest request = stub.getRequest();
+
+        // 两次请求/login，第二次时请求属性中已有/login的最佳匹配模式
+        for (int i = 0; i < 2; i++) {
+            HandlerExecutionChain chain = dispatch(request);
+            assertSame(this.loginHandler, chain.getHandler());
+            assertFalse(containsAuthInterceptor(chain));
+        }
+
+        // forward到/admin/**时请求属性仍是上次分派的/login
+        stub.setRequestUri("/admin/users");
+        HandlerExecutionChain chain = dispatch(request);
+        assertSame(this.adminHandler, chain.getHandler());
+        assertTrue(containsAuthInterceptor(chain));
+    }
+
+    /**
+     * 获取处理器后执行拦截器的preHandle，与DispatcherServlet一样在这一步暴露最佳匹配模式
+     */
+    private HandlerExecutionChain dispatch(HttpServletRequest request) throws Exception {
+        HandlerExecutionChain chain = this.mapping.getHandler(request);
+        for (HandlerInterceptor interceptor : chain.getInterceptors()) {
+            interceptor.preHandle(request, new StubHttpServletResponse().getResponse(), chain.getHandler());
+        }
+        return chain;
+    }
+
+    private boolean containsAuthInterceptor(HandlerExecutionChain chain) {
+        return Arrays.asList(chain.getInterceptors()).contains(this.authInterceptor);
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.github.datalking.web.servlet.handler;
+
+import com.github.datalking.util.AntPathMatcher;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * PathSegmentTrie Tester.
+ *
+ * @author <Authors name>
+ * @version 1.0
+ * @since <pre>Oct 17, 2026</pre>
+ */
+public class PathSegmentTrieTest {
+
+    private static final List<String> PATTERNS = Arrays.asList(
+            "/users",
+            "/users/{id}",
+            "/users/{id}/orders",
+            "/users/new",
+            "/files/**",
+            "/files/*.html",
+            "/a/*",
+            "/docs/**/edit",
+            "/api/v?/items",
+            "/",
+            "");
+
+    private static final List<String> PATHS = Arrays.asList(
+            "/users", "/users/", "/users.json", "/users/1", "/users/1.json", "/users/new",
+            "/users/1/orders", "/users/1/orders/", "/files", "/files/a/b/c.txt", "/files/x.html",
+            "/a/", "/a/b", "/docs/x/y/edit", "/api/v1/items", "/", "/unknown/path");
+
+    @Test
+    public void testCandidatesContainAllMatches() throws Exception {
+        PathSegmentTrie<String> trie = new PathSegmentTrie<>();
+        for (int i = 0; i < PATTERNS.size(); i++) {
+            trie.add(PATTERNS.get(i), PATTERNS.get(i), i);
+        }
+
+        AntPathMatcher pathMatcher = new AntPathMatcher();
+        for (String path : PATHS) {
+            List<String> candidates = trie.getCandidates(path);
+            for (String pattern : PATTERNS) {
+                // 与PatternsRequestCondition的后缀匹配和尾部斜杠匹配保持一致
+                boolean matched = pattern.equals(path)
+                        || pathMatcher.match(pattern, path)
+                        || (pattern.indexOf('.') == -1 && pathMatcher.match(pattern + ".*", path))
+                        || (!pattern.endsWith("/") && pathMatcher.match(pattern + "/", path));
+                if (matched) {
+                    assertTrue(pattern + " should be a candidate for " + path, candidates.contains(pattern));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCandidatesKeepRegistrationOrder() throws Exception {
+        PathSegmentTrie<String> trie = new PathSegmentTrie<>();
+        trie.add("/users/**", "tail", 0);
+        trie.add("/users/{id}", "var", 1);
+        trie.add("/users/new", "literal", 2);
+        trie.add("/users/{name}", "var", 1);
+        trie.add(null, "any", 3);
+
+        assertEquals(Arrays.asList("tail", "var", "literal", "any"), trie.getCandidates("/users/new"));
+        assertEquals(Arrays.asList("any"), trie.getCandidates("/orders"));
+    }
+
+    @Test
+    public void testCustomPathSeparator() throws Exception {
+        PathSegmentTrie<String> trie = new PathSegmentTrie<>(".", true);
+        trie.add("com.example.*", "wildcard", 0);
+        trie.add("com.example.Foo", "literal", 1);
+        trie.add("org.**", "tail", 2);
+
+        assertEquals(Arrays.asList("wildcard", "literal"), trie.getCandidates("com.example.Foo"));
+        assertEquals(Arrays.asList("tail"), trie.getCandidates("org.a.b"));
+
+        AntPathMatcher dotMatcher = new AntPathMatcher();
+        dotMatcher.setPathSeparator(".");
+        assertTrue(trie.isCompatibleWith(dotMatcher));
+        assertFalse(trie.isCompatibleWith(new AntPathMatcher()));
+        dotMatcher.setTrimTokens(false);
+        assertFalse(trie.isCompatibleWith(dotMatcher));
+        assertTrue(new PathSegmentTrie<String>().isCompatibleWith(new AntPathMatcher()));
+    }
+
+}
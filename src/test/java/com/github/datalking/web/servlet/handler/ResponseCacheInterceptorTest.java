@@ -0,0 +1,64 @@
+package com.github.datalking.web.servlet.handler;
+
+import com.github.datalking.web.StubHttpServletRequest;
+import com.github.datalking.web.support.ResponseCache;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * ResponseCacheInterceptor Tester.
+ *
+ * @author <Authors name>
+ * @version 1.0
+ * @since <pre>Oct 17, 2026</pre>
+ */
+public class ResponseCacheInterceptorTest {
+
+    private final ResponseCacheInterceptor interceptor = new ResponseCacheInterceptor(new ResponseCache());
+
+    private final String[] keyParams = {"a", "b"};
+
+    /**
+     * Method: createKey(HttpServletRequest request, String[] keyParams)
+     */
+    @Test
+    public void testKeyEscapesParameterValues() {
+        Map<String, String[]> first = new HashMap<>();
+        first.put("a", new String[]{"x&b=y"});
+        first.put("b", new String[]{""});
+        Map<String, String[]> second = new HashMap<>();
+        second.put("a", new String[]{"x"});
+        second.put("b", new String[]{"y&b="});
+        assertNotEquals(createKey(first), createKey(second));
+
+        Map<String, String[]> multiple = new HashMap<>();
+        multiple.put("a", new String[]{"1", "2"});
+        Map<String, String[]> single = new HashMap<>();
+        single.put("a", new String[]{"1,2"});
+        assertNotEquals(createKey(multiple), createKey(single));
+    }
+
+    @Test
+    public void testSameParametersSameKey() {
+        Map<String, String[]> first = new HashMap<>();
+        first.put("a", new String[]{"1"});
+        first.put("c", new String[]{"ignored"});
+        Map<String, String[]> second = new HashMap<>();
+        second.put("a", new String[]{"1"});
+        assertEquals(createKey(first), createKey(second));
+    }
+
+    private String createKey(Map<String, String[]> parameters) {
+        StubHttpServletRequest request = new StubHttpServletRequest("GET", "/items");
+        for (Map.Entry<String, String[]> entry : parameters.entrySet()) {
+            request.addParameter(entry.getKey(), entry.getValue());
+        }
+        return this.interceptor.createKey(request.getRequest(), this.keyParams);
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.github.datalking.web.support;
+
+import com.github.datalking.common.MethodParameter;
+import com.github.datalking.web.StubHttpServletRequest;
+import com.github.datalking.web.StubHttpServletResponse;
+import com.github.datalking.web.http.converter.HttpMessageConverter;
+import com.github.datalking.web.http.converter.StringHttpMessageConverter;
+import com.github.datalking.web.mvc.method.RequestResponseBodyMethodProcessor;
+import com.github.datalking.web.servlet.ServletWebRequest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * AbstractMessageConverterMethodProcessor Tester.
+ *
+ * @author <Authors name>
+ * @version 1.0
+ * @since <pre>Oct 17, 2026</pre>
+ */
+public class AbstractMessageConverterMethodProcessorTest {
+
+    private final AbstractMessageConverterMethodProcessor processor = createProcessor();
+
+    /**
+     * Method: getNegotiationResult(HttpServletRequest request, Class<?> returnValueClass)
+     */
+    @Test
+    public void testNegotiationKeyedOnAccept() throws Exception {
+        assertTrue(write("text/plain").getHeader("Content-Type").startsWith("text/plain"));
+        assertTrue(write("text/html").getHeader("Content-Type").startsWith("text/html"));
+        assertEquals(2, this.processor.getNegotiationCacheSize());
+
+        // 相同的Accept请求头使用缓存的结果
+        assertTrue(write("text/plain").getHeader("Content-Type").startsWith("text/plain"));
+        assertEquals(2, this.processor.getNegotiationCacheSize());
+    }
+
+    @Test
+    public void testNegotiationCacheIsBounded() throws Exception {
+        for (int i = 0; i < 300; i++) {
+            StubHttpServletResponse response = write("text/x-" + i);
+            assertTrue(response.getHeader("Content-Type").startsWith("text/x-" + i));
+            assertTrue(this.processor.getNegotiationCacheSize() <= 256);
+        }
+        // 达到上限后新的结果仍会缓存
+        int size = this.processor.getNegotiationCacheSize();
+        write("text/plain");
+        assertEquals(size + 1, this.processor.getNegotiationCacheSize());
+    }
+
+    private StubHttpServletResponse write(String accept) throws Exception {
+        StubHttpServletResponse response = new StubHttpServletResponse();
+        ServletWebRequest webRequest = new ServletWebRequest(
+                new StubHttpServletRequest("GET", "/items").addHeader("Accept", accept).getRequest(),
+                response.getResponse());
+        MethodParameter returnType = new MethodParameter(getClass().getDeclaredMethod("body"), -1);
+        this.processor.handleReturnValue(body(), returnType, new ModelAndViewContainer(), webRequest);
+        assertEquals("body", response.getContentAsString());
+        return response;
+    }
+
+    private String body() {
+        return "body";
+    }
+
+    private static RequestResponseBodyMethodProcessor createProcessor() {
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+        converters.add(new StringHttpMessageConverter());
+        return new RequestResponseBodyMethodProcessor(converters);
+    }
+
+}
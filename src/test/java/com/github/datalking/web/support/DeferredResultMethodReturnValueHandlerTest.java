@@ -0,0 +1,132 @@
+package com.github.datalking.web.support;
+
+import com.github.datalking.common.MethodParameter;
+import com.github.datalking.web.StubHttpServletRequest;
+import com.github.datalking.web.StubHttpServletResponse;
+import com.github.datalking.web.context.request.async.DeferredResult;
+import com.github.datalking.web.context.request.async.StubAsyncWebRequest;
+import com.github.datalking.web.context.request.async.WebAsyncManager;
+import com.github.datalking.web.context.request.async.WebAsyncUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * DeferredResultMethodReturnValueHandler Tester.
+ *
+ * @author <Authors name>
+ * @version 1.0
+ * @since <pre>Oct 17, 2026</pre>
+ */
+public class DeferredResultMethodReturnValueHandlerTest {
+
+    private final DeferredResultMethodReturnValueHandler handler = new DeferredResultMethodReturnValueHandler();
+
+    private StubAsyncWebRequest webRequest;
+
+    private WebAsyncManager asyncManager;
+
+    @Before
+    public void before() {
+        StubHttpServletRequest request = new StubHttpServletRequest("GET", "/async");
+        webRequest = new StubAsyncWebRequest(request, new StubHttpServletResponse());
+        asyncManager = WebAsyncUtils.getAsyncManager(request.getRequest());
+        asyncManager.setAsyncWebRequest(webRequest);
+    }
+
+    /**
+     * Method: supportsReturnType(MethodParameter returnType)
+     */
+    @Test
+    public void testSupportsReturnType() throws Exception {
+        assertTrue(handler.supportsReturnType(returnType("deferredResult")));
+        assertTrue(handler.supportsReturnType(returnType("completableFuture")));
+        assertFalse(handler.supportsReturnType(returnType("callable")));
+        assertFalse(handler.supportsReturnType(returnType("string")));
+    }
+
+    /**
+     * Method: handleReturnValue(Object returnValue, MethodParameter returnType, ModelAndViewContainer mavContainer, WebRequest webRequest)
+     */
+    @Test
+    public void testDeferredResult() throws Exception {
+        DeferredResult<String> deferredResult = new DeferredResult<>();
+        ModelAndViewContainer mavContainer = new ModelAndViewContainer();
+        handler.handleReturnValue(deferredResult, returnType("deferredResult"), mavContainer, webRequest);
+
+        assertTrue(asyncManager.isConcurrentHandlingStarted());
+        assertFalse(webRequest.isDispatched());
+
+        deferredResult.setResult("deferred");
+        assertTrue(webRequest.isDispatched());
+        assertEquals("deferred", asyncManager.getConcurrentResult());
+        assertSame(mavContainer, asyncManager.getConcurrentResultContext()[0]);
+    }
+
+    @Test
+    public void testCompletableFuture() throws Exception {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        handler.handleReturnValue(future, returnType("completableFuture"), new ModelAndViewContainer(), webRequest);
+        assertFalse(webRequest.isDispatched());
+
+        future.complete("future");
+        assertTrue(webRequest.isDispatched());
+        assertEquals("future", asyncManager.getConcurrentResult());
+    }
+
+    @Test
+    public void testCompletableFutureFailureIsUnwrapped() throws Exception {
+        final IllegalStateException failure = new IllegalStateException("boom");
+        CompletableFuture<String> future = CompletableFuture.completedFuture("value")
+                .thenApply(new Function<String, String>() {
+                    public String apply(String value) {
+                        throw failure;
+                    }
+                });
+        handler.handleReturnValue(future, returnType("completableFuture"), new ModelAndViewContainer(), webRequest);
+
+        assertTrue(webRequest.isDispatched());
+        assertSame(failure, asyncManager.getConcurrentResult());
+    }
+
+    @Test
+    public void testNullReturnValue() throws Exception {
+        ModelAndViewContainer mavContainer = new ModelAndViewContainer();
+        handler.handleReturnValue(null, returnType("deferredResult"), mavContainer, webRequest);
+
+        assertTrue(mavContainer.isRequestHandled());
+        assertFalse(asyncManager.isConcurrentHandlingStarted());
+    }
+
+    private static MethodParameter returnType(String methodName) throws Exception {
+        return new MethodParameter(Handler.class.getMethod(methodName), -1);
+    }
+
+    public static class Handler {
+
+        public DeferredResult<String> deferredResult() {
+            return null;
+        }
+
+        public CompletableFuture<String> completableFuture() {
+            return null;
+        }
+
+        public Callable<String> callable() {
+            return null;
+        }
+
+        public String string() {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.github.datalking.web.support;
+
+import com.github.datalking.io.Resource;
+import com.github.datalking.io.UrlResource;
+import com.github.datalking.util.StreamUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * ResourceCache Tester.
+ *
+ * @author <Authors name>
+ * @version 1.0
+ * @since <pre>Oct 17, 2026</pre>
+ */
+public class ResourceCacheTest {
+
+    @Test
+    public void testPutAndGzip() throws Exception {
+        byte[] content = repeat("body { color: red; }\n", 100);
+        Resource resource = createResource(content);
+
+        ResourceCache cache = new ResourceCache();
+        ResourceCache.Entry entry = cache.put("/app.css", resource, null);
+        assertNotNull(entry);
+        assertSame(entry, cache.get("/app.css"));
+        assertArrayEquals(content, entry.getContent());
+
+        byte[] unzipped = StreamUtils.copyToByteArray(
+                new GZIPInputStream(new ByteArrayInputStream(entry.getGzippedContent())));
+        assertArrayEquals(content, unzipped);
+    }
+
+    @Test
+    public void testLruEviction() throws Exception {
+        ResourceCache cache = new ResourceCache();
+        cache.setMaxTotalSize(250);
+        cache.put("/a.js", createResource(new byte[100]), null);
+        cache.put("/b.js", createResource(new byte[100]), null);
+        // 访问a后，b成为最久未使用的缓存项
+        assertNotNull(cache.get("/a.js"));
+        cache.put("/c.js", createResource(new byte[100]), null);
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("/a.js"));
+        assertNull(cache.get("/b.js"));
+        assertNotNull(cache.get("/c.js"));
+    }
+
+    @Test
+    public void testInvalidateOnModification() throws Exception {
+        File file = File.createTempFile("resource-cache", ".js");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "var a = 1;".getBytes(StandardCharsets.UTF_8));
+        file.setLastModified(1000000000000L);
+
+        ResourceCache cache = new ResourceCache();
+        cache.setCheckInterval(0);
+        cache.put("/a.js", new UrlResource(file.toURI().toURL()), null);
+        assertNotNull(cache.get("/a.js"));
+
+        file.setLastModified(2000000000000L);
+        assertNull(cache.get("/a.js"));
+        assertEquals(0, cache.getTotalSize());
+    }
+
+    private static byte[] repeat(String text, int times) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            sb.append(text);
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Resource createResource(byte[] content) throws Exception {
+        File file = File.createTempFile("resource-cache", ".tmp");
+        file.deleteOnExit();
+        Files.write(file.toPath(), content);
+        return new UrlResource(file.toURI().toURL());
+    }
+
+}
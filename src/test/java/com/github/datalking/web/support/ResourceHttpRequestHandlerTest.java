@@ -0,0 +1,270 @@
+package com.github.datalking.web.support;
+
+import com.github.datalking.io.Resource;
+import com.github.datalking.io.UrlResource;
+import com.github.datalking.web.StubHttpServletRequest;
+import com.github.datalking.web.StubHttpServletResponse;
+import com.github.datalking.web.servlet.HandlerMapping;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * ResourceHttpRequestHandler Tester.
+ *
+ * @author <Authors name>
+ * @version 1.0
+ * @since <pre>Oct 17, 2026</pre>
+ */
+public class ResourceHttpRequestHandlerTest {
+
+    private File root;
+
+    private File cssDir;
+
+    private File jsDir;
+
+    @Before
+    public void before() throws Exception {
+        root = Files.createTempDirectory("resources").toFile();
+        cssDir = new File(root, "css");
+        jsDir = new File(root, "js");
+        cssDir.mkdirs();
+        jsDir.mkdirs();
+        write(new File(cssDir, "a.txt"), "css content");
+        write(new File(jsDir, "a.txt"), "js content");
+        write(new File(cssDir, "digits.txt"), "0123456789");
+    }
+
+    @After
+    public void after() {
+        delete(root);
+    }
+
+    /**
+     * Method: handleRequest(HttpServletRequest request, HttpServletResponse response)
+     */
+    @Test
+    public void testSharedCacheKeyedOnLocation() throws Exception {
+        ResourceCache cache = new ResourceCache();
+        ResourceHttpRequestHandler cssHandler = createHandler(cssDir, cache);
+        ResourceHttpRequestHandler jsHandler = createHandler(jsDir, cache);
+
+        assertEquals("css content", handle(cssHandler, get("a.txt")).getContentAsString());
+        assertEquals("js content", handle(jsHandler, get("a.txt")).getContentAsString());
+        assertEquals(2, cache.size());
+
+        // 命中缓存后仍返回各自位置下的内容
+        assertEquals("css content", handle(cssHandler, get("a.txt")).getContentAsString());
+        assertEquals("js content", handle(jsHandler, get("a.txt")).getContentAsString());
+    }
+
+    @Test
+    public void testSameETagWithAndWithoutCache() throws Exception {
+        ResourceHttpRequestHandler uncached = createHandler(cssDir, null);
+        ResourceHttpRequestHandler cached = createHandler(cssDir, new ResourceCache());
+
+        String etag = handle(uncached, get("a.txt")).getHeader("ETag");
+        assertNotNull(etag);
+        assertEquals(etag, handle(cached, get("a.txt")).getHeader("ETag"));
+        assertEquals(etag, handle(cached, get("a.txt")).getHeader("ETag"));
+
+        // 未缓存时生成的ETag在缓存命中时仍可用于重新验证
+        StubHttpServletResponse response = handle(cached, get("a.txt").addHeader("If-None-Match", etag));
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    public void testRange() throws Exception {
+        for (ResourceHttpRequestHandler handler : uncachedAndCached()) {
+            StubHttpServletResponse response = handle(handler, get("digits.txt").addHeader("Range", "bytes=2-5"));
+            assertEquals(206, response.getStatus());
+            assertEquals("bytes 2-5/10", response.getHeader("Content-Range"));
+            assertEquals("4", response.getHeader("Content-Length"));
+            assertEquals("bytes", response.getHeader("Accept-Ranges"));
+            assertEquals("2345", response.getContentAsString());
+
+            // 省略结束位置时到文件末尾，超出长度的结束位置截断到最后一个字节
+            assertEquals("789", handle(handler, get("digits.txt").addHeader("Range", "bytes=7-"))
+                    .getContentAsString());
+            assertEquals("89", handle(handler, get("digits.txt").addHeader("Range", "bytes=8-100"))
+                    .getContentAsString());
+        }
+    }
+
+    @Test
+    public void testSuffixRange() throws Exception {
+        for (ResourceHttpRequestHandler handler : uncachedAndCached()) {
+            StubHttpServletResponse response = handle(handler, get("digits.txt").addHeader("Range", "bytes=-3"));
+            assertEquals(206, response.getStatus());
+            assertEquals("bytes 7-9/10", response.getHeader("Content-Range"));
+            assertEquals("789", response.getContentAsString());
+
+            // 后缀长度超过文件长度时返回全部内容
+            response = handle(handler, get("digits.txt").addHeader("Range", "bytes=-20"));
+            assertEquals(206, response.getStatus());
+            assertEquals("bytes 0-9/10", response.getHeader("Content-Range"));
+            assertEquals("0123456789", response.getContentAsString());
+        }
+    }
+
+    @Test
+    public void testUnsatisfiableRange() throws Exception {
+        for (ResourceHttpRequestHandler handler : uncachedAndCached()) {
+            StubHttpServletResponse response = handle(handler, get("digits.txt").addHeader("Range", "bytes=10-"));
+            assertEquals(416, response.getStatus());
+            assertEquals("bytes */10", response.getHeader("Content-Range"));
+            assertEquals("", response.getContentAsString());
+
+            assertEquals(416, handle(handler, get("digits.txt").addHeader("Range", "bytes=-0")).getStatus());
+        }
+    }
+
+    @Test
+    public void testMultipleRangesReturnFullContent() throws Exception {
+        for (ResourceHttpRequestHandler handler : uncachedAndCached()) {
+            StubHttpServletResponse response = handle(handler, get("digits.txt").addHeader("Range", "bytes=0-1,4-5"));
+            assertEquals(200, response.getStatus());
+            assertNull(response.getHeader("Content-Range"));
+            assertEquals("0123456789", response.getContentAsString());
+        }
+    }
+
+    @Test
+    public void testRangeIgnoredWhenIfRangeDoesNotMatch() throws Exception {
+        for (ResourceHttpRequestHandler handler : uncachedAndCached()) {
+            String etag = handle(handler, get("digits.txt")).getHeader("ETag");
+
+            StubHttpServletResponse response = handle(handler, get("digits.txt")
+                    .addHeader("Range", "bytes=0-1").addHeader("If-Range", etag));
+            assertEquals(206, response.getStatus());
+            assertEquals("01", response.getContentAsString());
+
+            response = handle(handler, get("digits.txt")
+                    .addHeader("Range", "bytes=0-1").addHeader("If-Range", "\"stale\""));
+            assertEquals(200, response.getStatus());
+            assertEquals("0123456789", response.getContentAsString());
+        }
+    }
+
+    @Test
+    public void testIfNoneMatch() throws Exception {
+        for (ResourceHttpRequestHandler handler : uncachedAndCached()) {
+            String etag = handle(handler, get("digits.txt")).getHeader("ETag");
+
+            StubHttpServletResponse response = handle(handler, get("digits.txt").addHeader("If-None-Match", etag));
+            assertEquals(304, response.getStatus());
+            assertEquals("", response.getContentAsString());
+
+            response = handle(handler, get("digits.txt").addHeader("If-None-Match", "\"other\""));
+            assertEquals(200, response.getStatus());
+            assertEquals("0123456789", response.getContentAsString());
+        }
+    }
+
+    @Test
+    public void testIfModifiedSince() throws Exception {
+        long lastModified = new File(cssDir, "digits.txt").lastModified();
+        for (ResourceHttpRequestHandler handler : uncachedAndCached()) {
+            StubHttpServletResponse response = handle(handler,
+                    get("digits.txt").addDateHeader("If-Modified-Since", lastModified));
+            assertEquals(304, response.getStatus());
+            assertEquals("", response.getContentAsString());
+
+            response = handle(handler, get("digits.txt").addDateHeader("If-Modified-Since", lastModified - 60000));
+            assertEquals(200, response.getStatus());
+            assertEquals("0123456789", response.getContentAsString());
+        }
+    }
+
+    /**
+     * Method: writeContent(HttpServletRequest request, HttpServletResponse response, Resource resource, long start, long count)
+     */
+    @Test
+    public void testFileTransferTo() throws Exception {
+        // 不使用缓存时文件资源经FileChannel.transferTo写出
+        byte[] content = new byte[200000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Files.write(new File(cssDir, "large.bin").toPath(), content);
+        ResourceHttpRequestHandler handler = createHandler(cssDir, null);
+
+        StubHttpServletResponse response = handle(handler, get("large.bin"));
+        assertEquals(200, response.getStatus());
+        assertEquals(String.valueOf(content.length), response.getHeader("Content-Length"));
+        assertArrayEquals(content, response.getContentAsByteArray());
+
+        response = handle(handler, get("large.bin").addHeader("Range", "bytes=100000-100009"));
+        assertEquals(206, response.getStatus());
+        assertArrayEquals(Arrays.copyOfRange(content, 100000, 100010), response.getContentAsByteArray());
+    }
+
+    @Test
+    public void testFileSendfile() throws Exception {
+        ResourceHttpRequestHandler handler = createHandler(cssDir, null);
+        StubHttpServletRequest request = get("digits.txt")
+                .addHeader("Range", "bytes=2-5")
+                .setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+
+        StubHttpServletResponse response = handle(handler, request);
+        assertEquals(206, response.getStatus());
+        assertEquals("", response.getContentAsString());
+        HttpServletRequest servletRequest = request.getRequest();
+        assertEquals(new File(cssDir, "digits.txt").getCanonicalPath(),
+                servletRequest.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(2L, servletRequest.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(6L, servletRequest.getAttribute("org.apache.tomcat.sendfile.end"));
+    }
+
+    private List<ResourceHttpRequestHandler> uncachedAndCached() throws Exception {
+        return Arrays.asList(createHandler(cssDir, null), createHandler(cssDir, new ResourceCache()));
+    }
+
+    private ResourceHttpRequestHandler createHandler(File location, ResourceCache cache) throws Exception {
+        ResourceHttpRequestHandler handler = new ResourceHttpRequestHandler();
+        handler.setLocations(Collections.<Resource>singletonList(new UrlResource(location.toURI().toURL())));
+        handler.setResourceCache(cache);
+        return handler;
+    }
+
+    private static StubHttpServletRequest get(String path) {
+        return new StubHttpServletRequest("GET", "/static/" + path)
+                .setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, path);
+    }
+
+    private static StubHttpServletResponse handle(ResourceHttpRequestHandler handler,
+                                                  StubHttpServletRequest request) throws Exception {
+        StubHttpServletResponse response = new StubHttpServletResponse();
+        handler.handleRequest(request.getRequest(), response.getResponse());
+        return response;
+    }
+
+    private static void write(File file, String content) throws Exception {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.github.datalking.web.support;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * ResponseCache Tester.
+ *
+ * @author <Authors name>
+ * @version 1.0
+ * @since <pre>Oct 17, 2026</pre>
+ */
+public class ResponseCacheTest {
+
+    private static final Map<String, String> HEADERS = Collections.singletonMap("Content-Type", "application/json");
+
+    @Test
+    public void testHitAndMissCount() {
+        ResponseCache cache = new ResponseCache();
+        assertNull(cache.get("/a"));
+        ResponseCache.Entry entry = cache.put("/a", "{}".getBytes(), HEADERS, null, 60000);
+        assertNotNull(entry);
+        assertEquals("application/json", cache.get("/a").getHeaders().get("Content-Type"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testExpiredEntry() throws Exception {
+        ResponseCache cache = new ResponseCache();
+        cache.put("/a", new byte[10], HEADERS, "\"1\"", 1);
+        Thread.sleep(5);
+        assertNull(cache.get("/a"));
+        assertEquals(0, cache.getTotalSize());
+    }
+
+    @Test
+    public void testLruEviction() {
+        ResponseCache cache = new ResponseCache();
+        cache.setMaxEntries(2);
+        cache.put("/a", new byte[10], HEADERS, null, 60000);
+        cache.put("/b", new byte[10], HEADERS, null, 60000);
+        assertNotNull(cache.get("/a"));
+        cache.put("/c", new byte[10], HEADERS, null, 60000);
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("/b"));
+        assertEquals(20, cache.getTotalSize());
+    }
+
+}
@@ -0,0 +1,259 @@
+package com.github.datalking.web.support;
+
+import com.github.datalking.annotation.web.ResponseBody;
+import com.github.datalking.annotation.web.SingleFlight;
+import com.github.datalking.web.StubHttpServletRequest;
+import com.github.datalking.web.StubHttpServletResponse;
+import com.github.datalking.web.http.converter.HttpMessageConverter;
+import com.github.datalking.web.http.converter.StringHttpMessageConverter;
+import com.github.datalking.web.mvc.Model;
+import com.github.datalking.web.mvc.method.RequestResponseBodyMethodProcessor;
+import com.github.datalking.web.servlet.HandlerMapping;
+import com.github.datalking.web.servlet.ServletWebRequest;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * ServletInvocableHandlerMethod Tester.
+ *
+ * @author <Authors name>
+ * @version 1.0
+ * @since <pre>Oct 17, 2026</pre>
+ */
+public class ServletInvocableHandlerMethodTest {
+
+    @Test
+    public void testIdenticalRequestsInvokeOnce() throws Exception {
+        Handler handler = new Handler(1);
+        ServletInvocableHandlerMethod handlerMethod = createHandlerMethod(handler);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            StubHttpServletResponse leader = new StubHttpServletResponse();
+            StubHttpServletResponse waiter = new StubHttpServletResponse();
+            Future<?> first = executor.submit(invoke(handlerMethod, leader, 1));
+            assertTrue(handler.entered.await(5, TimeUnit.SECONDS));
+            Future<?> second = executor.submit(invoke(handlerMethod, waiter, 1));
+            awaitWaiting(executor, handler);
+            handler.release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+
+            assertEquals(1, handler.invocations.get());
+            assertEquals("item-1", leader.getContentAsString());
+            assertEquals("item-1", waiter.getContentAsString());
+            assertEquals(leader.getHeader("Content-Type"), waiter.getHeader("Content-Type"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDifferentArgumentsAreNotCoalesced() throws Exception {
+        Handler handler = new Handler(2);
+        ServletInvocableHandlerMethod handlerMethod = createHandlerMethod(handler);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            StubHttpServletResponse first = new StubHttpServletResponse();
+            StubHttpServletResponse second = new StubHttpServletResponse();
+            Future<?> firstCall = executor.submit(invoke(handlerMethod, first, 1));
+            Future<?> secondCall = executor.submit(invoke(handlerMethod, second, 2));
+            // 两个请求都进入方法后才放行
+            assertTrue(handler.entered.await(5, TimeUnit.SECONDS));
+            handler.release.countDown();
+            firstCall.get(5, TimeUnit.SECONDS);
+            secondCall.get(5, TimeUnit.SECONDS);
+
+            assertEquals(2, handler.invocations.get());
+            assertEquals("item-1", first.getContentAsString());
+            assertEquals("item-2", second.getContentAsString());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testExceptionReachesEveryWaiter() throws Exception {
+        Handler handler = new Handler(1);
+        handler.fail = true;
+        ServletInvocableHandlerMethod handlerMethod = createHandlerMethod(handler);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(invoke(handlerMethod, new StubHttpServletResponse(), 1));
+            assertTrue(handler.entered.await(5, TimeUnit.SECONDS));
+            Future<?> second = executor.submit(invoke(handlerMethod, new StubHttpServletResponse(), 1));
+            awaitWaiting(executor, handler);
+            handler.release.countDown();
+            assertFailed(first);
+            assertFailed(second);
+            assertEquals(1, handler.invocations.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWithBeanInvokesOtherInstance() throws Exception {
+        Handler first = new Handler(1);
+        Handler second = new Handler(1);
+        second.release.countDown();
+        ServletInvocableHandlerMethod handlerMethod = createHandlerMethod(first);
+        assertSame(handlerMethod, handlerMethod.withBean(first));
+
+        StubHttpServletResponse response = new StubHttpServletResponse();
+        invoke(handlerMethod.withBean(second), response, 3).call();
+        assertEquals(0, first.invocations.get());
+        assertEquals(1, second.invocations.get());
+        assertEquals("item-3", response.getContentAsString());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRejectPerRequestParameter() throws Exception {
+        new ServletInvocableHandlerMethod(new Handler(1), Handler.class.getMethod("withModel", Model.class));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRejectNonShareableReturnType() throws Exception {
+        new ServletInvocableHandlerMethod(new Handler(1), Handler.class.getMethod("emitter"));
+    }
+
+    private static ServletInvocableHandlerMethod createHandlerMethod(Handler handler) throws Exception {
+        ServletInvocableHandlerMethod handlerMethod =
+                new ServletInvocableHandlerMethod(handler, Handler.class.getMethod("get", Integer.class));
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+        converters.add(new StringHttpMessageConverter());
+        HandlerMethodReturnValueHandlerComposite returnValueHandlers = new HandlerMethodReturnValueHandlerComposite();
+        returnValueHandlers.addHandler(new RequestResponseBodyMethodProcessor(converters));
+        handlerMethod.setHandlerMethodReturnValueHandlers(returnValueHandlers);
+        return handlerMethod;
+    }
+
+    private static Callable<Void> invoke(final ServletInvocableHandlerMethod handlerMethod,
+                                         final StubHttpServletResponse response, final Integer id) {
+        return new Callable<Void>() {
+            public Void call() throws Exception {
+                ServletWebRequest webRequest = new ServletWebRequest(request(), response.getResponse());
+                handlerMethod.invokeAndHandle(webRequest, new ModelAndViewContainer(), id);
+                return null;
+            }
+        };
+    }
+
+    /**
+     * 等待第二个请求阻塞在正在执行的调用上
+     */
+    private static void awaitWaiting(ExecutorService executor, Handler handler) throws Exception {
+        for (int i = 0; i < 500 && handler.waiting() == 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, handler.waiting());
+    }
+
+    private static void assertFailed(Future<?> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Should have failed");
+        } catch (ExecutionException ex) {
+            assertEquals("boom", ex.getCause().getMessage());
+        }
+    }
+
+    private static HttpServletRequest request() {
+        return new StubHttpServletRequest("GET", "/items")
+                .setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "/items")
+                .getRequest();
+    }
+
+    public static class Handler {
+
+        private final AtomicInteger invocations = new AtomicInteger();
+
+        private final CountDownLatch entered;
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private final Thread[] threads = new Thread[4];
+
+        private volatile boolean fail;
+
+        Handler(int expectedCalls) {
+            this.entered = new CountDownLatch(expectedCalls);
+        }
+
+        @SingleFlight
+        @ResponseBody
+        public String get(Integer id) throws Exception {
+            synchronized (this.threads) {
+                this.threads[this.invocations.getAndIncrement()] = Thread.currentThread();
+            }
+            this.entered.countDown();
+            this.release.await(5, TimeUnit.SECONDS);
+            if (this.fail) {
+                throw new IllegalStateException("boom");
+            }
+            return "item-" + id;
+        }
+
+        @SingleFlight
+        @ResponseBody
+        public String withModel(Model model) {
+            return "";
+        }
+
+        @SingleFlight
+        @ResponseBody
+        public SseEmitter emitter() {
+            return new SseEmitter();
+        }
+
+        /**
+         * 除执行方法的线程外，处于等待状态的线程数
+         */
+        int waiting() {
+            int count = 0;
+            for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                if (isCallingThread(thread) && thread.getState() == Thread.State.WAITING &&
+                        isWaitingOnFuture(thread)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private boolean isCallingThread(Thread thread) {
+            synchronized (this.threads) {
+                for (Thread t : this.threads) {
+                    if (t == thread) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private static boolean isWaitingOnFuture(Thread thread) {
+            for (StackTraceElement element : thread.getStackTrace()) {
+                if (element.getMethodName().equals("invokeAndHandleSingleFlight")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.github.datalking.web.support;
+
+import com.github.datalking.web.http.MediaType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * SseEmitter Tester.
+ *
+ * @author <Authors name>
+ * @version 1.0
+ * @since <pre>Oct 17, 2026</pre>
+ */
+public class SseEmitterTest {
+
+    @Test
+    public void testSendEvents() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        // handler初始化前发送的事件会暂存
+        emitter.send("early");
+
+        RecordingHandler handler = new RecordingHandler();
+        emitter.initialize(handler);
+        emitter.send(SseEmitter.event().id("1").name("update").data(42));
+        emitter.complete();
+
+        assertEquals(Arrays.<Object>asList(
+                "data:", "early", "\n\n",
+                "id:1\nevent:update\ndata:", 42, "\n\n"), handler.data);
+        assertEquals(SseEmitter.TEXT_PLAIN, handler.mediaTypes.get(0));
+        assertTrue(handler.completed);
+    }
+
+    private static class RecordingHandler implements ResponseBodyEmitter.Handler {
+
+        private final List<Object> data = new ArrayList<>();
+
+        private final List<MediaType> mediaTypes = new ArrayList<>();
+
+        private boolean completed;
+
+        public void send(Object data, MediaType mediaType) {
+            this.data.add(data);
+            this.mediaTypes.add(mediaType);
+        }
+
+        public void complete() {
+            this.completed = true;
+        }
+
+        public void completeWithError(Throwable failure) {
+        }
+
+        public void onTimeout(Runnable callback) {
+        }
+
+        public void onCompletion(Runnable callback) {
+        }
+    }
+
+}